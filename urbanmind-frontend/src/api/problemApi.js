@@ -9,6 +9,49 @@ export const getAllProblems = async () => {
   return api.get(BASE);
 };
 
+// Keyset-paged home feed; pass the previous response's nextCursor to continue.
+// Pass a tag to page through only the problems carrying it.
+export const getProblemFeed = async (cursor = null, size = 20, tag = null) => {
+  return api.get(`${BASE}/feed`, { params: { cursor, size, tag } });
+};
+
+// Most used tags with their problem counts, for filter chips
+export const getTopTags = async (limit = 20) => {
+  return api.get(`${BASE}/tags`, { params: { limit } });
+};
+
+// Filtered, sorted, offset-paged listing for admin/volunteer tables.
+// filters: status, category, severity, city, state, donationEnabled, tag,
+// createdFrom, createdTo (ISO-8601), sort ('recent' | 'upvotes' | 'severity')
+export const listProblems = async (filters = {}, page = 0, size = 20) => {
+  return api.get(`${BASE}/list`, { params: { ...filters, page, size } });
+};
+
+// Trending problems (engagement, severity and age); ranking refreshes every few seconds
+export const getHotProblems = async (offset = 0, size = 20) => {
+  return api.get(`${BASE}/hot`, { params: { offset, size } });
+};
+
+// Single problem; opening it counts one view per user per window
+export const getProblem = async (problemId) => {
+  return api.get(`${BASE}/${problemId}`);
+};
+
+// Closest first, each with distanceKm; status/category are optional filters
+export const getNearbyProblems = async (lat, lng, radiusKm = 5, filters = {}) => {
+  return api.get(`${BASE}/nearby`, { params: { lat, lng, radiusKm, ...filters } });
+};
+
+// Ranked text search; pass the raw input so a trailing word matches as a prefix
+export const searchProblems = async (q, filters = {}, limit = 20) => {
+  return api.get(`${BASE}/search`, { params: { q, limit, ...filters } });
+};
+
+// Map markers: counts by status/severity per cell for the visible box
+export const getMapClusters = async ({ minLat, minLng, maxLat, maxLng }, zoom) => {
+  return api.get(`${BASE}/map`, { params: { minLat, minLng, maxLat, maxLng, zoom } });
+};
+
 export const getMyProblems = async () => {
   return api.get(`${BASE}/my`);
 };
@@ -33,6 +76,11 @@ export const getComments = async (problemId) => {
   return api.get(`${BASE}/${problemId}/comments`);
 };
 
+// Paged root threads with nested replies in a single request
+export const getCommentThreads = async (problemId, page = 0, size = 20) => {
+  return api.get(`${BASE}/${problemId}/comments/threads`, { params: { page, size } });
+};
+
 export const addComment = async (problemId, content) => {
   return api.post(`${BASE}/${problemId}/comments`, { content });
 };
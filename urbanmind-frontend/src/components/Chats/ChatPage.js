@@ -7,11 +7,17 @@ import ChatList from "./ChatList";
 import ChatWindow from "./ChatWindow";
 import {
   getChatRooms,
-  getMessages,
+  getMessageHistory,
   PAGE_SIZE,
 } from "../../services/chatService";
 import { createChatSocket } from "../../services/wsChatService";
 
+// Cursor for the page older than this one, or null at the start of the room
+const nextBefore = (pageData) =>
+  pageData.hasMore
+    ? { id: pageData.nextBeforeId, createdAt: pageData.nextBeforeCreatedAt }
+    : null;
+
 const ChatPage = () => {
   const { user } = useAuth(); // ✅ safe
 
@@ -22,7 +28,7 @@ const ChatPage = () => {
   const [chatRooms, setChatRooms] = useState([]);
   const [activeRoom, setActiveRoom] = useState(null);
   const [messages, setMessages] = useState({}); // { [roomId]: [msg,...] }
-  const [pagination, setPagination] = useState({}); // { [roomId]: { page, totalPages, loadingMore, hasMore }}
+  const [pagination, setPagination] = useState({}); // { [roomId]: { before, loadingMore, hasMore }}
   const [input, setInput] = useState("");
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
@@ -80,22 +86,21 @@ const ChatPage = () => {
       setError(null);
 
       try {
-        // Fetch most recent page (page=0) history via REST
-        const pageData = await getMessages(activeRoom.id, 0, PAGE_SIZE);
-        // Backend returns a page where content is ordered newest->oldest within page.
+        // Fetch the most recent page of history via REST
+        const pageData = await getMessageHistory(activeRoom.id, null, PAGE_SIZE);
+        // Backend returns messages newest->oldest.
         // To display chronologically oldest->newest, reverse page content
-        const pageMsgs = Array.isArray(pageData.content)
-          ? pageData.content.slice().reverse()
+        const pageMsgs = Array.isArray(pageData.messages)
+          ? pageData.messages.slice().reverse()
           : [];
 
         setMessages((prev) => ({ ...prev, [activeRoom.id]: pageMsgs }));
         setPagination((prev) => ({
           ...prev,
           [activeRoom.id]: {
-            page: 0,
-            totalPages: pageData.totalPages ?? 1,
+            before: nextBefore(pageData),
             loadingMore: false,
-            hasMore: pageData.number + 1 < (pageData.totalPages ?? 1),
+            hasMore: Boolean(pageData.hasMore),
           },
         }));
 
@@ -112,7 +117,23 @@ const ChatPage = () => {
           const { ws, send } = createChatSocket(
             activeRoom.id,
             (eventData) => {
-              // eventData is expected to match backend format { roomId, senderUserId, content }
+              // Delivery status for a message rather than a message itself:
+              // ACK = stored, FAILED = broadcast but never stored, REJECTED = server busy
+              if (eventData.type) {
+                if (eventData.type === "FAILED") {
+                  setMessages((prev) => ({
+                    ...prev,
+                    [activeRoom.id]: (prev[activeRoom.id] || []).filter(
+                      (m) => m.id !== eventData.id,
+                    ),
+                  }));
+                } else if (eventData.type === "REJECTED") {
+                  console.warn("Chat server is busy; message was not sent");
+                }
+                return;
+              }
+
+              // eventData is expected to match backend format { id, roomId, senderUserId, content, createdAt }
               setMessages((prev) => {
                 const next = {
                   ...prev,
@@ -189,8 +210,7 @@ const ChatPage = () => {
     if (!activeRoom) return;
     const roomId = activeRoom.id;
     const meta = pagination[roomId] || {
-      page: 0,
-      totalPages: 1,
+      before: null,
       loadingMore: false,
       hasMore: false,
     };
@@ -205,10 +225,9 @@ const ChatPage = () => {
     }));
 
     try {
-      const nextPage = meta.page + 1;
-      const pageData = await getMessages(roomId, nextPage, PAGE_SIZE);
-      const pageMsgs = Array.isArray(pageData.content)
-        ? pageData.content.slice().reverse()
+      const pageData = await getMessageHistory(roomId, meta.before, PAGE_SIZE);
+      const pageMsgs = Array.isArray(pageData.messages)
+        ? pageData.messages.slice().reverse()
         : [];
 
       setMessages((prev) => ({
@@ -219,10 +238,9 @@ const ChatPage = () => {
       setPagination((prev) => ({
         ...prev,
         [roomId]: {
-          page: nextPage,
-          totalPages: pageData.totalPages ?? prev[roomId]?.totalPages ?? 1,
+          before: nextBefore(pageData),
           loadingMore: false,
-          hasMore: pageData.number + 1 < (pageData.totalPages ?? 1),
+          hasMore: Boolean(pageData.hasMore),
         },
       }));
 
@@ -49,6 +49,30 @@ export const getMessages = async (roomId, page = 0, size = PAGE_SIZE) => {
   }
 };
 
+/**
+ * Fetch one page of history older than a cursor (newest first).
+ * - before: { id, createdAt } from the previous page's nextBeforeId /
+ *   nextBeforeCreatedAt, or null for the most recent page
+ * Returns { messages, hasMore, nextBeforeId, nextBeforeCreatedAt }.
+ */
+export const getMessageHistory = async (roomId, before = null, size = PAGE_SIZE) => {
+  try {
+    const params = { size };
+    if (before) {
+      params.beforeId = before.id;
+      params.beforeCreatedAt = before.createdAt;
+    }
+    const response = await api.get(
+      `/api/v1/chats/rooms/${roomId}/messages/history`,
+      { params },
+    );
+    return response.data;
+  } catch (error) {
+    console.error(`Error fetching message history for room ${roomId}:`, error);
+    throw error;
+  }
+};
+
 // web socket does the send message part so this is uselless now and fallback
 // Keep REST fallback if needed elsewhere, but ChatPage will use WebSocket for real-time sends
 // export const sendMessage = async (roomId, message, userId) => {
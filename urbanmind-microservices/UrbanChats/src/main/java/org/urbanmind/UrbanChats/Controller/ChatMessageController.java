@@ -1,8 +1,11 @@
 
 package org.urbanmind.UrbanChats.Controller;
 
+import java.time.OffsetDateTime;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,6 +15,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.urbanmind.UrbanChats.DTO.ChatMessageHistoryDto;
 import org.urbanmind.UrbanChats.DTO.ChatMessageRequestDto;
 import org.urbanmind.UrbanChats.DTO.ChatMessageResponseDto;
 import org.urbanmind.UrbanChats.Service.ChatMessageService;
@@ -46,6 +50,20 @@ public class ChatMessageController {
         return chatMessageService.getMessagesPaginated(roomId, page, size);
     }
 
+    // Scroll-back by cursor: newest page first, then pass the returned
+    // nextBeforeId / nextBeforeCreatedAt to go further back
+    @GetMapping("/rooms/{roomId}/messages/history")
+    @PreAuthorize("isAuthenticated()")
+    public ChatMessageHistoryDto getMessageHistory(
+            @PathVariable Long roomId,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime beforeCreatedAt,
+            @RequestParam(defaultValue = "20") int size) {
+
+        return chatMessageService.getMessagesBefore(roomId, beforeId, beforeCreatedAt, size);
+    }
+
     @PostMapping("/rooms/{roomId}/read")
     @PreAuthorize("isAuthenticated()")
     public void markMessagesAsRead(
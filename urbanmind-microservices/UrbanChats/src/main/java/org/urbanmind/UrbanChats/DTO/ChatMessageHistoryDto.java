@@ -0,0 +1,57 @@
+package org.urbanmind.UrbanChats.DTO;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+// One page of scroll-back, newest first. Pass nextBeforeId / nextBeforeCreatedAt
+// back as beforeId / beforeCreatedAt to get the page after it.
+public class ChatMessageHistoryDto {
+
+    private List<ChatMessageResponseDto> messages;
+    private boolean hasMore;
+    private Long nextBeforeId;
+    private OffsetDateTime nextBeforeCreatedAt;
+
+    public ChatMessageHistoryDto() {
+    }
+
+    public ChatMessageHistoryDto(List<ChatMessageResponseDto> messages, boolean hasMore,
+                                 Long nextBeforeId, OffsetDateTime nextBeforeCreatedAt) {
+        this.messages = messages;
+        this.hasMore = hasMore;
+        this.nextBeforeId = nextBeforeId;
+        this.nextBeforeCreatedAt = nextBeforeCreatedAt;
+    }
+
+    public List<ChatMessageResponseDto> getMessages() {
+        return messages;
+    }
+
+    public void setMessages(List<ChatMessageResponseDto> messages) {
+        this.messages = messages;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public Long getNextBeforeId() {
+        return nextBeforeId;
+    }
+
+    public void setNextBeforeId(Long nextBeforeId) {
+        this.nextBeforeId = nextBeforeId;
+    }
+
+    public OffsetDateTime getNextBeforeCreatedAt() {
+        return nextBeforeCreatedAt;
+    }
+
+    public void setNextBeforeCreatedAt(OffsetDateTime nextBeforeCreatedAt) {
+        this.nextBeforeCreatedAt = nextBeforeCreatedAt;
+    }
+}
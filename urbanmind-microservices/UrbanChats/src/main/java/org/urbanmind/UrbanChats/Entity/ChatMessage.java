@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import java.time.OffsetDateTime;
 
 @Entity
-@Table(name = "chat_messages")
+@Table(name = "chat_messages", indexes = {
+        @Index(name = "ix_chat_messages_room_created_id", columnList = "room_id, created_at, id")
+})
 public class ChatMessage {
 
     @Id
@@ -1,6 +1,7 @@
 package org.urbanmind.UrbanChats.Repository;
 
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.urbanmind.UrbanChats.Entity.ChatMessage;
@@ -14,14 +15,35 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
 
     List<ChatMessage> findByRoomIdOrderByCreatedAtAsc(Long roomId);
     Page<ChatMessage> findByRoomId(Long roomId, Pageable pageable);
-   
+
+    // Newest messages of a room; a List return type means no COUNT query
+    @Query("""
+    SELECT m FROM ChatMessage m
+    WHERE m.roomId = :roomId
+    ORDER BY m.createdAt DESC, m.id DESC
+    """)
+    List<ChatMessage> findLatest(Long roomId, Pageable pageable);
+
+    // Messages strictly older than (createdAt, id). The createdAt <= bound is
+    // redundant but gives ix_chat_messages_room_created_id a range to start
+    // at the cursor, so the cost is one page however far back it is
+    @Query("""
+    SELECT m FROM ChatMessage m
+    WHERE m.roomId = :roomId
+      AND m.createdAt <= :createdAt
+      AND (m.createdAt < :createdAt
+           OR (m.createdAt = :createdAt AND m.id < :id))
+    ORDER BY m.createdAt DESC, m.id DESC
+    """)
+    List<ChatMessage> findBefore(Long roomId, OffsetDateTime createdAt, Long id, Pageable pageable);
+
 
     @Transactional
     @Modifying
     @Query("""
     UPDATE ChatMessage m
     SET m.isRead = true,
-        m.readAt = CURRENT_TIMESTAMP
+        m.readAt = offset datetime
     WHERE m.roomId = :roomId
       AND m.senderUserId <> :userId
       AND m.isRead = false
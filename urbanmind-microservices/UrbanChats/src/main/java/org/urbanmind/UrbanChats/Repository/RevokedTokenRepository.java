@@ -3,6 +3,8 @@ package org.urbanmind.UrbanChats.Repository;
 
 
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -13,4 +15,8 @@ import org.urbanmind.UrbanChats.Entity.RevokedTokenEntity;
 public interface RevokedTokenRepository extends JpaRepository<RevokedTokenEntity, Long> {
     Optional<RevokedTokenEntity> findByToken(String token);
     boolean existsByToken(String token);
+
+    // Used by RevokedTokenCache: startup load, then incremental refresh
+    List<RevokedTokenEntity> findByExpiresAtAfter(LocalDateTime now);
+    List<RevokedTokenEntity> findByRevokedAtAfter(LocalDateTime since);
 }
\ No newline at end of file
@@ -17,13 +17,13 @@ import java.util.List;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
-    private final org.urbanmind.UrbanChats.Repository.RevokedTokenRepository revokedTokenRepository;
+    private final RevokedTokenCache revokedTokenCache;
 
     public JwtAuthenticationFilter(
             JwtTokenProvider tokenProvider,
-            org.urbanmind.UrbanChats.Repository.RevokedTokenRepository revokedTokenRepository) {
+            RevokedTokenCache revokedTokenCache) {
         this.tokenProvider = tokenProvider;
-        this.revokedTokenRepository = revokedTokenRepository;
+        this.revokedTokenCache = revokedTokenCache;
     }
 
     @Override
@@ -39,8 +39,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
 
-            // 2. BLACKLIST CHECK: Reject if token is in database
-            if (revokedTokenRepository.existsByToken(token)) {
+            // 2. BLACKLIST CHECK: in-memory, refreshed from revoked_tokens
+            if (revokedTokenCache.isRevoked(token)) {
                 // Return 401 Unauthorized immediately
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 response.getWriter().write("Token is revoked/blacklisted");
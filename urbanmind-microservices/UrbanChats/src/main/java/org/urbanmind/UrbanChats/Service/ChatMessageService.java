@@ -2,7 +2,7 @@ package org.urbanmind.UrbanChats.Service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.urbanmind.UrbanChats.DTO.ChatMessageHistoryDto;
 import org.urbanmind.UrbanChats.DTO.ChatMessageRequestDto;
 import org.urbanmind.UrbanChats.DTO.ChatMessageResponseDto;
 import org.urbanmind.UrbanChats.Entity.ChatMessage;
@@ -18,6 +18,8 @@ import java.util.stream.Collectors;
 @Service
 public class ChatMessageService {
 
+    public static final int MAX_HISTORY_PAGE_SIZE = 100;
+
     @Autowired
     private ChatMessageRepository chatMessageRepository;
 
@@ -60,7 +62,7 @@ public class ChatMessageService {
 
         PageRequest pageable = PageRequest.of(
                 page,
-                size,
+                Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE)),
                 Sort.by(Sort.Direction.DESC, "createdAt")
         );
 
@@ -69,18 +71,53 @@ public class ChatMessageService {
                 .map(this::mapToResponse);
     }
 
+    /**
+     * Scroll-back by keyset: the page of messages just older than the given
+     * one, newest first. No OFFSET and no COUNT, so page 500 costs the same
+     * as page 1. With no cursor the newest messages are returned.
+     * beforeCreatedAt may be omitted; it is then read from beforeId.
+     */
+    public ChatMessageHistoryDto getMessagesBefore(
+            Long roomId,
+            Long beforeId,
+            OffsetDateTime beforeCreatedAt,
+            int size) {
 
-    @Transactional
-    public ChatMessage saveFromWebSocket(Long roomId, Long senderUserId, String content) {
+        int pageSize = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+        // One extra row tells us whether there is anything older
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<ChatMessage> rows;
+        if (beforeId == null) {
+            rows = chatMessageRepository.findLatest(roomId, limit);
+        } else {
+            if (beforeCreatedAt == null) {
+                ChatMessage anchor = chatMessageRepository.findById(beforeId)
+                        .orElseThrow(() -> new IllegalArgumentException("Message not found"));
+                if (!anchor.getRoomId().equals(roomId)) {
+                    throw new IllegalArgumentException("Message does not belong to this room");
+                }
+                beforeCreatedAt = anchor.getCreatedAt();
+            }
+            rows = chatMessageRepository.findBefore(roomId, beforeCreatedAt, beforeId, limit);
+        }
 
-        ChatMessage message = new ChatMessage();
-        message.setRoomId(roomId);
-        message.setSenderUserId(senderUserId);
-        message.setContent(content);
+        boolean hasMore = rows.size() > pageSize;
+        List<ChatMessage> page = hasMore ? rows.subList(0, pageSize) : rows;
 
-        System.out.println("DEBUG isRead before save = " + message.getIsRead());
+        Long nextBeforeId = null;
+        OffsetDateTime nextBeforeCreatedAt = null;
+        if (hasMore) {
+            ChatMessage oldest = page.get(page.size() - 1);
+            nextBeforeId = oldest.getId();
+            nextBeforeCreatedAt = oldest.getCreatedAt();
+        }
 
-        return chatMessageRepository.save(message);
+        return new ChatMessageHistoryDto(
+                page.stream().map(this::mapToResponse).collect(Collectors.toList()),
+                hasMore,
+                nextBeforeId,
+                nextBeforeCreatedAt);
     }
 
     // Get messages by room
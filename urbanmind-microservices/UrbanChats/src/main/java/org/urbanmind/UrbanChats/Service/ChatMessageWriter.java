@@ -0,0 +1,289 @@
+package org.urbanmind.UrbanChats.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.urbanmind.UrbanChats.Entity.ChatMessage;
+
+/**
+ * Write-behind for websocket chat messages. The handler gets an id (from a
+ * locally held block of chat_messages_id_seq values) and a timestamp up
+ * front, broadcasts straight away and hands the message to this writer; one
+ * background thread drains the bounded queue and inserts whatever has piled
+ * up as a single JDBC batch in one transaction.
+ *
+ * Every message reports back exactly once through its Listener: persisted,
+ * or failed after being tried on its own (so one bad row does not sink the
+ * rest). Only a transient failure (timeout, lost connection, deadlock) is
+ * worth retrying as a batch; anything else, such as a client-supplied sender
+ * that breaks a foreign key, would fail the same way again, so the batch goes
+ * straight to row by row. A full queue is refused at submit time
+ * and the caller tells the sender to back off. On shutdown the queue is
+ * drained before the DataSource goes away.
+ *
+ * The same transaction queues a row in chat_notification_outbox for the
+ * other member of the room, so a notification exists exactly when the
+ * message does; ChatNotificationRelay sends them on.
+ */
+@Service
+public class ChatMessageWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatMessageWriter.class);
+
+    private static final int BATCH_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_MS = 200;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO urbanmind.chat_messages
+                (id, room_id, sender_user_id, content, media_url, media_type, is_read, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, false, ?)
+            """;
+
+    // Recipient is the other member of a direct room; rooms without a second
+    // member, or senders who are not in the room, produce no row
+    private static final String OUTBOX_SQL = """
+            INSERT INTO urbanmind.chat_notification_outbox
+                (room_id, recipient_user_id, sender_user_id, message_id, created_at)
+            SELECT r.id,
+                   CASE WHEN r.user1_id = ? THEN r.user2_id ELSE r.user1_id END,
+                   ?, ?, ?
+            FROM urbanmind.chat_rooms r
+            WHERE r.id = ?
+              AND ? IN (r.user1_id, r.user2_id)
+              AND r.user1_id IS NOT NULL
+              AND r.user2_id IS NOT NULL
+            """;
+
+    private static final String NEXT_IDS_SQL =
+            "SELECT nextval('urbanmind.chat_messages_id_seq') FROM generate_series(1, ?)";
+
+    public interface Listener {
+        void persisted(ChatMessage message);
+
+        void failed(ChatMessage message, Exception cause);
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Pending> queue;
+    private final int batchSize;
+    private final int idBlockSize;
+
+    private final Deque<Long> freeIds = new ArrayDeque<>();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public ChatMessageWriter(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${urbanmind.chat.write-queue-capacity:10000}") int queueCapacity,
+                             @Value("${urbanmind.chat.write-batch-size:200}") int batchSize,
+                             @Value("${urbanmind.chat.id-block-size:100}") int idBlockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.idBlockSize = idBlockSize;
+    }
+
+    /**
+     * Builds a message with its final id and created_at, not yet stored.
+     * Costs one round trip per id block, nothing otherwise.
+     */
+    public ChatMessage prepare(Long roomId, Long senderUserId, String content) {
+        return new ChatMessage(nextId(), roomId, senderUserId, content,
+                null, null, false, null, OffsetDateTime.now());
+    }
+
+    /**
+     * Queues the message for the next batch. Returns false without queueing
+     * when the writer is saturated; the caller should not broadcast it.
+     */
+    public boolean submit(ChatMessage message, Listener listener) {
+        if (!running) {
+            return false;
+        }
+        return queue.offer(new Pending(message, listener));
+    }
+
+    public int queued() {
+        return queue.size();
+    }
+
+    private synchronized Long nextId() {
+        if (freeIds.isEmpty()) {
+            freeIds.addAll(jdbcTemplate.queryForList(NEXT_IDS_SQL, Long.class, idBlockSize));
+        }
+        return freeIds.poll();
+    }
+
+    // ===============================
+    // WRITER LOOP
+    // ===============================
+    private void drainLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Whatever piled up while the previous batch was writing goes in this one
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException ex) {
+                log.error("Chat writer failed on a batch of {}", batch.size(), ex);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Pending> batch) throws InterruptedException {
+        for (int attempt = 1; attempt <= BATCH_ATTEMPTS; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(batch));
+                batch.forEach(ChatMessageWriter::notifyPersisted);
+                return;
+            } catch (RuntimeException ex) {
+                log.warn("Chat batch of {} failed (attempt {}): {}", batch.size(), attempt, ex.getMessage());
+                if (!isTransient(ex)) {
+                    break;
+                }
+                if (attempt < BATCH_ATTEMPTS) {
+                    Thread.sleep(RETRY_BACKOFF_MS * attempt);
+                }
+            }
+        }
+
+        // Still failing: isolate the rows that are actually bad
+        for (Pending p : batch) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(List.of(p)));
+                notifyPersisted(p);
+            } catch (RuntimeException ex) {
+                log.error("Dropping chat message {} for room {}: {}",
+                        p.message.getId(), p.message.getRoomId(), ex.getMessage());
+                try {
+                    p.listener.failed(p.message, ex);
+                } catch (RuntimeException listenerEx) {
+                    log.warn("Chat write failure listener threw: {}", listenerEx.getMessage());
+                }
+            }
+        }
+    }
+
+    private static boolean isTransient(RuntimeException ex) {
+        return ex instanceof TransientDataAccessException || ex instanceof RecoverableDataAccessException;
+    }
+
+    private void insert(List<Pending> rows) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ChatMessage m = rows.get(i).message;
+                ps.setLong(1, m.getId());
+                ps.setLong(2, m.getRoomId());
+                ps.setLong(3, m.getSenderUserId());
+                ps.setString(4, m.getContent());
+                ps.setString(5, m.getMediaUrl());
+                ps.setString(6, m.getMediaType());
+                ps.setTimestamp(7, Timestamp.from(m.getCreatedAt().toInstant()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+
+        jdbcTemplate.batchUpdate(OUTBOX_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ChatMessage m = rows.get(i).message;
+                ps.setLong(1, m.getSenderUserId());
+                ps.setLong(2, m.getSenderUserId());
+                ps.setLong(3, m.getId());
+                ps.setTimestamp(4, Timestamp.from(m.getCreatedAt().toInstant()));
+                ps.setLong(5, m.getRoomId());
+                ps.setLong(6, m.getSenderUserId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+
+    private static void notifyPersisted(Pending p) {
+        try {
+            p.listener.persisted(p.message);
+        } catch (RuntimeException ex) {
+            log.warn("Chat write listener threw: {}", ex.getMessage());
+        }
+    }
+
+    // ===============================
+    // LIFECYCLE — drain before the DataSource goes away
+    // ===============================
+    @Override
+    public synchronized void start() {
+        running = true;
+        worker = new Thread(this::drainLoop, "chat-message-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (worker != null) {
+            try {
+                worker.join(10_000);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private static final class Pending {
+        final ChatMessage message;
+        final Listener listener;
+
+        Pending(ChatMessage message, Listener listener) {
+            this.message = message;
+            this.listener = listener;
+        }
+    }
+}
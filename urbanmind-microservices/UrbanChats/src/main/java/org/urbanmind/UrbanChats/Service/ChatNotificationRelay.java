@@ -0,0 +1,205 @@
+package org.urbanmind.UrbanChats.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Sends the chat notifications queued in chat_notification_outbox (by
+ * ChatMessageWriter, in the message's own transaction) to the notification
+ * service, off the websocket path.
+ *
+ * Each run claims the rows that are due, folds them into one notification
+ * per (recipient, room) - "You have 5 new messages from User 7" rather than
+ * five - and posts them all in a single batch call. Claimed rows are leased
+ * (next_attempt_at pushed forward) under FOR UPDATE SKIP LOCKED, so several
+ * nodes can relay at once without sending the same row twice.
+ *
+ * On success the rows are deleted. On failure they are retried with
+ * exponential backoff and dropped after max-attempts. Delivery is
+ * at-least-once: if the delete fails after a successful call, the lease
+ * expires and the rows are sent again.
+ */
+@Service
+public class ChatNotificationRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatNotificationRelay.class);
+
+    // A backlog is worked off in consecutive batches, up to this many per run
+    private static final int MAX_BATCHES_PER_RUN = 10;
+
+    private static final String CLAIM_SQL = """
+            UPDATE urbanmind.chat_notification_outbox o
+            SET next_attempt_at = now() + make_interval(secs => ?)
+            WHERE o.id IN (
+                SELECT id FROM urbanmind.chat_notification_outbox
+                WHERE next_attempt_at <= now()
+                ORDER BY next_attempt_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED)
+            RETURNING o.id, o.room_id, o.recipient_user_id, o.sender_user_id
+            """;
+
+    private static final String DELETE_SQL =
+            "DELETE FROM urbanmind.chat_notification_outbox WHERE id = ANY(?)";
+
+    private static final String RETRY_SQL = """
+            UPDATE urbanmind.chat_notification_outbox
+            SET attempts = attempts + 1,
+                next_attempt_at = now() + make_interval(secs => least(? * power(2, attempts), ?))
+            WHERE id = ANY(?)
+            """;
+
+    private static final String DROP_SQL =
+            "DELETE FROM urbanmind.chat_notification_outbox WHERE id = ANY(?) AND attempts >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RestTemplate restTemplate;
+    private final String url;
+    private final int batchSize;
+    private final double leaseSeconds;
+    private final double backoffSeconds;
+    private final double maxBackoffSeconds;
+    private final int maxAttempts;
+
+    public ChatNotificationRelay(JdbcTemplate jdbcTemplate,
+                                 RestTemplate restTemplate,
+                                 @Value("${urbanmind.chat.notify.url:http://DONATION-NOTIFICATION-SERVICE/api/v1/notifications/batch}") String url,
+                                 @Value("${urbanmind.chat.notify.batch-size:500}") int batchSize,
+                                 @Value("${urbanmind.chat.notify.lease-ms:60000}") long leaseMs,
+                                 @Value("${urbanmind.chat.notify.backoff-ms:5000}") long backoffMs,
+                                 @Value("${urbanmind.chat.notify.max-backoff-ms:600000}") long maxBackoffMs,
+                                 @Value("${urbanmind.chat.notify.max-attempts:10}") int maxAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.restTemplate = restTemplate;
+        this.url = url;
+        this.batchSize = batchSize;
+        this.leaseSeconds = leaseMs / 1000.0;
+        this.backoffSeconds = backoffMs / 1000.0;
+        this.maxBackoffSeconds = maxBackoffMs / 1000.0;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Scheduled(
+            fixedDelayString = "${urbanmind.chat.notify.relay-interval-ms:2000}",
+            initialDelayString = "${urbanmind.chat.notify.relay-interval-ms:2000}")
+    public void relay() {
+        for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+            if (relayBatch() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    // Returns how many rows were sent; a short or failed batch ends the run
+    private int relayBatch() {
+        List<OutboxRow> rows;
+        try {
+            rows = jdbcTemplate.query(CLAIM_SQL,
+                    (rs, i) -> new OutboxRow(
+                            rs.getLong("id"),
+                            rs.getLong("room_id"),
+                            rs.getLong("recipient_user_id"),
+                            rs.getLong("sender_user_id")),
+                    leaseSeconds, batchSize);
+        } catch (DataAccessException ex) {
+            log.warn("Could not claim chat notifications: {}", ex.getMessage());
+            return 0;
+        }
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        Long[] ids = rows.stream().map(OutboxRow::id).toArray(Long[]::new);
+        List<Map<String, Object>> notifications = coalesce(rows);
+
+        try {
+            restTemplate.postForObject(url, notifications, Object.class);
+        } catch (RestClientException ex) {
+            log.warn("Sending {} chat notifications failed, will retry: {}", notifications.size(), ex.getMessage());
+            reschedule(ids);
+            return 0;
+        }
+
+        try {
+            jdbcTemplate.update(DELETE_SQL, (Object) ids);
+        } catch (DataAccessException ex) {
+            // They go out again once the lease runs out
+            log.warn("Could not clear {} sent chat notifications: {}", ids.length, ex.getMessage());
+            return 0;
+        }
+        return rows.size();
+    }
+
+    private void reschedule(Long[] ids) {
+        try {
+            jdbcTemplate.update(RETRY_SQL, backoffSeconds, maxBackoffSeconds, ids);
+            int dropped = jdbcTemplate.update(DROP_SQL, ids, maxAttempts);
+            if (dropped > 0) {
+                log.error("Dropped {} chat notifications after {} attempts", dropped, maxAttempts);
+            }
+        } catch (DataAccessException ex) {
+            // The lease still holds them back until it expires
+            log.warn("Could not reschedule {} chat notifications: {}", ids.length, ex.getMessage());
+        }
+    }
+
+    /**
+     * One notification request per (recipient, room), in the shape of the
+     * notification service's NotificationRequestDto.
+     */
+    static List<Map<String, Object>> coalesce(List<OutboxRow> rows) {
+        Map<List<Long>, Group> groups = new LinkedHashMap<>();
+        for (OutboxRow row : rows) {
+            groups.computeIfAbsent(List.of(row.recipientUserId(), row.roomId()), k -> new Group()).add(row.senderUserId());
+        }
+
+        List<Map<String, Object>> requests = new ArrayList<>(groups.size());
+        groups.forEach((key, group) -> {
+            Map<String, Object> req = new HashMap<>();
+            req.put("userId", key.get(0));
+            req.put("title", group.count == 1 ? "New Message" : "New Messages");
+            req.put("message", group.describe());
+            req.put("type", "CHAT_MESSAGE");
+            req.put("channel", "IN_APP");
+            req.put("referenceType", "CHAT_ROOM");
+            req.put("referenceId", key.get(1));
+            requests.add(req);
+        });
+        return requests;
+    }
+
+    record OutboxRow(Long id, Long roomId, Long recipientUserId, Long senderUserId) {
+    }
+
+    private static final class Group {
+        int count;
+        final Set<Long> senders = new LinkedHashSet<>();
+
+        void add(Long senderUserId) {
+            count++;
+            senders.add(senderUserId);
+        }
+
+        String describe() {
+            String from = senders.size() == 1 ? " from User " + senders.iterator().next() : "";
+            return count == 1
+                    ? "You have a new message" + from
+                    : "You have " + count + " new messages" + from;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package org.urbanmind.UrbanChats;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(
 	    exclude = {
@@ -14,6 +15,7 @@ import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 @org.springframework.boot.autoconfigure.domain.EntityScan("org.urbanmind")
 @org.springframework.data.jpa.repository.config.EnableJpaRepositories("org.urbanmind")
 @EnableDiscoveryClient
+@EnableScheduling
 public class UrbanChatsApplication {
 
 	public static void main(String[] args) {
@@ -23,7 +25,12 @@ public class UrbanChatsApplication {
 	@org.springframework.context.annotation.Bean
 	@org.springframework.cloud.client.loadbalancer.LoadBalanced
 	public org.springframework.web.client.RestTemplate restTemplate() {
-		return new org.springframework.web.client.RestTemplate();
+		// Bounded so a slow notification service can't hold the relay's scheduler thread
+		org.springframework.http.client.SimpleClientHttpRequestFactory factory =
+				new org.springframework.http.client.SimpleClientHttpRequestFactory();
+		factory.setConnectTimeout(2_000);
+		factory.setReadTimeout(10_000);
+		return new org.springframework.web.client.RestTemplate(factory);
 	}
 
 }
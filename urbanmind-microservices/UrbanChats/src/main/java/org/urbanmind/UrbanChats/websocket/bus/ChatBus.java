@@ -0,0 +1,33 @@
+package org.urbanmind.UrbanChats.websocket.bus;
+
+/**
+ * Carries room messages between UrbanChats nodes. A node publishes every
+ * broadcast here after delivering it to its own sessions; the bus hands it to
+ * every other node that has subscribed to the room, i.e. that currently holds
+ * at least one session in it. A node never receives its own publications.
+ *
+ * Selected with urbanmind.chat.bus: "postgres" (default, LISTEN/NOTIFY on the
+ * existing database) or "memory" (single process, for tests).
+ */
+public interface ChatBus {
+
+    // Largest payload, in UTF-8 bytes, every bus carries to other nodes. Postgres
+    // NOTIFY stops at 8000 bytes and the node id takes 37 of them.
+    int MAX_PAYLOAD_BYTES = 7900;
+
+    interface Listener {
+        void onRoomMessage(Long roomId, String payload);
+    }
+
+    // Where messages from other nodes are delivered; set once at startup
+    void setListener(Listener listener);
+
+    // Fire-and-forget; must not block the caller on the network
+    void publish(Long roomId, String payload);
+
+    // This node now has sessions in the room
+    void subscribe(Long roomId);
+
+    // This node's last session in the room has gone
+    void unsubscribe(Long roomId);
+}
@@ -0,0 +1,60 @@
+package org.urbanmind.UrbanChats.websocket.bus;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bus for a single process. Several instances sharing one Hub behave like
+ * separate nodes, which is how tests exercise cross-node delivery without a
+ * database. Delivery is synchronous on the publishing thread.
+ */
+@Component
+@ConditionalOnProperty(name = "urbanmind.chat.bus", havingValue = "memory")
+public class InMemoryChatBus implements ChatBus {
+
+    public static final class Hub {
+        private final List<InMemoryChatBus> nodes = new CopyOnWriteArrayList<>();
+    }
+
+    private final Hub hub;
+    private final Set<Long> rooms = ConcurrentHashMap.newKeySet();
+    private volatile Listener listener = (roomId, payload) -> { };
+
+    public InMemoryChatBus() {
+        this(new Hub());
+    }
+
+    public InMemoryChatBus(Hub hub) {
+        this.hub = hub;
+        hub.nodes.add(this);
+    }
+
+    @Override
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void publish(Long roomId, String payload) {
+        for (InMemoryChatBus node : hub.nodes) {
+            if (node != this && node.rooms.contains(roomId)) {
+                node.listener.onRoomMessage(roomId, payload);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Long roomId) {
+        rooms.add(roomId);
+    }
+
+    @Override
+    public void unsubscribe(Long roomId) {
+        rooms.remove(roomId);
+    }
+}
@@ -0,0 +1,291 @@
+package org.urbanmind.UrbanChats.websocket.bus;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * ChatBus over Postgres LISTEN/NOTIFY, so a second node needs no new
+ * infrastructure. Each room is its own channel (chat_room_<id>) and a node
+ * only LISTENs on rooms it hosts, so it never sees traffic for other rooms.
+ *
+ * Two background threads, one connection each:
+ * - the publisher drains a bounded queue and sends everything pending as one
+ *   SELECT pg_notify(...) FROM unnest(...), so a busy node pays one round
+ *   trip per batch and callers never wait on the database;
+ * - the listener holds a dedicated connection, brings its LISTEN set in line
+ *   with the wanted rooms between waits, and hands notifications to the
+ *   listener. If the connection drops it reconnects and re-LISTENs.
+ *
+ * Payloads are prefixed with this node's id so a node ignores its own echo.
+ * NOTIFY payloads are capped at 8000 bytes by Postgres; the handler rejects
+ * anything over ChatBus.MAX_PAYLOAD_BYTES so a broadcast always fits, and
+ * anything larger that still gets here is only delivered locally.
+ */
+@Component
+@ConditionalOnProperty(name = "urbanmind.chat.bus", havingValue = "postgres", matchIfMissing = true)
+public class PostgresChatBus implements ChatBus, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresChatBus.class);
+
+    private static final String CHANNEL_PREFIX = "chat_room_";
+    private static final int MAX_NOTIFY_BYTES = 7999;
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final int PUBLISH_BATCH = 500;
+    private static final int LISTEN_WAIT_MS = 250;
+    private static final long RECONNECT_BACKOFF_MS = 2_000;
+
+    private static final String NOTIFY_SQL =
+            "SELECT pg_notify(c, p) FROM unnest(?::text[], ?::text[]) AS t(c, p)";
+
+    private final DataSource dataSource;
+    // Prefixed to every payload this node sends
+    private final String origin = UUID.randomUUID() + "|";
+
+    private final BlockingQueue<String[]> outgoing = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Set<Long> wantedRooms = ConcurrentHashMap.newKeySet();
+    private volatile Listener listener = (roomId, payload) -> { };
+
+    private volatile boolean running;
+    private Thread publisher;
+    private Thread subscriber;
+
+    public PostgresChatBus(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void publish(Long roomId, String payload) {
+        String body = frame(payload);
+        if (body.getBytes(StandardCharsets.UTF_8).length > MAX_NOTIFY_BYTES) {
+            log.warn("Chat payload for room {} too large for NOTIFY; delivered on this node only", roomId);
+            return;
+        }
+        if (!outgoing.offer(new String[] { CHANNEL_PREFIX + roomId, body })) {
+            log.warn("Chat bus publish queue full; dropped a message for room {}", roomId);
+        }
+    }
+
+    @Override
+    public void subscribe(Long roomId) {
+        wantedRooms.add(roomId);
+    }
+
+    @Override
+    public void unsubscribe(Long roomId) {
+        wantedRooms.remove(roomId);
+    }
+
+    // ===============================
+    // PUBLISHER
+    // ===============================
+    private void publishLoop() {
+        List<String[]> batch = new ArrayList<>(PUBLISH_BATCH);
+        Connection conn = null;
+
+        while (running || !outgoing.isEmpty()) {
+            try {
+                String[] first = outgoing.poll(LISTEN_WAIT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                outgoing.drainTo(batch, PUBLISH_BATCH - 1);
+
+                if (conn == null || conn.isClosed()) {
+                    conn = dataSource.getConnection();
+                    conn.setAutoCommit(true);
+                }
+                sendNotifications(conn, batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (SQLException ex) {
+                log.warn("Chat bus publish of {} messages failed: {}", batch.size(), ex.getMessage());
+                closeQuietly(conn);
+                conn = null;
+                sleep(RECONNECT_BACKOFF_MS);
+            } finally {
+                batch.clear();
+            }
+        }
+        closeQuietly(conn);
+    }
+
+    private static void sendNotifications(Connection conn, List<String[]> batch) throws SQLException {
+        String[] channels = new String[batch.size()];
+        String[] payloads = new String[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            channels[i] = batch.get(i)[0];
+            payloads[i] = batch.get(i)[1];
+        }
+
+        Array channelArray = conn.createArrayOf("text", channels);
+        Array payloadArray = conn.createArrayOf("text", payloads);
+        try (PreparedStatement ps = conn.prepareStatement(NOTIFY_SQL)) {
+            ps.setArray(1, channelArray);
+            ps.setArray(2, payloadArray);
+            ps.executeQuery().close();
+        } finally {
+            channelArray.free();
+            payloadArray.free();
+        }
+    }
+
+    // ===============================
+    // SUBSCRIBER
+    // ===============================
+    private void listenLoop() {
+        while (running) {
+            Set<Long> listening = new HashSet<>();
+            try (Connection conn = dataSource.getConnection()) {
+                conn.setAutoCommit(true);
+                PGConnection pg = conn.unwrap(PGConnection.class);
+
+                while (running) {
+                    syncListens(conn, listening);
+
+                    PGNotification[] notifications = pg.getNotifications(LISTEN_WAIT_MS);
+                    if (notifications != null) {
+                        for (PGNotification n : notifications) {
+                            deliver(n);
+                        }
+                    }
+                }
+            } catch (SQLException ex) {
+                if (running) {
+                    // Anything sent while disconnected is missed; clients
+                    // re-read history when they reconnect
+                    log.warn("Chat bus listener lost its connection, reconnecting: {}", ex.getMessage());
+                    sleep(RECONNECT_BACKOFF_MS);
+                }
+            }
+        }
+    }
+
+    private void syncListens(Connection conn, Set<Long> listening) throws SQLException {
+        Set<Long> wanted = new HashSet<>(wantedRooms);
+        if (wanted.equals(listening)) {
+            return;
+        }
+        try (Statement st = conn.createStatement()) {
+            for (Long roomId : wanted) {
+                if (!listening.contains(roomId)) {
+                    // roomId is a Long, so the identifier is safe to inline
+                    st.execute("LISTEN " + CHANNEL_PREFIX + roomId);
+                }
+            }
+            for (Long roomId : listening) {
+                if (!wanted.contains(roomId)) {
+                    st.execute("UNLISTEN " + CHANNEL_PREFIX + roomId);
+                }
+            }
+        }
+        listening.clear();
+        listening.addAll(wanted);
+    }
+
+    // <node id>|<payload>, as sent on the channel
+    String frame(String payload) {
+        return origin + payload;
+    }
+
+    void deliver(PGNotification n) {
+        String body = n.getParameter();
+        int sep = body.indexOf('|');
+        if (sep < 0 || body.startsWith(origin)) {
+            return;
+        }
+        try {
+            Long roomId = Long.parseLong(n.getName().substring(CHANNEL_PREFIX.length()));
+            listener.onRoomMessage(roomId, body.substring(sep + 1));
+        } catch (RuntimeException ex) {
+            log.warn("Chat bus could not deliver a message on {}: {}", n.getName(), ex.getMessage());
+        }
+    }
+
+    // ===============================
+    // LIFECYCLE
+    // ===============================
+    @Override
+    public synchronized void start() {
+        running = true;
+        publisher = daemon(this::publishLoop, "chat-bus-publisher");
+        subscriber = daemon(this::listenLoop, "chat-bus-listener");
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        join(publisher);
+        join(subscriber);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private static Thread daemon(Runnable task, String name) {
+        Thread t = new Thread(task, name);
+        t.setDaemon(true);
+        t.start();
+        return t;
+    }
+
+    private static void join(Thread t) {
+        if (t == null) {
+            return;
+        }
+        try {
+            t.join(5_000);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeQuietly(Connection conn) {
+        if (conn == null) {
+            return;
+        }
+        try {
+            conn.close();
+        } catch (SQLException ignored) {
+        }
+    }
+}
@@ -4,34 +4,44 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.urbanmind.UrbanChats.Entity.ChatMessage;
 import org.urbanmind.UrbanChats.Service.ChatMessageService;
+import org.urbanmind.UrbanChats.Service.ChatMessageWriter;
+import org.urbanmind.UrbanChats.websocket.bus.ChatBus;
+import org.urbanmind.UrbanChats.websocket.model.ChatDeliveryStatus;
 import org.urbanmind.UrbanChats.websocket.model.ChatSocketMessage;
 import org.urbanmind.UrbanChats.websocket.registry.ChatSessionRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.*;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
 
 @SuppressWarnings("unused")
 @Component
 public class ChatWebSocketHandler extends TextWebSocketHandler {
 
+    private static final Logger log = LoggerFactory.getLogger(ChatWebSocketHandler.class);
+
+    // Longest message a user may type. On its own this does not bound the
+    // broadcast size (JSON escapes a control character as 6 bytes), so the
+    // serialized payload is checked against ChatBus.MAX_PAYLOAD_BYTES too.
+    private static final int MAX_CONTENT_LENGTH = 2000;
+
     private final ChatSessionRegistry sessionRegistry;
     private final ChatMessageService chatMessageService;
-    private final org.urbanmind.UrbanChats.Repository.ChatRoomRepository chatRoomRepository;
-    private final org.springframework.web.client.RestTemplate restTemplate;
+    private final ChatMessageWriter chatMessageWriter;
     
     private final ObjectMapper objectMapper;
 
     public ChatWebSocketHandler(ChatSessionRegistry sessionRegistry,
                                 ChatMessageService chatMessageService,
-                                org.urbanmind.UrbanChats.Repository.ChatRoomRepository chatRoomRepository,
-                                org.springframework.web.client.RestTemplate restTemplate,
+                                ChatMessageWriter chatMessageWriter,
                                 ObjectMapper objectMapper) {
         this.sessionRegistry = sessionRegistry;
         this.chatMessageService = chatMessageService;
-        this.chatRoomRepository = chatRoomRepository;
-        this.restTemplate = restTemplate;
+        this.chatMessageWriter = chatMessageWriter;
         this.objectMapper = objectMapper;
     }
 
@@ -48,69 +58,81 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
             ChatSocketMessage socketMessage =
                     objectMapper.readValue(message.getPayload(), ChatSocketMessage.class);
 
-            ChatMessage savedMessage = chatMessageService.saveFromWebSocket(
+            if (socketMessage.getRoomId() == null || socketMessage.getSenderUserId() == null) {
+                throw new IllegalArgumentException("roomId and senderUserId are required");
+            }
+            if (socketMessage.getContent() != null && socketMessage.getContent().length() > MAX_CONTENT_LENGTH) {
+                throw new IllegalArgumentException("Message is longer than " + MAX_CONTENT_LENGTH + " characters");
+            }
+
+            // Id and timestamp are final now; the row is written in the background
+            ChatMessage prepared = chatMessageWriter.prepare(
                     socketMessage.getRoomId(),
                     socketMessage.getSenderUserId(),
                     socketMessage.getContent()
             );
+            socketMessage.setId(prepared.getId());
+            socketMessage.setCreatedAt(prepared.getCreatedAt());
 
-            socketMessage.setCreatedAt(savedMessage.getCreatedAt());
-
+            // Checked before anything is stored, so a message either reaches
+            // every node or is not sent at all
             String payload = objectMapper.writeValueAsString(socketMessage);
+            if (payload.getBytes(StandardCharsets.UTF_8).length > ChatBus.MAX_PAYLOAD_BYTES) {
+                throw new IllegalArgumentException("Message is too large to broadcast");
+            }
+
+            if (!chatMessageWriter.submit(prepared, new DeliveryListener(session, socketMessage))) {
+                // Writer is saturated: refuse rather than show a message we may not store
+                sendStatus(session, ChatDeliveryStatus.REJECTED, socketMessage);
+                return;
+            }
+
+            // The recipient's notification is queued with the message row and
+            // sent by ChatNotificationRelay
             sessionRegistry.broadcastToRoom(socketMessage.getRoomId(), payload);
-            
-            // --- NOTIFICATION LOGIC ---
-            sendNotification(socketMessage);
 
         } catch (Exception ex) {
             ex.printStackTrace(); // IMPORTANT
-            session.sendMessage(new TextMessage(
-                    "{\"error\":\"Message processing failed\"}"
-            ));
+            sessionRegistry.sendTo(session, "{\"error\":\"Message processing failed\"}");
         }
     }
     
-    // Helper to send notification
-    private void sendNotification(ChatSocketMessage msg) {
-        try {
-            // 1. Find the room to know who is the OTHER user
-            org.urbanmind.UrbanChats.Entity.ChatRooms room = 
-                chatRoomRepository.findById(msg.getRoomId()).orElse(null);
-            
-            if (room != null) {
-                Long recipientId = null;
-                // If sender is user1, recipient is user2, and vice versa
-                if (msg.getSenderUserId().equals(room.getUser1Id())) {
-                    recipientId = room.getUser2Id();
-                } else if (msg.getSenderUserId().equals(room.getUser2Id())) {
-                    recipientId = room.getUser1Id();
-                }
-                
-                if (recipientId != null) {
-                    // 2. Prepare Notification Request
-                    // Using a Map or inner class DTO to avoid importing from another project
-                    java.util.Map<String, Object> notificationReq = new java.util.HashMap<>();
-                    notificationReq.put("userId", recipientId);
-                    notificationReq.put("title", "New Message");
-                    notificationReq.put("message", "You have a new message from User " + msg.getSenderUserId()); // Could fetch name if needed
-                    notificationReq.put("type", "CHAT_MESSAGE");
-                    notificationReq.put("channel", "IN_APP");
-                    notificationReq.put("referenceType", "CHAT_ROOM");
-                    notificationReq.put("referenceId", msg.getRoomId());
-
-                    // 3. Call Donation-Notification-Service
-                    // Assuming service name is "DONATION-NOTIFICATION-SERVICE"
-                    String url = "http://DONATION-NOTIFICATION-SERVICE/api/v1/notifications";
-                    restTemplate.postForObject(url, notificationReq, Object.class);
-                   // System.out.println("Notification sent to user " + recipientId);
-                }
+    private void sendStatus(WebSocketSession session, String type, ChatSocketMessage msg) throws Exception {
+        sessionRegistry.sendTo(session,
+                objectMapper.writeValueAsString(new ChatDeliveryStatus(type, msg)));
+    }
+
+    // Runs on the writer thread once the message's batch is settled
+    private final class DeliveryListener implements ChatMessageWriter.Listener {
+
+        private final WebSocketSession session;
+        private final ChatSocketMessage message;
+
+        DeliveryListener(WebSocketSession session, ChatSocketMessage message) {
+            this.session = session;
+            this.message = message;
+        }
+
+        @Override
+        public void persisted(ChatMessage stored) {
+            try {
+                sendStatus(session, ChatDeliveryStatus.ACK, message);
+            } catch (Exception e) {
+                log.warn("Failed to ack chat message {}: {}", stored.getId(), e.getMessage());
             }
-        } catch (Exception e) {
-            System.err.println("Failed to trigger notification: " + e.getMessage());
-            e.printStackTrace();
         }
-    }
 
+        @Override
+        public void failed(ChatMessage stored, Exception cause) {
+            // Everyone in the room already has it on screen; tell them to drop it
+            try {
+                sessionRegistry.broadcastToRoom(message.getRoomId(),
+                        objectMapper.writeValueAsString(new ChatDeliveryStatus(ChatDeliveryStatus.FAILED, message)));
+            } catch (Exception e) {
+                log.warn("Failed to report lost chat message {}: {}", stored.getId(), e.getMessage());
+            }
+        }
+    }
 
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
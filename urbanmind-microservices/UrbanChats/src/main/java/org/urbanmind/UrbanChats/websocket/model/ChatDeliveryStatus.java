@@ -0,0 +1,63 @@
+package org.urbanmind.UrbanChats.websocket.model;
+
+/**
+ * Outcome of a websocket send, sent back to the sender (and, for FAILED,
+ * to the room so clients can drop a message that was never stored).
+ *
+ * ACK      - the message is stored
+ * FAILED   - it was broadcast but could not be stored
+ * REJECTED - the server is saturated; nothing was broadcast, retry later
+ */
+public class ChatDeliveryStatus {
+
+    public static final String ACK = "ACK";
+    public static final String FAILED = "FAILED";
+    public static final String REJECTED = "REJECTED";
+
+    private String type;
+    private Long roomId;
+    private Long id;
+    private String clientMessageId;
+
+    public ChatDeliveryStatus() {
+    }
+
+    public ChatDeliveryStatus(String type, ChatSocketMessage message) {
+        this.type = type;
+        this.roomId = message.getRoomId();
+        this.id = message.getId();
+        this.clientMessageId = message.getClientMessageId();
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(Long roomId) {
+        this.roomId = roomId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getClientMessageId() {
+        return clientMessageId;
+    }
+
+    public void setClientMessageId(String clientMessageId) {
+        this.clientMessageId = clientMessageId;
+    }
+}
@@ -4,6 +4,13 @@ import java.time.OffsetDateTime;
 
 public class ChatSocketMessage {
 
+    // Assigned by the server before broadcast; the row is written shortly after
+    private Long id;
+
+    // Optional client-chosen token, echoed back so the sender can match
+    // its own message and the ACK / FAILED status for it
+    private String clientMessageId;
+
     private Long roomId;
     private Long senderUserId;
     private String content;
@@ -15,6 +22,22 @@ public class ChatSocketMessage {
     public ChatSocketMessage() {
     }
 
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getClientMessageId() {
+        return clientMessageId;
+    }
+
+    public void setClientMessageId(String clientMessageId) {
+        this.clientMessageId = clientMessageId;
+    }
+
     public Long getRoomId() {
         return roomId;
     }
@@ -1,35 +1,114 @@
 package org.urbanmind.UrbanChats.websocket.registry;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
+import org.urbanmind.UrbanChats.websocket.bus.ChatBus;
+
+import jakarta.annotation.PreDestroy;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
-import java.util.Set;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Room membership plus the outbound side of every session.
+ *
+ * Each session gets a SessionSender: a FIFO queue of outgoing frames that is
+ * drained by at most one fan-out thread at a time, so a session receives
+ * broadcasts, replies and delivery statuses in exactly the order they were
+ * queued, and the thread handling an incoming frame never blocks on a
+ * client's socket. A client that stops reading overruns its send-time or
+ * buffer limit and is closed and dropped here, without holding up the room.
+ *
+ * Broadcasts are delivered to this node's sessions first and then published
+ * on the ChatBus for the other nodes; a room is subscribed on the bus while
+ * this node has at least one session in it.
+ */
 @Component
 public class ChatSessionRegistry {
 
-    // roomId -> active WebSocket sessions
-    private final Map<Long, Set<WebSocketSession>> roomSessions =
+    private static final Logger log = LoggerFactory.getLogger(ChatSessionRegistry.class);
+
+    // Upper bound on sessions waiting for a pool thread (each waits at most once)
+    private static final int MAX_PENDING_SENDS = 50_000;
+
+    // Frames one session may send before giving its pool thread to the next
+    private static final int MAX_SENDS_PER_TURN = 64;
+
+    // roomId -> sessionId -> the session's sender
+    private final Map<Long, Map<String, SessionSender>> roomSessions =
             new ConcurrentHashMap<>();
 
+    // sessionId -> the same sender, for direct replies
+    private final Map<String, SessionSender> outbound = new ConcurrentHashMap<>();
+
+    private final ChatBus bus;
+    private final long sendTimeLimitNanos;
+    private final int sendBufferLimitBytes;
+    private final ThreadPoolExecutor fanout;
+
+    public ChatSessionRegistry(
+            ChatBus bus,
+            @Value("${urbanmind.chat.fanout-threads:4}") int fanoutThreads,
+            @Value("${urbanmind.chat.send-time-limit-ms:5000}") int sendTimeLimitMs,
+            @Value("${urbanmind.chat.send-buffer-limit-bytes:524288}") int sendBufferLimitBytes) {
+
+        this.bus = bus;
+        this.sendTimeLimitNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeLimitMs);
+        this.sendBufferLimitBytes = sendBufferLimitBytes;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.fanout = new ThreadPoolExecutor(
+                fanoutThreads, fanoutThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(MAX_PENDING_SENDS),
+                r -> {
+                    Thread t = new Thread(r, "chat-fanout-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+
+        bus.setListener(this::deliverLocally);
+    }
+
     /**
      * Register a new session.
      * Expects roomId as a query param: ?roomId=123
      */
     public void register(WebSocketSession session) {
 
+        SessionSender sender = new SessionSender(session);
+        outbound.put(session.getId(), sender);
+
         Long roomId = extractRoomId(session);
         if (roomId == null) {
             return;
         }
 
-        roomSessions
-                .computeIfAbsent(roomId, id -> ConcurrentHashMap.newKeySet())
-                .add(session);
+        // compute() is atomic per room, so subscribe / unsubscribe can't
+        // cross with a session joining or leaving the same room
+        roomSessions.compute(roomId, (id, sessions) -> {
+            if (sessions == null) {
+                sessions = new ConcurrentHashMap<>();
+                bus.subscribe(id);
+            }
+            sessions.put(session.getId(), sender);
+            return sessions;
+        });
     }
 
     /**
@@ -37,50 +116,193 @@ public class ChatSessionRegistry {
      */
     public void remove(WebSocketSession session) {
 
+        SessionSender sender = outbound.remove(session.getId());
+        if (sender != null) {
+            sender.discard();
+        }
+
         Long roomId = extractRoomId(session);
         if (roomId == null) {
             return;
         }
 
-        Set<WebSocketSession> sessions = roomSessions.get(roomId);
-        if (sessions != null) {
-            sessions.remove(session);
+        roomSessions.computeIfPresent(roomId, (id, sessions) -> {
+            sessions.remove(session.getId());
 
             // clean empty rooms
             if (sessions.isEmpty()) {
-                roomSessions.remove(roomId);
+                bus.unsubscribe(id);
+                return null;
             }
-        }
+            return sessions;
+        });
     }
 
     /**
-     * Broadcast message to all users in a room
+     * Broadcast message to all users in a room, on this node and on every
+     * other node hosting the room. Returns as soon as the sends are queued.
      */
     public void broadcastToRoom(Long roomId, String payload) {
+        deliverLocally(roomId, payload);
+        bus.publish(roomId, payload);
+    }
+
+    /**
+     * Deliver to this node's sessions only. The payload is serialized once
+     * by the caller and one TextMessage is shared by every session.
+     */
+    private void deliverLocally(Long roomId, String payload) {
 
-        Set<WebSocketSession> sessions = roomSessions.get(roomId);
+        Map<String, SessionSender> sessions = roomSessions.get(roomId);
         if (sessions == null) {
             return;
         }
 
-        for (WebSocketSession session : sessions) {
-            if (session.isOpen()) {
+        // Built from bytes so the UTF-8 form is computed once, not per
+        // session when the sender measures its buffer
+        TextMessage message = new TextMessage(payload.getBytes(StandardCharsets.UTF_8));
+        for (SessionSender sender : sessions.values()) {
+            sender.enqueue(message);
+        }
+    }
+
+    /**
+     * Send to one session (replies and delivery statuses), through the same
+     * per-session queue as broadcasts so the two keep their order.
+     */
+    public void sendTo(WebSocketSession session, String payload) {
+        SessionSender sender = outbound.get(session.getId());
+        if (sender != null) {
+            sender.enqueue(new TextMessage(payload.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    private static void closeQuietly(WebSocketSession session) {
+        try {
+            session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * Outgoing frames of one session. Frames are queued by any thread; a
+     * drain task on the fan-out pool writes them in order, and the scheduled
+     * flag keeps a second drain from starting while one is queued or running.
+     */
+    private final class SessionSender {
+
+        private final WebSocketSession session;
+        private final Queue<TextMessage> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicLong pendingBytes = new AtomicLong();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        // System.nanoTime() when the current write started, 0 while idle
+        private volatile long sendStartedAt;
+        private volatile boolean discarded;
+
+        SessionSender(WebSocketSession session) {
+            this.session = session;
+        }
+
+        void enqueue(TextMessage message) {
+            if (discarded) {
+                return;
+            }
+            if (!session.isOpen()) {
+                remove(session);
+                return;
+            }
+
+            // Slow consumer: stuck in one write, or too far behind
+            long started = sendStartedAt;
+            if (started != 0 && System.nanoTime() - started > sendTimeLimitNanos) {
+                evict("send took longer than the time limit");
+                return;
+            }
+            if (pendingBytes.addAndGet(message.getPayloadLength()) > sendBufferLimitBytes) {
+                evict("buffered sends exceeded the buffer limit");
+                return;
+            }
+
+            pending.add(message);
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                submit();
+            }
+        }
+
+        // Called while holding the scheduled flag
+        private void submit() {
+            try {
+                fanout.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // The whole node is behind on sends. The frames stay queued
+                // (bounded by the buffer limit) and go out with the next one.
+                scheduled.set(false);
+                log.warn("Chat fan-out saturated, session {} is waiting for its next message", session.getId());
+            }
+        }
+
+        private void drain() {
+            for (int i = 0; i < MAX_SENDS_PER_TURN; i++) {
+                TextMessage message = pending.poll();
+                if (message == null) {
+                    scheduled.set(false);
+                    // A frame queued after the poll but before the flag was
+                    // cleared would otherwise wait for the next one
+                    if (!pending.isEmpty()) {
+                        schedule();
+                    }
+                    return;
+                }
+                pendingBytes.addAndGet(-message.getPayloadLength());
+                if (discarded) {
+                    continue;
+                }
+                sendStartedAt = System.nanoTime();
                 try {
-                    session.sendMessage(new TextMessage(payload));
-                } catch (IOException e) {
+                    session.sendMessage(message);
+                } catch (IOException | IllegalStateException e) {
                     // silently remove broken session
                     remove(session);
+                    closeQuietly(session);
+                } finally {
+                    sendStartedAt = 0;
                 }
             }
+            // Still busy: back of the pool queue, keeping the flag
+            submit();
+        }
+
+        private void evict(String reason) {
+            log.warn("Dropping slow chat session {}: {}", session.getId(), reason);
+            remove(session);
+            closeQuietly(session);
+        }
+
+        void discard() {
+            discarded = true;
+            pending.clear();
         }
     }
 
+    @PreDestroy
+    public void shutdown() {
+        fanout.shutdown();
+    }
+
     /**
      * Extract roomId from query string
      * Example: ws://host/ws/chat?roomId=42
      */
     private Long extractRoomId(WebSocketSession session) {
 
+        if (session.getUri() == null) {
+            return null;
+        }
         String query = session.getUri().getQuery();
         if (query == null) {
             return null;
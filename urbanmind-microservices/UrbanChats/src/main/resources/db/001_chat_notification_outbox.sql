@@ -0,0 +1,18 @@
+-- Chat notifications are queued here in the same transaction as the message
+-- (ChatMessageWriter) and sent to the notification service in coalesced
+-- batches by ChatNotificationRelay. Apply once against the urbanmind schema
+-- (ddl-auto=validate does not create tables it has no entity for).
+CREATE TABLE IF NOT EXISTS urbanmind.chat_notification_outbox (
+    id                BIGSERIAL PRIMARY KEY,
+    room_id           BIGINT      NOT NULL,
+    recipient_user_id BIGINT      NOT NULL,
+    sender_user_id    BIGINT      NOT NULL,
+    message_id        BIGINT      NOT NULL,
+    created_at        TIMESTAMPTZ NOT NULL DEFAULT now(),
+    attempts          INT         NOT NULL DEFAULT 0,
+    next_attempt_at   TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+-- The relay claims rows that are due, oldest first
+CREATE INDEX IF NOT EXISTS ix_chat_notification_outbox_due
+    ON urbanmind.chat_notification_outbox (next_attempt_at);
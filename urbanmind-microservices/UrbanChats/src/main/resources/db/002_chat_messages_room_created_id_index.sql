@@ -0,0 +1,8 @@
+-- Chat scroll-back seeks on (created_at, id) within a room
+-- (ChatMessageRepository.findBefore); with id in the index the tie-break on
+-- equal timestamps is resolved in the index too. Replaces the two-column
+-- ix_chat_messages_room_created, which this index covers.
+CREATE INDEX IF NOT EXISTS ix_chat_messages_room_created_id
+    ON urbanmind.chat_messages USING btree (room_id, created_at, id);
+
+DROP INDEX IF EXISTS urbanmind.ix_chat_messages_room_created;
@@ -0,0 +1,104 @@
+package org.urbanmind.UrbanChats.Repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.urbanmind.UrbanChats.Entity.ChatMessage;
+
+/**
+ * Keyset scroll-back against a real (H2, PostgreSQL mode) database. Rows are
+ * inserted with JDBC so several can share a created_at, which the entity's
+ * @PrePersist would otherwise overwrite.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:chats;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;INIT=CREATE SCHEMA IF NOT EXISTS urbanmind",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "eureka.client.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ChatMessageRepositoryTest {
+
+    // Only the JPA layer; keeps the app's websocket and background beans out
+    @Configuration
+    @EntityScan(basePackageClasses = ChatMessage.class)
+    @EnableJpaRepositories(basePackageClasses = ChatMessageRepository.class)
+    static class JpaOnly {
+    }
+
+    private static final OffsetDateTime T = OffsetDateTime.parse("2025-01-01T10:00:00Z");
+
+    @Autowired
+    private ChatMessageRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // Room 1: ids 1-2 at T, 3-5 all at T+1s, 6 at T+2s. Room 2: id 7 at T+1s.
+        insert(1L, 1L, T);
+        insert(2L, 1L, T);
+        insert(3L, 1L, T.plusSeconds(1));
+        insert(4L, 1L, T.plusSeconds(1));
+        insert(5L, 1L, T.plusSeconds(1));
+        insert(6L, 1L, T.plusSeconds(2));
+        insert(7L, 2L, T.plusSeconds(1));
+    }
+
+    @Test
+    void findBefore_breaksTiesOnEqualCreatedAtById() {
+        // Cursor in the middle of the three messages sharing T+1s
+        List<ChatMessage> page = repository.findBefore(1L, T.plusSeconds(1), 4L, PageRequest.of(0, 3));
+
+        assertEquals(List.of(3L, 2L, 1L), ids(page));
+    }
+
+    @Test
+    void findBefore_walksTheWholeRoomWithoutGapsOrRepeats() {
+        List<ChatMessage> first = repository.findLatest(1L, PageRequest.of(0, 2));
+        assertEquals(List.of(6L, 5L), ids(first));
+
+        ChatMessage last = first.get(1);
+        List<ChatMessage> second = repository.findBefore(1L, last.getCreatedAt(), last.getId(), PageRequest.of(0, 2));
+        assertEquals(List.of(4L, 3L), ids(second));
+
+        last = second.get(1);
+        List<ChatMessage> third = repository.findBefore(1L, last.getCreatedAt(), last.getId(), PageRequest.of(0, 2));
+        assertEquals(List.of(2L, 1L), ids(third));
+    }
+
+    @Test
+    void findBefore_isEmptyAtTheEndOfHistory() {
+        assertTrue(repository.findBefore(1L, T, 1L, PageRequest.of(0, 10)).isEmpty());
+    }
+
+    private void insert(Long id, Long roomId, OffsetDateTime createdAt) {
+        jdbcTemplate.update("""
+                INSERT INTO urbanmind.chat_messages (id, room_id, sender_user_id, content, is_read, created_at)
+                VALUES (?, ?, 9, 'hi', false, ?)
+                """, id, roomId, Timestamp.from(createdAt.toInstant()));
+    }
+
+    private static List<Long> ids(List<ChatMessage> messages) {
+        return messages.stream().map(ChatMessage::getId).toList();
+    }
+}
@@ -0,0 +1,81 @@
+package org.urbanmind.UrbanChats.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.urbanmind.UrbanChats.DTO.ChatMessageHistoryDto;
+import org.urbanmind.UrbanChats.DTO.ChatMessageResponseDto;
+import org.urbanmind.UrbanChats.Entity.ChatMessage;
+import org.urbanmind.UrbanChats.Repository.ChatMessageRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ChatMessageServiceTest {
+
+    private static final OffsetDateTime T = OffsetDateTime.parse("2025-01-01T10:00:00Z");
+
+    @Mock
+    private ChatMessageRepository chatMessageRepository;
+
+    @InjectMocks
+    private ChatMessageService service;
+
+    @Test
+    void history_asksForOneExtraRowAndPointsTheCursorAtTheOldestReturned() {
+        // Two messages share T; the cursor must carry the id as well
+        when(chatMessageRepository.findLatest(eq(1L), any(Pageable.class)))
+                .thenReturn(List.of(message(5L, T.plusSeconds(1)), message(4L, T), message(3L, T)));
+
+        ChatMessageHistoryDto page = service.getMessagesBefore(1L, null, null, 2);
+
+        verify(chatMessageRepository).findLatest(1L, PageRequest.of(0, 3));
+        assertEquals(List.of(5L, 4L), page.getMessages().stream().map(ChatMessageResponseDto::getId).toList());
+        assertTrue(page.isHasMore());
+        assertEquals(4L, page.getNextBeforeId());
+        assertEquals(T, page.getNextBeforeCreatedAt());
+    }
+
+    @Test
+    void history_endsWithoutACursor() {
+        when(chatMessageRepository.findBefore(eq(1L), eq(T), eq(4L), any(Pageable.class)))
+                .thenReturn(List.of(message(3L, T)));
+
+        ChatMessageHistoryDto page = service.getMessagesBefore(1L, 4L, T, 2);
+
+        assertEquals(1, page.getMessages().size());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextBeforeId());
+        assertNull(page.getNextBeforeCreatedAt());
+    }
+
+    @Test
+    void history_readsTheCursorTimestampFromTheAnchorMessage() {
+        when(chatMessageRepository.findById(4L)).thenReturn(Optional.of(message(4L, T)));
+        when(chatMessageRepository.findBefore(eq(1L), eq(T), eq(4L), any(Pageable.class))).thenReturn(List.of());
+
+        ChatMessageHistoryDto page = service.getMessagesBefore(1L, 4L, null, 20);
+
+        assertTrue(page.getMessages().isEmpty());
+        assertFalse(page.isHasMore());
+    }
+
+    private static ChatMessage message(Long id, OffsetDateTime createdAt) {
+        return new ChatMessage(id, 1L, 9L, "hi", null, null, false, null, createdAt);
+    }
+}
@@ -0,0 +1,276 @@
+package org.urbanmind.UrbanChats.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.urbanmind.UrbanChats.Entity.ChatMessage;
+
+/**
+ * Drives the writer thread against a mocked JdbcTemplate that records every
+ * chat_messages batch, can be held mid-write, fails any batch holding a
+ * "bad" id, and can fail the next few batches with a transient error.
+ */
+class ChatMessageWriterTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    // ids of each chat_messages batch, in the order they were written
+    private final List<List<Long>> batches = new CopyOnWriteArrayList<>();
+    private final Set<Long> badIds = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger transientFailures = new AtomicInteger();
+    private volatile CountDownLatch hold = new CountDownLatch(0);
+    // chat_messages batches the writer has started
+    private final AtomicInteger writing = new AtomicInteger();
+
+    // the statement rows of each chat_notification_outbox batch
+    private final List<List<PreparedStatement>> outboxBatches = new CopyOnWriteArrayList<>();
+
+    private final Recorder listener = new Recorder();
+    private ChatMessageWriter writer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(transactionManager.getTransaction(any())).thenAnswer(inv -> new SimpleTransactionStatus());
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class))).thenAnswer(inv -> {
+            String sql = inv.getArgument(0);
+            BatchPreparedStatementSetter setter = inv.getArgument(1);
+            if (sql.contains("INSERT INTO urbanmind.chat_notification_outbox")) {
+                outboxBatches.add(rows(setter));
+                return new int[setter.getBatchSize()];
+            }
+            if (!sql.contains("INSERT INTO urbanmind.chat_messages")) {
+                return new int[setter.getBatchSize()];
+            }
+            writing.incrementAndGet();
+            hold.await(5, TimeUnit.SECONDS);
+            List<Long> ids = ids(setter);
+            batches.add(ids);
+            if (transientFailures.getAndUpdate(n -> Math.max(n - 1, 0)) > 0) {
+                throw new QueryTimeoutException("timed out");
+            }
+            if (ids.stream().anyMatch(badIds::contains)) {
+                throw new DataIntegrityViolationException("violates fk_chat_messages_sender");
+            }
+            return new int[ids.size()];
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        hold.countDown();
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void messagesQueuedDuringAWrite_goOutAsOneBatch() throws Exception {
+        writer = start(100);
+        hold = new CountDownLatch(1);
+
+        assertTrue(writer.submit(message(1L), listener));
+        waitUntil(() -> writing.get() == 1);
+        for (long id = 2; id <= 5; id++) {
+            assertTrue(writer.submit(message(id), listener));
+        }
+        hold.countDown();
+
+        waitUntil(() -> listener.persisted.size() == 5);
+        assertEquals(List.of(List.of(1L), List.of(2L, 3L, 4L, 5L)), batches);
+        assertTrue(listener.failed.isEmpty());
+    }
+
+    @Test
+    void foreignKeyViolation_splitsTheBatchAtOnceSoOnlyTheBadRowFails() throws Exception {
+        writer = start(100);
+        badIds.add(2L);
+        hold = new CountDownLatch(1);
+
+        writer.submit(message(1L), listener);
+        waitUntil(() -> writing.get() == 1);
+        writer.submit(message(2L), listener);
+        writer.submit(message(3L), listener);
+        hold.countDown();
+
+        waitUntil(() -> listener.persisted.size() + listener.failed.size() == 3);
+        assertEquals(List.of(1L, 3L), listener.persisted.stream().sorted().toList());
+        assertEquals(List.of(2L), listener.failed);
+
+        // 1 alone, then [2,3] once - no retries, so no backoff holding up 3 -
+        // then 2 and 3 one by one
+        assertEquals(List.of(List.of(1L), List.of(2L, 3L), List.of(2L), List.of(3L)), batches);
+    }
+
+    @Test
+    void transientFailure_retriesTheWholeBatch() throws Exception {
+        writer = start(100);
+        transientFailures.set(2);
+
+        writer.submit(message(1L), listener);
+
+        waitUntil(() -> listener.persisted.size() == 1);
+        assertEquals(List.of(List.of(1L), List.of(1L), List.of(1L)), batches);
+        assertTrue(listener.failed.isEmpty());
+    }
+
+    @Test
+    void fullQueue_refusesInsteadOfBlocking() throws Exception {
+        writer = start(1);
+        hold = new CountDownLatch(1);
+
+        assertTrue(writer.submit(message(1L), listener));
+        waitUntil(() -> writing.get() == 1);
+        // 1 is being written, 2 fills the queue
+        assertTrue(writer.submit(message(2L), listener));
+        assertFalse(writer.submit(message(3L), listener));
+
+        hold.countDown();
+        waitUntil(() -> listener.persisted.size() == 2);
+        assertEquals(List.of(1L, 2L), listener.persisted);
+    }
+
+    @Test
+    void stop_drainsWhatIsQueued_andRefusesNewMessages() throws Exception {
+        writer = start(100);
+        hold = new CountDownLatch(1);
+
+        writer.submit(message(1L), listener);
+        waitUntil(() -> writing.get() == 1);
+        writer.submit(message(2L), listener);
+        writer.submit(message(3L), listener);
+
+        Thread stopper = new Thread(writer::stop);
+        stopper.start();
+        waitUntil(() -> !writer.isRunning());
+        assertFalse(writer.submit(message(4L), listener));
+
+        hold.countDown();
+        stopper.join(5_000);
+
+        assertEquals(List.of(1L, 2L, 3L), listener.persisted);
+    }
+
+    @Test
+    void eachStoredMessage_queuesItsRecipientsNotificationInTheSameBatch() throws Exception {
+        writer = start(100);
+        OffsetDateTime createdAt = OffsetDateTime.parse("2026-10-18T10:15:30Z");
+        ChatMessage message = new ChatMessage(5L, 1L, 9L, "hi", null, null, false, null, createdAt);
+
+        writer.submit(message, listener);
+        waitUntil(() -> listener.persisted.size() == 1);
+
+        assertEquals(1, outboxBatches.size());
+        assertEquals(1, outboxBatches.get(0).size());
+
+        PreparedStatement ps = outboxBatches.get(0).get(0);
+        // recipient is "the other member" of the room, and the sender must be a member
+        verify(ps).setLong(1, 9L);
+        verify(ps).setLong(2, 9L);
+        verify(ps).setLong(3, 5L);
+        verify(ps).setTimestamp(4, Timestamp.from(createdAt.toInstant()));
+        verify(ps).setLong(5, 1L);
+        verify(ps).setLong(6, 9L);
+    }
+
+    @Test
+    void prepare_takesIdsFromOneSequenceBlock() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(3))).thenReturn(List.of(10L, 11L, 12L));
+        writer = new ChatMessageWriter(jdbcTemplate, transactionManager, 10, 10, 3);
+
+        assertEquals(10L, writer.prepare(1L, 9L, "a").getId());
+        assertEquals(11L, writer.prepare(1L, 9L, "b").getId());
+        assertEquals(12L, writer.prepare(1L, 9L, "c").getId());
+
+        verify(jdbcTemplate).queryForList(anyString(), eq(Long.class), eq(3));
+        writer = null;
+    }
+
+    private ChatMessageWriter start(int queueCapacity) {
+        ChatMessageWriter w = new ChatMessageWriter(jdbcTemplate, transactionManager, queueCapacity, 200, 100);
+        w.start();
+        return w;
+    }
+
+    private static ChatMessage message(Long id) {
+        return new ChatMessage(id, 1L, 9L, "hi", null, null, false, null, OffsetDateTime.now());
+    }
+
+    // Reads back the id (parameter 1) of every row in a batch
+    private static List<Long> ids(BatchPreparedStatementSetter setter) throws Exception {
+        PreparedStatement ps = mock(PreparedStatement.class);
+        for (int i = 0; i < setter.getBatchSize(); i++) {
+            setter.setValues(ps, i);
+        }
+        ArgumentCaptor<Long> id = ArgumentCaptor.forClass(Long.class);
+        verify(ps, atLeastOnce()).setLong(eq(1), id.capture());
+        return new ArrayList<>(id.getAllValues());
+    }
+
+    // Binds every row of a batch to its own mocked statement, while the rows still exist
+    private static List<PreparedStatement> rows(BatchPreparedStatementSetter setter) throws Exception {
+        List<PreparedStatement> rows = new ArrayList<>();
+        for (int i = 0; i < setter.getBatchSize(); i++) {
+            PreparedStatement ps = mock(PreparedStatement.class);
+            setter.setValues(ps, i);
+            rows.add(ps);
+        }
+        return rows;
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Timed out waiting for the writer");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static final class Recorder implements ChatMessageWriter.Listener {
+        final List<Long> persisted = new CopyOnWriteArrayList<>();
+        final List<Long> failed = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void persisted(ChatMessage message) {
+            persisted.add(message.getId());
+        }
+
+        @Override
+        public void failed(ChatMessage message, Exception cause) {
+            failed.add(message.getId());
+        }
+    }
+}
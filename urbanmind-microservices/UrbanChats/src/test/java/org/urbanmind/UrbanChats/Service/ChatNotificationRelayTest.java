@@ -0,0 +1,114 @@
+package org.urbanmind.UrbanChats.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatcher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import org.urbanmind.UrbanChats.Service.ChatNotificationRelay.OutboxRow;
+
+class ChatNotificationRelayTest {
+
+    private static final String URL = "http://notifications/batch";
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+
+    // batch of 2, 60 s lease, 5 s backoff doubling up to 600 s, 10 attempts
+    private final ChatNotificationRelay relay =
+            new ChatNotificationRelay(jdbcTemplate, restTemplate, URL, 2, 60_000, 5_000, 600_000, 10);
+
+    @Test
+    void relay_claimsDueRowsUnderALease_sendsThemAndDeletesThem() {
+        claimReturns(List.of(new OutboxRow(1L, 42L, 2L, 7L), new OutboxRow(2L, 43L, 3L, 7L)), List.of());
+
+        relay.relay();
+
+        verify(restTemplate).postForObject(eq(URL), argThat((List<?> body) -> body.size() == 2), eq(Object.class));
+        verify(jdbcTemplate).update(argThat(sql -> sql.startsWith("DELETE") && !sql.contains("attempts")),
+                (Object) argThat(ids(1L, 2L)));
+        // A full batch is followed by another claim; the empty one ends the run
+        verify(jdbcTemplate, times(2)).query(claimSql(), any(RowMapper.class), eq(60.0), eq(2));
+    }
+
+    @Test
+    void failedSend_isRetriedWithBackoff_andDroppedAfterMaxAttempts() {
+        claimReturns(List.of(new OutboxRow(1L, 42L, 2L, 7L), new OutboxRow(2L, 42L, 2L, 7L)));
+        when(restTemplate.postForObject(anyString(), any(), eq(Object.class)))
+                .thenThrow(new ResourceAccessException("connection refused"));
+        when(jdbcTemplate.update(argThat(sql -> sql.contains("attempts >= ?")), any(), any())).thenReturn(2);
+
+        relay.relay();
+
+        verify(jdbcTemplate).update(argThat(sql -> sql.contains("attempts = attempts + 1")),
+                eq(5.0), eq(600.0), argThat(ids(1L, 2L)));
+        verify(jdbcTemplate).update(argThat(sql -> sql.contains("attempts >= ?")),
+                argThat(ids(1L, 2L)), eq(10));
+        verify(jdbcTemplate, never()).update(argThat(sql -> sql.startsWith("DELETE") && !sql.contains("attempts")),
+                (Object) any());
+        // A failed batch ends the run even though it was full
+        verify(jdbcTemplate, times(1)).query(claimSql(), any(RowMapper.class), eq(60.0), eq(2));
+    }
+
+    @Test
+    void failedClaim_sendsNothing() {
+        when(jdbcTemplate.query(claimSql(), any(RowMapper.class), eq(60.0), eq(2)))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        relay.relay();
+
+        verify(restTemplate, never()).postForObject(anyString(), any(), any());
+    }
+
+    @SafeVarargs
+    private void claimReturns(List<OutboxRow> first, List<OutboxRow>... then) {
+        when(jdbcTemplate.query(claimSql(), any(RowMapper.class), eq(60.0), eq(2)))
+                .thenReturn(first, then);
+    }
+
+    private static String claimSql() {
+        return argThat(sql -> sql.contains("FOR UPDATE SKIP LOCKED"));
+    }
+
+    private static ArgumentMatcher<Object> ids(Long... expected) {
+        return arg -> arg instanceof Long[] ids && Arrays.equals(ids, expected);
+    }
+
+    @Test
+    void coalesce_oneNotificationPerRecipientAndRoom() {
+        List<Map<String, Object>> requests = ChatNotificationRelay.coalesce(List.of(
+                new OutboxRow(1L, 42L, 2L, 7L),
+                new OutboxRow(2L, 42L, 2L, 7L),
+                new OutboxRow(3L, 43L, 2L, 8L),
+                new OutboxRow(4L, 42L, 2L, 7L)));
+
+        assertEquals(2, requests.size());
+
+        Map<String, Object> room42 = requests.get(0);
+        assertEquals(2L, room42.get("userId"));
+        assertEquals(42L, room42.get("referenceId"));
+        assertEquals("You have 3 new messages from User 7", room42.get("message"));
+
+        Map<String, Object> room43 = requests.get(1);
+        assertEquals(43L, room43.get("referenceId"));
+        assertEquals("New Message", room43.get("title"));
+        assertEquals("You have a new message from User 8", room43.get("message"));
+    }
+}
@@ -0,0 +1,66 @@
+package org.urbanmind.UrbanChats.websocket;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.urbanmind.UrbanChats.websocket.bus.InMemoryChatBus;
+import org.urbanmind.UrbanChats.websocket.registry.ChatSessionRegistry;
+
+// Two registries on one in-memory hub stand in for two UrbanChats nodes
+class ChatSessionRegistryClusterTest {
+
+    private final InMemoryChatBus.Hub hub = new InMemoryChatBus.Hub();
+    private final ChatSessionRegistry nodeA = node();
+    private final ChatSessionRegistry nodeB = node();
+
+    @Test
+    void broadcast_reachesSessionsOnOtherNodesInTheRoom() throws Exception {
+        WebSocketSession alice = session("a1", 42L);
+        WebSocketSession bob = session("b1", 42L);
+        nodeA.register(alice);
+        nodeB.register(bob);
+
+        nodeA.broadcastToRoom(42L, "{\"content\":\"hi\"}");
+
+        verify(alice, timeout(1000)).sendMessage(argThat(m -> "{\"content\":\"hi\"}".equals(m.getPayload())));
+        verify(bob, timeout(1000)).sendMessage(argThat(m -> "{\"content\":\"hi\"}".equals(m.getPayload())));
+    }
+
+    @Test
+    void nodesOnlyReceiveRoomsTheyHost() throws Exception {
+        WebSocketSession elsewhere = session("b1", 7L);
+        nodeB.register(elsewhere);
+
+        WebSocketSession leaver = session("b2", 42L);
+        nodeB.register(leaver);
+        nodeB.remove(leaver);
+
+        nodeA.broadcastToRoom(42L, "{}");
+
+        verify(elsewhere, after(200).never()).sendMessage(any(TextMessage.class));
+        verify(leaver, never()).sendMessage(any(TextMessage.class));
+    }
+
+    private ChatSessionRegistry node() {
+        return new ChatSessionRegistry(new InMemoryChatBus(hub), 2, 5000, 512 * 1024);
+    }
+
+    private static WebSocketSession session(String id, Long roomId) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.getUri()).thenReturn(URI.create("ws://localhost/ws/chat?roomId=" + roomId));
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+}
@@ -0,0 +1,148 @@
+package org.urbanmind.UrbanChats.websocket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.urbanmind.UrbanChats.websocket.bus.InMemoryChatBus;
+import org.urbanmind.UrbanChats.websocket.registry.ChatSessionRegistry;
+
+class ChatSessionRegistryTest {
+
+    private final List<String> received = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ChatSessionRegistry registry;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        registry.shutdown();
+    }
+
+    @Test
+    void concurrentBroadcastsAndReplies_reachASessionInTheOrderEachWasSent() throws Exception {
+        registry = registry(4, 5000, 512 * 1024);
+        WebSocketSession session = recordingSession("s1");
+        registry.register(session);
+
+        int producers = 4;
+        int perProducer = 500;
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    // Room broadcasts and direct replies share the session's queue
+                    if (i % 2 == 0) {
+                        registry.broadcastToRoom(42L, producer + ":" + i);
+                    } else {
+                        registry.sendTo(session, producer + ":" + i);
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread t : threads) {
+            t.join(5_000);
+        }
+
+        verify(session, timeout(5_000).times(producers * perProducer)).sendMessage(any(TextMessage.class));
+        Map<Integer, Integer> last = new HashMap<>();
+        for (String payload : received) {
+            int producer = Integer.parseInt(payload.substring(0, payload.indexOf(':')));
+            int seq = Integer.parseInt(payload.substring(payload.indexOf(':') + 1));
+            assertEquals(last.getOrDefault(producer, -1) + 1, seq, "out of order for producer " + producer);
+            last.put(producer, seq);
+        }
+    }
+
+    @Test
+    void sessionStuckInAWrite_isDroppedOnceTheTimeLimitPasses() throws Exception {
+        registry = registry(2, 100, 512 * 1024);
+        WebSocketSession stuck = blockingSession("s1");
+        WebSocketSession other = recordingSession("s2");
+        registry.register(stuck);
+        registry.register(other);
+
+        registry.broadcastToRoom(42L, "1");
+        verify(stuck, timeout(1_000)).sendMessage(any(TextMessage.class));
+        Thread.sleep(150);
+        registry.broadcastToRoom(42L, "2");
+
+        verify(stuck, timeout(1_000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        verify(other, timeout(1_000).times(2)).sendMessage(any(TextMessage.class));
+
+        // Gone from the room: nothing more is queued for it
+        release.countDown();
+        registry.broadcastToRoom(42L, "3");
+        verify(other, timeout(1_000).times(3)).sendMessage(any(TextMessage.class));
+        verify(stuck, after(200).times(1)).sendMessage(any(TextMessage.class));
+    }
+
+    @Test
+    void sessionThatFallsBehind_isDroppedOnceItsQueueFillsUp() throws Exception {
+        registry = registry(2, 60_000, 10);
+        WebSocketSession stuck = blockingSession("s1");
+        registry.register(stuck);
+
+        registry.broadcastToRoom(42L, "first");
+        verify(stuck, timeout(1_000)).sendMessage(any(TextMessage.class));
+        // 6 bytes fit in the 10-byte buffer, the next 6 do not
+        registry.broadcastToRoom(42L, "second");
+        verify(stuck, after(100).times(0)).close(any(CloseStatus.class));
+        registry.broadcastToRoom(42L, "third!");
+
+        verify(stuck, timeout(1_000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        release.countDown();
+        verify(stuck, after(200).times(1)).sendMessage(any(TextMessage.class));
+    }
+
+    private ChatSessionRegistry registry(int threads, int sendTimeLimitMs, int sendBufferLimitBytes) {
+        return new ChatSessionRegistry(new InMemoryChatBus(new InMemoryChatBus.Hub()),
+                threads, sendTimeLimitMs, sendBufferLimitBytes);
+    }
+
+    private WebSocketSession recordingSession(String id) throws Exception {
+        WebSocketSession session = session(id);
+        doAnswer(inv -> {
+            received.add(inv.<TextMessage>getArgument(0).getPayload());
+            return null;
+        }).when(session).sendMessage(any(TextMessage.class));
+        return session;
+    }
+
+    // The first write hangs until the test releases it, like a client that stopped reading
+    private WebSocketSession blockingSession(String id) throws Exception {
+        WebSocketSession session = session(id);
+        doAnswer(inv -> release.await(5, TimeUnit.SECONDS)).when(session).sendMessage(any(TextMessage.class));
+        return session;
+    }
+
+    private static WebSocketSession session(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.getUri()).thenReturn(URI.create("ws://localhost/ws/chat?roomId=42"));
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+}
@@ -0,0 +1,63 @@
+package org.urbanmind.UrbanChats.websocket;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.urbanmind.UrbanChats.Entity.ChatMessage;
+import org.urbanmind.UrbanChats.Service.ChatMessageService;
+import org.urbanmind.UrbanChats.Service.ChatMessageWriter;
+import org.urbanmind.UrbanChats.websocket.handler.ChatWebSocketHandler;
+import org.urbanmind.UrbanChats.websocket.registry.ChatSessionRegistry;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class ChatWebSocketHandlerTest {
+
+    private final ChatSessionRegistry registry = mock(ChatSessionRegistry.class);
+    private final ChatMessageWriter writer = mock(ChatMessageWriter.class);
+    private final ChatWebSocketHandler handler = new ChatWebSocketHandler(
+            registry, mock(ChatMessageService.class), writer, new ObjectMapper().findAndRegisterModules());
+
+    private final WebSocketSession session = mock(WebSocketSession.class);
+
+    @Test
+    void saturatedWriter_rejectsTheMessageWithoutBroadcasting() throws Exception {
+        when(writer.prepare(42L, 7L, "hi"))
+                .thenReturn(new ChatMessage(100L, 42L, 7L, "hi", null, null, false, null, OffsetDateTime.now()));
+        when(writer.submit(any(), any())).thenReturn(false);
+
+        handler.handleMessage(session, new TextMessage(
+                "{\"roomId\":42,\"senderUserId\":7,\"content\":\"hi\",\"clientMessageId\":\"c-1\"}"));
+
+        verify(registry).sendTo(eq(session), argThat(json ->
+                json.contains("\"type\":\"REJECTED\"") && json.contains("\"clientMessageId\":\"c-1\"")));
+        verify(registry, never()).broadcastToRoom(any(), anyString());
+    }
+
+    @Test
+    void payloadOverTheBusLimit_isRefusedBeforeItIsStoredOrBroadcast() throws Exception {
+        // Under the character limit, but JSON escapes each control character as six bytes
+        String content = "\u0001".repeat(1500);
+        when(writer.prepare(42L, 7L, content))
+                .thenReturn(new ChatMessage(100L, 42L, 7L, content, null, null, false, null, OffsetDateTime.now()));
+
+        handler.handleMessage(session, new TextMessage(new ObjectMapper().writeValueAsString(
+                Map.of("roomId", 42, "senderUserId", 7, "content", content))));
+
+        verify(registry).sendTo(eq(session), argThat(json -> json.contains("\"error\"")));
+        verify(writer, never()).submit(any(), any());
+        verify(registry, never()).broadcastToRoom(any(), anyString());
+    }
+}
@@ -0,0 +1,57 @@
+package org.urbanmind.UrbanChats.websocket.bus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGNotification;
+
+// Framing and echo filtering of received notifications; needs no database
+class PostgresChatBusTest {
+
+    private final List<String> delivered = new CopyOnWriteArrayList<>();
+    private final PostgresChatBus bus = new PostgresChatBus(mock(DataSource.class));
+    private final PostgresChatBus otherNode = new PostgresChatBus(mock(DataSource.class));
+
+    @BeforeEach
+    void setUp() {
+        bus.setListener((roomId, payload) -> delivered.add(roomId + " " + payload));
+    }
+
+    @Test
+    void messageFromAnotherNode_isDeliveredToItsRoomWithThePayloadIntact() {
+        bus.deliver(notification("chat_room_42", otherNode.frame("{\"content\":\"a|b\"}")));
+
+        assertEquals(List.of("42 {\"content\":\"a|b\"}"), delivered);
+    }
+
+    @Test
+    void ownEcho_isIgnored() {
+        bus.deliver(notification("chat_room_42", bus.frame("{}")));
+
+        assertEquals(List.of(), delivered);
+    }
+
+    @Test
+    void malformedNotifications_areSkipped() {
+        bus.deliver(notification("chat_room_42", "no separator"));
+        bus.deliver(notification("chat_room_abc", otherNode.frame("{}")));
+        bus.deliver(notification("chat_room_7", otherNode.frame("{}")));
+
+        assertEquals(List.of("7 {}"), delivered);
+    }
+
+    private static PGNotification notification(String channel, String body) {
+        PGNotification n = mock(PGNotification.class);
+        when(n.getName()).thenReturn(channel);
+        when(n.getParameter()).thenReturn(body);
+        return n;
+    }
+}
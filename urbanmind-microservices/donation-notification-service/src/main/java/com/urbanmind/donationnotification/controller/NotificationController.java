@@ -40,6 +40,13 @@ public class NotificationController {
         return new ApiResponse(true, "Notification created", notification);
     }
 
+    // Several notifications in one call, e.g. the chat service's outbox relay
+    @PostMapping("/batch")
+    public ApiResponse createNotifications(@RequestBody List<NotificationRequestDto> dtos) {
+        List<NotificationResponseDto> notifications = notificationService.createNotifications(dtos);
+        return new ApiResponse(true, "Notifications created", notifications);
+    }
+
     @PostMapping("/broadcast")
     public ApiResponse createBroadcastNotification(@RequestBody NotificationRequestDto dto) {
         NotificationResponseDto notification = notificationService.createBroadcastNotification(dto);
@@ -18,6 +18,9 @@ public class RevokedTokenEntity {
 
     private LocalDateTime revokedAt;
 
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
     // Getters and Setters
 
     public Long getId() {
@@ -43,4 +46,12 @@ public class RevokedTokenEntity {
     public void setRevokedAt(LocalDateTime revokedAt) {
         this.revokedAt = revokedAt;
     }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
 }
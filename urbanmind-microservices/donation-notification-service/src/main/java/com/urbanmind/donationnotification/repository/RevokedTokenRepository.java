@@ -3,6 +3,8 @@ package com.urbanmind.donationnotification.repository;
 
 
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -14,4 +16,8 @@ import com.urbanmind.donationnotification.entity.RevokedTokenEntity;
 public interface RevokedTokenRepository extends JpaRepository<RevokedTokenEntity, Long> {
     Optional<RevokedTokenEntity> findByToken(String token);
     boolean existsByToken(String token);
+
+    // Used by RevokedTokenCache: startup load, then incremental refresh
+    List<RevokedTokenEntity> findByExpiresAtAfter(LocalDateTime now);
+    List<RevokedTokenEntity> findByRevokedAtAfter(LocalDateTime since);
 }
\ No newline at end of file
@@ -19,13 +19,13 @@ import jakarta.servlet.http.HttpServletResponse;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
-    private final com.urbanmind.donationnotification.repository.RevokedTokenRepository revokedTokenRepository;
+    private final RevokedTokenCache revokedTokenCache;
 
     public JwtAuthenticationFilter(
             JwtTokenProvider tokenProvider,
-            com.urbanmind.donationnotification.repository.RevokedTokenRepository revokedTokenRepository) {
+            RevokedTokenCache revokedTokenCache) {
         this.tokenProvider = tokenProvider;
-        this.revokedTokenRepository = revokedTokenRepository;
+        this.revokedTokenCache = revokedTokenCache;
     }
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
@@ -50,8 +50,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
 
-            // 2. BLACKLIST CHECK: Reject if token is in database
-            if (revokedTokenRepository.existsByToken(token)) {
+            // 2. BLACKLIST CHECK: in-memory, refreshed from revoked_tokens
+            if (revokedTokenCache.isRevoked(token)) {
                 // Return 401 Unauthorized immediately
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 response.getWriter().write("Token is revoked/blacklisted");
@@ -0,0 +1,93 @@
+package com.urbanmind.donationnotification.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.urbanmind.donationnotification.entity.RevokedTokenEntity;
+import com.urbanmind.donationnotification.repository.RevokedTokenRepository;
+
+/**
+ * Local copy of the revoked_tokens table (written by the auth service),
+ * keyed by SHA-256 of the token, so the per-request revocation check needs
+ * no query. Loaded when the app is ready, refreshed by polling for newly
+ * revoked rows, and pruned once a token's expires_at has passed.
+ */
+@Component
+public class RevokedTokenCache {
+
+    // Re-read a little history each poll to catch late commits / clock skew
+    private static final long POLL_OVERLAP_SECONDS = 60;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    // token digest -> expiry
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+
+    private volatile LocalDateTime lastPoll;
+
+    public RevokedTokenCache(RevokedTokenRepository revokedTokenRepository) {
+        this.revokedTokenRepository = revokedTokenRepository;
+    }
+
+    public boolean isRevoked(String token) {
+        return revoked.containsKey(digest(token));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        LocalDateTime now = LocalDateTime.now();
+
+        for (RevokedTokenEntity t : revokedTokenRepository.findByExpiresAtAfter(now)) {
+            add(t);
+        }
+        lastPoll = now;
+    }
+
+    @Scheduled(
+            fixedDelayString = "${urbanmind.security.revocation-poll-ms:5000}",
+            initialDelayString = "${urbanmind.security.revocation-poll-ms:5000}")
+    public void poll() {
+        LocalDateTime since = lastPoll;
+        if (since == null) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (RevokedTokenEntity t : revokedTokenRepository.findByRevokedAtAfter(since.minusSeconds(POLL_OVERLAP_SECONDS))) {
+            add(t);
+        }
+        lastPoll = now;
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        Instant now = Instant.now();
+        revoked.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+    }
+
+    private void add(RevokedTokenEntity t) {
+        revoked.put(digest(t.getToken()), t.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -8,6 +8,8 @@ public interface NotificationService {
 
     NotificationResponseDto createNotification(NotificationRequestDto notificationRequestDto);
 
+    List<NotificationResponseDto> createNotifications(List<NotificationRequestDto> notificationRequestDtos);
+
     NotificationResponseDto createBroadcastNotification(NotificationRequestDto notificationRequestDto);
 
     List<NotificationResponseDto> getNotificationsByUserId(Long userId);
@@ -32,17 +32,8 @@ public class NotificationServiceImpl implements NotificationService {
     @Override
     @Transactional
     public NotificationResponseDto createNotification(NotificationRequestDto notificationRequestDto) {
-        Notification notification = new Notification();
-        notification.setUserId(notificationRequestDto.getUserId());
-        notification.setTitle(notificationRequestDto.getTitle());
-        notification.setMessage(notificationRequestDto.getMessage());
-        notification.setType(notificationRequestDto.getType());
-        notification.setChannel(notificationRequestDto.getChannel());
-        notification.setReferenceType(notificationRequestDto.getReferenceType());
-        notification.setReferenceId(notificationRequestDto.getReferenceId());
-        notification.setIsRead(false);
-        notification.setSentAt(OffsetDateTime.now());
-        notification.setCreatedAt(OffsetDateTime.now());
+        Notification notification = toEntity(notificationRequestDto,
+                notificationRequestDto.getUserId(), OffsetDateTime.now());
 
         Notification savedNotification = notificationRepository.save(notification);
 
@@ -55,6 +46,24 @@ public class NotificationServiceImpl implements NotificationService {
 
     }
 
+    @Override
+    @Transactional
+    public List<NotificationResponseDto> createNotifications(List<NotificationRequestDto> notificationRequestDtos) {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<Notification> notifications = notificationRequestDtos.stream()
+                .map(dto -> toEntity(dto, dto.getUserId(), now))
+                .collect(Collectors.toList());
+
+        List<NotificationResponseDto> saved = notificationRepository.saveAll(notifications).stream()
+                .map(this::convertToResponseDto)
+                .collect(Collectors.toList());
+
+        for (NotificationResponseDto dto : saved) {
+            socketService.sendNotification(dto.getUserId(), dto);
+        }
+        return saved;
+    }
+
     @Override
     @Transactional
     public NotificationResponseDto createBroadcastNotification(NotificationRequestDto notificationRequestDto) {
@@ -78,19 +87,8 @@ public class NotificationServiceImpl implements NotificationService {
 
             if (users != null) {
                 for (com.urbanmind.donationnotification.entity.User user : users) {
-                    Notification notification = new Notification();
-                    notification.setUserId(user.getId());
-                    notification.setTitle(notificationRequestDto.getTitle());
-                    notification.setMessage(notificationRequestDto.getMessage());
-                    notification.setType(notificationRequestDto.getType());
-                    notification.setChannel(notificationRequestDto.getChannel());
-                    notification.setReferenceType(notificationRequestDto.getReferenceType());
-                    notification.setReferenceId(notificationRequestDto.getReferenceId());
-                    notification.setIsRead(false);
-                    notification.setSentAt(broadcastDto.getSentAt());
-                    notification.setCreatedAt(broadcastDto.getCreatedAt());
-
-                    notificationRepository.save(notification);
+                    notificationRepository.save(
+                            toEntity(notificationRequestDto, user.getId(), broadcastDto.getSentAt()));
                 }
             }
         } catch (Exception e) {
@@ -138,6 +136,22 @@ public class NotificationServiceImpl implements NotificationService {
         return notificationRepository.countByUserIdAndIsRead(userId, false);
     }
 
+    // A new, unread notification for userId, sent and created at the given time
+    private Notification toEntity(NotificationRequestDto dto, Long userId, OffsetDateTime at) {
+        Notification notification = new Notification();
+        notification.setUserId(userId);
+        notification.setTitle(dto.getTitle());
+        notification.setMessage(dto.getMessage());
+        notification.setType(dto.getType());
+        notification.setChannel(dto.getChannel());
+        notification.setReferenceType(dto.getReferenceType());
+        notification.setReferenceId(dto.getReferenceId());
+        notification.setIsRead(false);
+        notification.setSentAt(at);
+        notification.setCreatedAt(at);
+        return notification;
+    }
+
     private NotificationResponseDto convertToResponseDto(Notification notification) {
         NotificationResponseDto dto = new NotificationResponseDto();
         dto.setId(notification.getId());
@@ -11,8 +11,6 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.urbanmind.urbanmind_auth.repository.RevokedTokenRepository;
-
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,14 +20,14 @@ import jakarta.servlet.http.HttpServletResponse;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
-    private final RevokedTokenRepository revokedTokenRepository;
+    private final RevokedTokenCache revokedTokenCache;
 
     public JwtAuthenticationFilter(
             JwtTokenProvider tokenProvider,
-            RevokedTokenRepository revokedTokenRepository
+            RevokedTokenCache revokedTokenCache
     ) {
         this.tokenProvider = tokenProvider;
-        this.revokedTokenRepository = revokedTokenRepository;
+        this.revokedTokenCache = revokedTokenCache;
     }
 
     @Override
@@ -45,14 +43,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
             String token = header.substring(7);
 
-            if (!tokenProvider.validateToken(token)
-                    || revokedTokenRepository.existsByToken(token)) {
+            // One signature check + parse for the whole request
+            VerifiedClaims claims = tokenProvider.verify(token);
+
+            if (claims == null
+                    || revokedTokenCache.isRevoked(token)) {
                 filterChain.doFilter(request, response);
                 return;
             }
 
-            String email = tokenProvider.getEmail(token);
-            String role = tokenProvider.getPrimaryRole(token).toUpperCase();
+            String email = claims.getEmail();
+            String role = claims.getPrimaryRole();
          // Safety check: ensure role is not null
             if (role == null) {
                 filterChain.doFilter(request, response);
@@ -63,7 +64,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     List.of(new SimpleGrantedAuthority("ROLE_" + role.toUpperCase())); // Force uppercase to be safe
             UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(
-                            email,
+                            new UserPrincipal(claims.getUserId(), email, role.toUpperCase()),
                             null,
                             authorities
                     );
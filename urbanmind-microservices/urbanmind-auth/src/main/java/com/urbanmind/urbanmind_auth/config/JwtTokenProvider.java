@@ -67,8 +67,11 @@ package com.urbanmind.urbanmind_auth.config;
 
 
 
+import java.time.Instant;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import javax.crypto.SecretKey;
@@ -78,6 +81,7 @@ import org.springframework.stereotype.Component;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
@@ -85,13 +89,28 @@ import io.jsonwebtoken.security.Keys;
 public class JwtTokenProvider {
 
     private final SecretKey secretKey;
-   
+    private final JwtParser parser;
+
+    // Recently verified tokens -> claims, least recently used evicted first.
+    // A hit skips the HMAC check and JSON parse; entries die with the token.
+    private final Map<String, VerifiedClaims> verifiedCache;
+    private final int verifiedCacheSize;
+
     public JwtTokenProvider(
             @Value("${jwt.secret}") String secret,
-            @Value("${jwt.access-token-expiration}") long expirationMillis
+            @Value("${jwt.access-token-expiration}") long expirationMillis,
+            @Value("${jwt.verified-cache-size:10000}") int verifiedCacheSize
     ) {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes());
-        
+        this.parser = Jwts.parser().verifyWith(secretKey).build();
+        this.verifiedCacheSize = verifiedCacheSize;
+        this.verifiedCache = Collections.synchronizedMap(
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, VerifiedClaims> eldest) {
+                        return size() > verifiedCacheSize;
+                    }
+                });
     }
 
     public String generateToken(Long userId, String email, String primaryRole, String status,long expirySeconds) {
@@ -112,41 +131,79 @@ public class JwtTokenProvider {
                 .compact();
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Verify the token once and return its claims, or null if the signature
+     * is bad, the token is malformed or it has expired.
+     */
+    public VerifiedClaims verify(String token) {
         try {
-            parseClaims(token);
-            return true;
+            return claims(token);
         } catch (JwtException | IllegalArgumentException ex) {
-            return false;
+            return null;
         }
     }
 
+    public boolean validateToken(String token) {
+        return verify(token) != null;
+    }
+
     public String getEmail(String token) {
-        return parseClaims(token).getSubject();
+        return claims(token).getEmail();
     }
 
     public Long getUserId(String token) {
-        return parseClaims(token).get("userId", Long.class);
+        return claims(token).getUserId();
     }
 
     public String getPrimaryRole(String token) {
-        return parseClaims(token).get("primaryRole", String.class);
+        return claims(token).getPrimaryRole();
     }
 
     public String getStatus(String token) {
-        return parseClaims(token).get("status", String.class);
+        return claims(token).getStatus();
     }
 
+    // Null when the token carries no exp claim, i.e. it never expires
     public Date getExpiry(String token) {
-        return parseClaims(token).getExpiration();
+        Instant expiresAt = claims(token).getExpiresAt();
+        return expiresAt != null ? Date.from(expiresAt) : null;
+    }
+
+    // Throws JwtException / IllegalArgumentException for an unusable token
+    private VerifiedClaims claims(String token) {
+        if (verifiedCacheSize > 0 && token != null) {
+            VerifiedClaims cached = verifiedCache.get(token);
+            if (cached != null) {
+                if (!cached.isExpired(Instant.now())) {
+                    return cached;
+                }
+                verifiedCache.remove(token);
+            }
+        }
+
+        VerifiedClaims verified = toVerifiedClaims(parseClaims(token));
+
+        if (verifiedCacheSize > 0) {
+            verifiedCache.put(token, verified);
+        }
+        return verified;
     }
 
     private Claims parseClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
+        return parser
                 .parseSignedClaims(token)
                 .getPayload();
     }
-}
 
+    private static VerifiedClaims toVerifiedClaims(Claims claims) {
+        Date expiration = claims.getExpiration();
+
+        return new VerifiedClaims(
+                claims.get("userId", Long.class),
+                claims.getSubject(),
+                claims.get("primaryRole", String.class),
+                claims.get("status", String.class),
+                expiration != null ? expiration.toInstant() : null
+        );
+    }
+}
@@ -0,0 +1,106 @@
+package com.urbanmind.urbanmind_auth.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.urbanmind.urbanmind_auth.entity.RevokedToken;
+import com.urbanmind.urbanmind_auth.repository.RevokedTokenRepository;
+
+/**
+ * In-memory copy of the revoked_tokens table, keyed by SHA-256 of the token,
+ * so the "token is not revoked" check on every request needs no query.
+ *
+ * Loaded once when the app is ready, then kept current by polling for rows
+ * revoked since the last poll (with an overlap to cover late commits and
+ * clock skew between nodes). Entries are dropped once the token's expires_at
+ * passes, because an expired JWT is rejected by signature validation anyway.
+ * Logouts on this node are added immediately; other nodes see them within
+ * one poll interval.
+ */
+@Component
+public class RevokedTokenCache {
+
+    private static final Logger log = LoggerFactory.getLogger(RevokedTokenCache.class);
+
+    private static final Duration POLL_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    // token digest -> expiry
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+
+    private volatile OffsetDateTime lastPoll;
+
+    public RevokedTokenCache(RevokedTokenRepository revokedTokenRepository) {
+        this.revokedTokenRepository = revokedTokenRepository;
+    }
+
+    public boolean isRevoked(String token) {
+        return revoked.containsKey(digest(token));
+    }
+
+    // Called by logout so this node rejects the token straight away
+    public void add(String token, Instant expiresAt) {
+        revoked.put(digest(token), expiresAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+
+        for (RevokedToken t : revokedTokenRepository.findByExpiresAtAfter(now)) {
+            add(t.getToken(), t.getExpiresAt().toInstant());
+        }
+        lastPoll = now;
+
+        log.info("Loaded {} revoked tokens", revoked.size());
+    }
+
+    @Scheduled(
+            fixedDelayString = "${urbanmind.security.revocation-poll-ms:5000}",
+            initialDelayString = "${urbanmind.security.revocation-poll-ms:5000}")
+    public void poll() {
+        OffsetDateTime since = lastPoll;
+        if (since == null) {
+            return;
+        }
+
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        for (RevokedToken t : revokedTokenRepository.findByRevokedAtAfter(since.minus(POLL_OVERLAP))) {
+            add(t.getToken(), t.getExpiresAt().toInstant());
+        }
+        lastPoll = now;
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        Instant now = Instant.now();
+        revoked.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            // every JVM is required to ship SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+}
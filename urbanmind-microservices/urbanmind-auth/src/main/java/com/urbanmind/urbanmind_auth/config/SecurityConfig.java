@@ -62,6 +62,9 @@ public class SecurityConfig {
             	    .requestMatchers("/verification-requests/**")
             	        .hasAuthority("ROLE_ADMIN")
 
+            	    .requestMatchers("/api/admin/**")
+            	        .hasAuthority("ROLE_ADMIN")
+
             	    .anyRequest().authenticated()
             	)
 
@@ -0,0 +1,55 @@
+package com.urbanmind.urbanmind_auth.config;
+
+import java.security.Principal;
+
+import org.springframework.security.core.Authentication;
+
+import com.urbanmind.urbanmind_auth.exception.ResourceNotFoundException;
+
+/**
+ * Authenticated caller as installed by JwtAuthenticationFilter, built from the
+ * token's claims so controllers get the user id without loading the User row.
+ * getName() is the email, so authentication.getName() / Principal keep working.
+ */
+public final class UserPrincipal implements Principal {
+
+    private final Long id;
+    private final String email;
+    private final String role;
+
+    public UserPrincipal(Long id, String email, String role) {
+        this.id = id;
+        this.email = email;
+        this.role = role;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    /**
+     * Principal of the current request; fails the same way the old
+     * findByEmail lookups did when there is no usable caller.
+     */
+    public static UserPrincipal of(Authentication authentication) {
+        if (authentication != null
+                && authentication.getPrincipal() instanceof UserPrincipal principal
+                && principal.getId() != null) {
+            return principal;
+        }
+        throw new ResourceNotFoundException("Unauthenticated request");
+    }
+}
@@ -0,0 +1,35 @@
+package com.urbanmind.urbanmind_auth.config;
+
+import java.time.Instant;
+
+/**
+ * Claims of a JWT whose signature and expiry have already been checked.
+ * Immutable, so one instance can be shared by every request carrying the
+ * same token.
+ */
+public final class VerifiedClaims {
+
+    private final Long userId;
+    private final String email;
+    private final String primaryRole;
+    private final String status;
+    private final Instant expiresAt;
+
+    public VerifiedClaims(Long userId, String email, String primaryRole, String status, Instant expiresAt) {
+        this.userId = userId;
+        this.email = email;
+        this.primaryRole = primaryRole;
+        this.status = status;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getUserId() { return userId; }
+    public String getEmail() { return email; }
+    public String getPrimaryRole() { return primaryRole; }
+    public String getStatus() { return status; }
+    public Instant getExpiresAt() { return expiresAt; }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
@@ -1,15 +0,0 @@
-package com.urbanmind.urbanmind_auth.config;
-
-import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
-
-@Configuration
-public class WebMvcConfig implements WebMvcConfigurer {
-
-	@Override
-	public void addResourceHandlers(ResourceHandlerRegistry registry) {
-	    registry.addResourceHandler("/uploads/**")
-	            .addResourceLocations("file:F:/urbanmindTest3/urbanmind-auth/uploads/");
-	}
-}
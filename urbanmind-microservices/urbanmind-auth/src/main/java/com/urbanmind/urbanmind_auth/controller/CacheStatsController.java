@@ -0,0 +1,34 @@
+package com.urbanmind.urbanmind_auth.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.urbanmind.urbanmind_auth.service.FeedResponseCache;
+import com.urbanmind.urbanmind_auth.service.UserSummaryService;
+
+// Admin-only view of in-process cache counters, used to tune their sizes
+@RestController
+@RequestMapping("/api/admin/caches")
+public class CacheStatsController {
+
+    private final UserSummaryService userSummaryService;
+    private final FeedResponseCache feedCache;
+
+    public CacheStatsController(UserSummaryService userSummaryService, FeedResponseCache feedCache) {
+        this.userSummaryService = userSummaryService;
+        this.feedCache = feedCache;
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getStats() {
+        Map<String, Object> caches = new LinkedHashMap<>();
+        caches.put("userSummary", userSummaryService.stats());
+        caches.put("feedResponses", feedCache.stats());
+        return ResponseEntity.ok(caches);
+    }
+}
@@ -1,6 +1,8 @@
 package com.urbanmind.urbanmind_auth.controller;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -13,25 +15,39 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.urbanmind.urbanmind_auth.config.UserPrincipal;
 import com.urbanmind.urbanmind_auth.dto.request.CommentRequestDTO;
+import com.urbanmind.urbanmind_auth.dto.response.CommentThreadPageDTO;
+import com.urbanmind.urbanmind_auth.dto.response.UserSummary;
 import com.urbanmind.urbanmind_auth.entity.Comment;
-import com.urbanmind.urbanmind_auth.entity.User;
-import com.urbanmind.urbanmind_auth.exception.ResourceNotFoundException;
-import com.urbanmind.urbanmind_auth.repository.UserRepository;
 import com.urbanmind.urbanmind_auth.service.CommentService;
+import com.urbanmind.urbanmind_auth.service.CommentThreadService;
+import com.urbanmind.urbanmind_auth.service.UserSummaryService;
 
 @RestController
 @RequestMapping("/api/problems")
 public class CommentController {
 
+    private static final int DEFAULT_THREAD_PAGE_SIZE = 20;
+    private static final int MAX_THREAD_PAGE_SIZE = 50;
+    private static final int DEFAULT_REPLY_DEPTH = 3;
+    private static final int MAX_REPLY_DEPTH = 10;
+    private static final int DEFAULT_REPLIES_PER_COMMENT = 10;
+    private static final int MAX_REPLIES_PER_COMMENT = 50;
+
     private final CommentService commentService;
-    private final UserRepository userRepository;
+    private final UserSummaryService userSummaryService;
+    private final CommentThreadService commentThreadService;
 
-    public CommentController(CommentService commentService, UserRepository userRepository) {
+    public CommentController(CommentService commentService,
+                             UserSummaryService userSummaryService,
+                             CommentThreadService commentThreadService) {
         this.commentService = commentService;
-        this.userRepository = userRepository;
+        this.userSummaryService = userSummaryService;
+        this.commentThreadService = commentThreadService;
     }
 
     @PostMapping("/{problemId}/comments")
@@ -40,12 +56,10 @@ public class CommentController {
             @RequestBody CommentRequestDTO dto,
             Authentication authentication) {
 
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        Long userId = UserPrincipal.of(authentication).getId();
 
         return new ResponseEntity<>(
-                commentService.addComment(problemId, user.getId(), dto.getContent()),
+                commentService.addComment(problemId, userId, dto.getContent()),
                 HttpStatus.CREATED
         );
     }
@@ -57,12 +71,10 @@ public class CommentController {
             @RequestBody CommentRequestDTO dto,
             Authentication authentication) {
 
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        Long userId = UserPrincipal.of(authentication).getId();
 
         return new ResponseEntity<>(
-                commentService.reply(problemId, commentId, user.getId(), dto.getContent()),
+                commentService.reply(problemId, commentId, userId, dto.getContent()),
                 HttpStatus.CREATED
         );
     }
@@ -73,6 +85,10 @@ public class CommentController {
 
         List<Comment> comments = commentService.getComments(problemId);
 
+        // One batch (usually served from cache) instead of a lookup per comment
+        Map<Long, UserSummary> authors = userSummaryService.getSummaries(
+                comments.stream().map(Comment::getUserId).collect(Collectors.toSet()));
+
         List<com.urbanmind.urbanmind_auth.dto.response.CommentResponseDTO> response = comments.stream()
                 .map(comment -> {
                     com.urbanmind.urbanmind_auth.dto.response.CommentResponseDTO dto = new com.urbanmind.urbanmind_auth.dto.response.CommentResponseDTO();
@@ -85,10 +101,10 @@ public class CommentController {
                     dto.setIsDeleted(comment.getIsDeleted());
                     dto.setCreatedAt(comment.getCreatedAt());
 
-                    User user = userRepository.findById(comment.getUserId()).orElse(null);
+                    UserSummary user = authors.get(comment.getUserId());
                     if (user != null) {
                         dto.setAuthorName(user.getFullName());
-                        dto.setAuthorUsername(user.getUsername());
+                        dto.setAuthorUsername(user.getDisplayUsername());
                         dto.setAuthorAvatar(user.getFullName().substring(0, 1).toUpperCase());
                     } else {
                         dto.setAuthorName("Anonymous");
@@ -103,18 +119,33 @@ public class CommentController {
         return ResponseEntity.ok(response);
     }
 
+    // Whole discussion in one round trip: paged root threads with nested replies
+    @GetMapping("/{problemId}/comments/threads")
+    public ResponseEntity<CommentThreadPageDTO> getThreads(
+            @PathVariable Long problemId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + DEFAULT_THREAD_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "" + DEFAULT_REPLY_DEPTH) int depth,
+            @RequestParam(defaultValue = "" + DEFAULT_REPLIES_PER_COMMENT) int replies) {
+
+        return ResponseEntity.ok(commentThreadService.getThreads(
+                problemId,
+                Math.max(page, 0),
+                Math.max(1, Math.min(size, MAX_THREAD_PAGE_SIZE)),
+                Math.max(0, Math.min(depth, MAX_REPLY_DEPTH)),
+                Math.max(0, Math.min(replies, MAX_REPLIES_PER_COMMENT))));
+    }
+
     @PutMapping("/comments/{commentId}")
     public ResponseEntity<Comment> editComment(
             @PathVariable Long commentId,
             @RequestBody CommentRequestDTO dto,
             Authentication authentication) {
 
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        Long userId = UserPrincipal.of(authentication).getId();
 
         return ResponseEntity.ok(
-                commentService.editComment(commentId, user.getId(), dto.getContent())
+                commentService.editComment(commentId, userId, dto.getContent())
         );
     }
 
@@ -123,11 +154,9 @@ public class CommentController {
             @PathVariable Long commentId,
             Authentication authentication) {
 
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        Long userId = UserPrincipal.of(authentication).getId();
 
-        commentService.deleteComment(commentId, user.getId());
+        commentService.deleteComment(commentId, userId);
         return ResponseEntity.noContent().build();
     }
 
@@ -0,0 +1,167 @@
+package com.urbanmind.urbanmind_auth.controller;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Pattern;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriUtils;
+
+import com.urbanmind.urbanmind_auth.service.MediaStorageService;
+import com.urbanmind.urbanmind_auth.utils.ByteRange;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Serves everything under /uploads/** straight from the storage root.
+ *
+ * Content-addressed files (sha256/ and thumbs/) never change, so they get their
+ * hash as a strong ETag and a one-year immutable Cache-Control: browsers and the
+ * gateway stop revalidating them entirely. Older uuid-named uploads get an ETag
+ * from size and mtime and a one-day max-age.
+ *
+ * Bodies are handed to Tomcat's sendfile when the connector supports it, so the
+ * kernel copies file pages to the socket; otherwise FileChannel.transferTo is
+ * used. Single byte ranges are honoured so video can seek without a full download.
+ */
+@RestController
+public class MediaController {
+
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final String MUTABLE = "public, max-age=86400";
+
+    private static final Pattern CONTENT_HASH = Pattern.compile("^[0-9a-f]{64}(-w\\d+)?$");
+
+    // Tomcat's sendfile hand-off (see org.apache.catalina.Globals)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    // Below this a plain write is cheaper than setting up sendfile
+    private static final long SENDFILE_MIN_BYTES = 48 * 1024;
+
+    private final MediaStorageService storageService;
+
+    public MediaController(MediaStorageService storageService) {
+        this.storageService = storageService;
+    }
+
+    @RequestMapping(value = "/uploads/**", method = { RequestMethod.GET, RequestMethod.HEAD })
+    public void serve(HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+        String url = UriUtils.decode(
+                request.getRequestURI().substring(request.getContextPath().length()),
+                StandardCharsets.UTF_8);
+
+        Path file = storageService.resolve(url);
+        if (file == null || !Files.isRegularFile(file)) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        // ===== VALIDATORS =====
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String stem = dot < 0 ? name : name.substring(0, dot);
+        boolean addressed = CONTENT_HASH.matcher(stem).matches();
+
+        long length = Files.size(file);
+        String etag = addressed
+                ? "\"" + stem + "\""
+                : "\"" + Long.toHexString(length) + "-" + Long.toHexString(Files.getLastModifiedTime(file).toMillis()) + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, addressed ? IMMUTABLE : MUTABLE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        response.setContentType(MediaTypeFactory.getMediaType(name)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM)
+                .toString());
+
+        if (etagMatches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        // ===== RANGE =====
+        long start = 0;
+        long count = length;
+
+        // If-Range with a stale validator means "send me the whole new thing"
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null || ifRange.equals(etag)) {
+            ByteRange range;
+            try {
+                range = ByteRange.parse(request.getHeader(HttpHeaders.RANGE), length);
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+
+            if (range != null) {
+                start = range.getStart();
+                count = range.getLength();
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE,
+                        "bytes " + range.getStart() + "-" + range.getEnd() + "/" + length);
+            }
+        }
+
+        response.setContentLengthLong(count);
+        if (RequestMethod.HEAD.name().equals(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        // ===== BODY =====
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED)) && count >= SENDFILE_MIN_BYTES) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,20 +1,39 @@
 package com.urbanmind.urbanmind_auth.controller;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import com.urbanmind.urbanmind_auth.config.UserPrincipal;
+import com.urbanmind.urbanmind_auth.dto.request.ProblemFilterDTO;
 import com.urbanmind.urbanmind_auth.dto.request.ProblemRequestDTO;
+import com.urbanmind.urbanmind_auth.dto.response.MapClusterDTO;
+import com.urbanmind.urbanmind_auth.dto.response.ProblemFeedResponseDTO;
+import com.urbanmind.urbanmind_auth.dto.response.ProblemPageResponseDTO;
 import com.urbanmind.urbanmind_auth.dto.response.ProblemResponseDTO;
+import com.urbanmind.urbanmind_auth.dto.response.TagCountDTO;
 import com.urbanmind.urbanmind_auth.entity.Problem;
-import com.urbanmind.urbanmind_auth.entity.User;
-import com.urbanmind.urbanmind_auth.exception.ResourceNotFoundException;
-import com.urbanmind.urbanmind_auth.repository.ProblemLikeRepository;
-import com.urbanmind.urbanmind_auth.repository.UserRepository;
+import com.urbanmind.urbanmind_auth.exception.ApiException;
+import com.urbanmind.urbanmind_auth.service.FeedResponseCache;
+import com.urbanmind.urbanmind_auth.service.ProblemGeoService;
+import com.urbanmind.urbanmind_auth.service.ProblemGeoService.NearbyProblem;
+import com.urbanmind.urbanmind_auth.service.ProblemHydrationService;
+import com.urbanmind.urbanmind_auth.service.ProblemMapService;
+import com.urbanmind.urbanmind_auth.service.ProblemRankingService;
+import com.urbanmind.urbanmind_auth.service.ProblemSearchService;
+import com.urbanmind.urbanmind_auth.service.ProblemSearchService.SearchHit;
 import com.urbanmind.urbanmind_auth.service.ProblemService;
+import com.urbanmind.urbanmind_auth.service.ProblemTagService;
+import com.urbanmind.urbanmind_auth.service.ProblemViewService;
+import com.urbanmind.urbanmind_auth.utils.FeedCursor;
 
 import jakarta.validation.Valid;
 
@@ -23,18 +42,52 @@ import jakarta.validation.Valid;
 
 public class ProblemController {
 
+    private static final int DEFAULT_FEED_PAGE_SIZE = 20;
+    private static final int MAX_FEED_PAGE_SIZE = 50;
+
+    private static final double MAX_NEARBY_RADIUS_KM = 50;
+    private static final int MAX_NEARBY_RESULTS = 100;
+
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
+    private static final int MAX_SEARCH_RESULTS = 50;
+
+    private static final int MAX_TAG_FACETS = 100;
+
+    private static final int DEFAULT_LIST_PAGE_SIZE = 20;
+    private static final int MAX_LIST_PAGE_SIZE = 100;
+    // OFFSET reads and discards every skipped row; past this, narrow the filters
+    private static final int MAX_LIST_OFFSET = 10_000;
+
     private final ProblemService problemService;
-    private final UserRepository userRepository;
-    private final ProblemLikeRepository likeRepository;
+    private final ProblemHydrationService hydrationService;
+    private final ProblemViewService viewService;
+    private final ProblemGeoService geoService;
+    private final ProblemMapService mapService;
+    private final ProblemSearchService searchService;
+    private final ProblemTagService tagService;
+    private final ProblemRankingService rankingService;
+    private final FeedResponseCache feedCache;
 
     public ProblemController(
             ProblemService problemService,
-            UserRepository userRepository,
-            ProblemLikeRepository likeRepository) {
+            ProblemHydrationService hydrationService,
+            ProblemViewService viewService,
+            ProblemGeoService geoService,
+            ProblemMapService mapService,
+            ProblemSearchService searchService,
+            ProblemTagService tagService,
+            ProblemRankingService rankingService,
+            FeedResponseCache feedCache) {
 
         this.problemService = problemService;
-        this.userRepository = userRepository;
-        this.likeRepository = likeRepository;
+        this.hydrationService = hydrationService;
+        this.viewService = viewService;
+        this.geoService = geoService;
+        this.mapService = mapService;
+        this.searchService = searchService;
+        this.tagService = tagService;
+        this.rankingService = rankingService;
+        this.feedCache = feedCache;
     }
 
     // ===============================
@@ -45,10 +98,10 @@ public class ProblemController {
             @Valid @RequestBody ProblemRequestDTO dto,
             Authentication authentication) {
 
-        User user = getUser(authentication);
+        Long userId = currentUserId(authentication);
 
         return new ResponseEntity<>(
-                problemService.createProblem(dto, user.getId()),
+                problemService.createProblem(dto, userId),
                 HttpStatus.CREATED
         );
     }
@@ -57,31 +110,224 @@ public class ProblemController {
     // HOME FEED (ALL PROBLEMS)
     // ===============================
     @GetMapping
-    public ResponseEntity<List<ProblemResponseDTO>> getAllProblems(
+    public ResponseEntity<byte[]> getAllProblems(
             Authentication authentication) {
 
-        User viewer = authentication != null ? getUser(authentication) : null;
+        Long viewerId = authentication != null ? currentUserId(authentication) : null;
 
-        List<ProblemResponseDTO> response = problemService.getAllProblems()
-                .stream()
-                .map(p -> mapToDTO(p, viewer))
-                .toList();
+        // Built once for everyone; the viewer's likes are patched into the bytes
+        byte[] body = feedCache.getAllProblems(viewerId,
+                () -> mapToDTOs(problemService.getAllProblems(), null));
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // ===============================
+    // HOME FEED (KEYSET PAGED, OPTIONAL TAG)
+    // ===============================
+    @GetMapping("/feed")
+    public ResponseEntity<byte[]> getFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_FEED_PAGE_SIZE) int size,
+            @RequestParam(required = false) String tag,
+            Authentication authentication) {
+
+        Long viewerId = authentication != null ? currentUserId(authentication) : null;
+        int pageSize = Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE));
+        String feedTag = tag == null || tag.isBlank() ? null : tag.trim();
+
+        // Decoded up front so a bad token fails before the cache, and
+        // re-encoded so equivalent tokens share one entry
+        FeedCursor after = FeedCursor.decode(cursor);
+        String cursorKey = after == null ? null : after.encode();
+
+        byte[] body = feedCache.getFeedPage(cursorKey, pageSize, feedTag, viewerId, () -> {
+            // Fetch one extra row to know whether another page exists
+            List<Problem> rows = feedTag == null
+                    ? problemService.getFeed(after, pageSize + 1)
+                    : problemService.getFeedByTag(feedTag, after, pageSize + 1);
+            boolean hasMore = rows.size() > pageSize;
+            List<Problem> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+            String nextCursor = null;
+            if (hasMore) {
+                Problem last = page.get(page.size() - 1);
+                nextCursor = new FeedCursor(last.getCreatedAt(), last.getId()).encode();
+            }
+
+            return new ProblemFeedResponseDTO(mapToDTOs(page, null), nextCursor, hasMore);
+        });
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // ===============================
+    // FILTERED LISTING (admins / volunteers)
+    // ===============================
+    @GetMapping("/list")
+    public ResponseEntity<ProblemPageResponseDTO> listProblems(
+            @ModelAttribute ProblemFilterDTO filter,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + DEFAULT_LIST_PAGE_SIZE) int size,
+            Authentication authentication) {
+
+        Long viewerId = authentication != null ? currentUserId(authentication) : null;
+        int pageSize = Math.max(1, Math.min(size, MAX_LIST_PAGE_SIZE));
+        if (page < 0 || (long) page * pageSize > MAX_LIST_OFFSET) {
+            throw new ApiException("page out of range; narrow the filters instead");
+        }
+
+        Page<Problem> result = problemService.listProblems(filter, page, pageSize);
+
+        return ResponseEntity.ok(new ProblemPageResponseDTO(
+                mapToDTOs(result.getContent(), viewerId),
+                page,
+                pageSize,
+                result.getTotalElements(),
+                result.getTotalPages(),
+                result.hasNext()));
+    }
+
+    // ===============================
+    // HOT (precomputed ranking)
+    // ===============================
+    @GetMapping("/hot")
+    public ResponseEntity<List<ProblemResponseDTO>> getHot(
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "" + DEFAULT_FEED_PAGE_SIZE) int size,
+            Authentication authentication) {
+
+        Long viewerId = authentication != null ? currentUserId(authentication) : null;
+        int pageSize = Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE));
+
+        // Ids come from the in-memory ranking; only this page is loaded
+        List<Long> ids = rankingService.getHot(offset, pageSize);
+
+        return ResponseEntity.ok(mapToDTOs(loadInOrder(ids), viewerId));
+    }
+
+    // ===============================
+    // NEARBY (closest first)
+    // ===============================
+    @GetMapping("/nearby")
+    public ResponseEntity<List<ProblemResponseDTO>> getNearby(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "5") double radiusKm,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "20") int limit,
+            Authentication authentication) {
+
+        if (lat < -90 || lat > 90 || lng < -180 || lng > 180) {
+            throw new ApiException("Invalid coordinates");
+        }
+        if (radiusKm <= 0 || radiusKm > MAX_NEARBY_RADIUS_KM) {
+            throw new ApiException("radiusKm must be between 0 and " + (int) MAX_NEARBY_RADIUS_KM);
+        }
+
+        Long viewerId = authentication != null ? currentUserId(authentication) : null;
+        int max = Math.max(1, Math.min(limit, MAX_NEARBY_RESULTS));
+
+        // Ids and distances come from memory; only the hits are loaded
+        List<NearbyProblem> hits = geoService.findNearby(lat, lng, radiusKm, status, category, max);
+        List<ProblemResponseDTO> response = mapToDTOs(
+                loadInOrder(hits.stream().map(NearbyProblem::getProblemId).toList()), viewerId);
+
+        Map<Long, Double> distances = hits.stream()
+                .collect(Collectors.toMap(NearbyProblem::getProblemId, NearbyProblem::getDistanceKm));
+        for (ProblemResponseDTO dto : response) {
+            dto.setDistanceKm(distances.get(dto.getId()));
+        }
+
+        return ResponseEntity.ok(response);
+    }
+
+    // ===============================
+    // SEARCH (best match first, type-ahead)
+    // ===============================
+    @GetMapping("/search")
+    public ResponseEntity<List<ProblemResponseDTO>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String severity,
+            @RequestParam(defaultValue = "20") int limit,
+            Authentication authentication) {
+
+        if (q.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new ApiException("q must be at most " + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+
+        Long viewerId = authentication != null ? currentUserId(authentication) : null;
+        int max = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+
+        List<SearchHit> hits = searchService.search(q, status, category, severity, max);
+        List<ProblemResponseDTO> response = mapToDTOs(
+                loadInOrder(hits.stream().map(SearchHit::getProblemId).toList()), viewerId);
 
         return ResponseEntity.ok(response);
     }
 
+    // ===============================
+    // TAG FACETS (most used first)
+    // ===============================
+    @GetMapping("/tags")
+    public ResponseEntity<List<TagCountDTO>> getTopTags(
+            @RequestParam(defaultValue = "20") int limit) {
+
+        int max = Math.max(1, Math.min(limit, MAX_TAG_FACETS));
+        return ResponseEntity.ok(tagService.getTopTags(max));
+    }
+
+    // ===============================
+    // MAP CLUSTERS (counts per cell, no rows)
+    // ===============================
+    @GetMapping("/map")
+    public ResponseEntity<List<MapClusterDTO>> getMapClusters(
+            @RequestParam double minLat,
+            @RequestParam double minLng,
+            @RequestParam double maxLat,
+            @RequestParam double maxLng,
+            @RequestParam int zoom) {
+
+        if (minLat < -90 || maxLat > 90 || minLat > maxLat
+                || minLng < -180 || minLng > 180 || maxLng < -180 || maxLng > 180) {
+            throw new ApiException("Invalid bounding box");
+        }
+        if (zoom < 0 || zoom > 22) {
+            throw new ApiException("zoom must be between 0 and 22");
+        }
+
+        return ResponseEntity.ok(mapService.getClusters(minLat, minLng, maxLat, maxLng, zoom));
+    }
+
     // ===============================
     // MY PROBLEMS
     // ===============================
     @GetMapping("/my")
     public List<ProblemResponseDTO> getMyProblems(Authentication authentication) {
 
-        User viewer = getUser(authentication);
+        Long viewerId = currentUserId(authentication);
 
-        return problemService.getProblemsByUser(viewer.getId())
-                .stream()
-                .map(p -> mapToDTO(p, viewer))
-                .toList();
+        return mapToDTOs(problemService.getProblemsByUser(viewerId), viewerId);
+    }
+
+    // ===============================
+    // PROBLEM DETAIL (counts a view)
+    // ===============================
+    @GetMapping("/{problemId}")
+    public ResponseEntity<ProblemResponseDTO> getProblem(
+            @PathVariable Long problemId,
+            Authentication authentication) {
+
+        Long viewerId = currentUserId(authentication);
+        Problem problem = problemService.getProblemById(problemId);
+
+        // In-memory only; persisted later by the counter flush
+        viewService.recordView(problemId, "u:" + viewerId);
+
+        return ResponseEntity.ok(mapToDTO(problem, viewerId));
     }
 
     // ===============================
@@ -92,8 +338,7 @@ public class ProblemController {
             @PathVariable Long problemId,
             Authentication authentication) {
 
-        User user = getUser(authentication);
-        problemService.likeProblem(problemId, user.getId());
+        problemService.likeProblem(problemId, currentUserId(authentication));
         return ResponseEntity.ok().build();
     }
 
@@ -105,8 +350,7 @@ public class ProblemController {
             @PathVariable Long problemId,
             Authentication authentication) {
 
-        User user = getUser(authentication);
-        problemService.unlikeProblem(problemId, user.getId());
+        problemService.unlikeProblem(problemId, currentUserId(authentication));
         return ResponseEntity.ok().build();
     }
 
@@ -127,9 +371,9 @@ public class ProblemController {
             @PathVariable Long problemId,
             Authentication authentication) {
         
-        User user = getUser(authentication);
-        Problem updated = problemService.assignProblem(problemId, user.getId());
-        return ResponseEntity.ok(mapToDTO(updated, user));
+        Long userId = currentUserId(authentication);
+        Problem updated = problemService.assignProblem(problemId, userId);
+        return ResponseEntity.ok(mapToDTO(updated, userId));
     }
 
     @PostMapping("/{problemId}/resolve")
@@ -137,20 +381,17 @@ public class ProblemController {
             @PathVariable Long problemId,
             Authentication authentication) {
         
-        User user = getUser(authentication);
-        Problem updated = problemService.resolveProblem(problemId, user.getId());
-        return ResponseEntity.ok(mapToDTO(updated, user));
+        Long userId = currentUserId(authentication);
+        Problem updated = problemService.resolveProblem(problemId, userId);
+        return ResponseEntity.ok(mapToDTO(updated, userId));
     }
 
     @GetMapping("/assigned")
     public ResponseEntity<List<ProblemResponseDTO>> getAssignedProblems(
             Authentication authentication) {
         
-        User user = getUser(authentication);
-        List<ProblemResponseDTO> response = problemService.getAssignedProblems(user.getId())
-                .stream()
-                .map(p -> mapToDTO(p, user))
-                .toList();
+        Long userId = currentUserId(authentication);
+        List<ProblemResponseDTO> response = mapToDTOs(problemService.getAssignedProblems(userId), userId);
 
         return ResponseEntity.ok(response);
     }
@@ -161,102 +402,43 @@ public class ProblemController {
             @RequestBody ProblemRequestDTO dto,
             Authentication authentication) {
         
-        User user = getUser(authentication);
+        Long userId = currentUserId(authentication);
         // Add check if user is authorized to update (e.g. is the assignee or owner)
         // For now, assuming anyone authenticated can try, service/logic might restrict but currently open.
         
         Problem updated = problemService.updateProblem(problemId, dto);
-        return ResponseEntity.ok(mapToDTO(updated, user));
+        return ResponseEntity.ok(mapToDTO(updated, userId));
+    }
+
+    // One IN query for hits ranked in memory, returned in the ranked order;
+    // rows deleted since indexing are skipped
+    private List<Problem> loadInOrder(List<Long> ids) {
+        Map<Long, Problem> rows = problemService.getProblemsByIds(ids)
+                .stream()
+                .collect(Collectors.toMap(Problem::getId, Function.identity()));
+
+        return ids.stream()
+                .map(rows::get)
+                .filter(p -> p != null)
+                .toList();
     }
 
     // =================================================
     // 🔥 SINGLE SOURCE OF TRUTH — DTO MAPPER
     // =================================================
-    private ProblemResponseDTO mapToDTO(Problem problem, User viewer) {
-
-        User author = userRepository.findById(problem.getCreatedByUserId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        boolean anonymous = Boolean.TRUE.equals(problem.getIsAnonymous());
-
-        String name = anonymous ? "Anonymous" : author.getFullName();
-
-        String username = anonymous
-                ? "anonymous"
-                : (author.getUsername() != null && !author.getUsername().isBlank()
-                    ? author.getUsername()
-                    : author.getEmail().split("@")[0]);
-
-        boolean isLiked = false;
-        if (viewer != null) {
-            isLiked = likeRepository.existsByProblemIdAndUserId(
-                    problem.getId(),
-                    viewer.getId()
-            );
-        }
-
-        String coverImageUrl = null;
-        if (problem.getMedia() != null && !problem.getMedia().isEmpty()) {
-            coverImageUrl = problem.getMedia().get(0).getMediaUrl();
-        }
-
-        ProblemResponseDTO dto = new ProblemResponseDTO();
-        dto.setId(problem.getId());
-        dto.setTitle(problem.getTitle());
-        dto.setDescription(problem.getDescription());
-        dto.setStatus(problem.getStatus());
-        dto.setAnonymous(anonymous);
-        dto.setCategory(problem.getCategory());
-        dto.setCreatedAt(problem.getCreatedAt());
-
-        dto.setAuthorName(name);
-        dto.setAuthorUsername(username);
-        dto.setAuthorAvatar(name.substring(0, 1).toUpperCase());
-
-        dto.setCity(problem.getCity());
-        dto.setState(problem.getState());
-
-        dto.setUpvoteCount(problem.getUpvoteCount());
-        dto.setCommentCount(problem.getCommentCount());
-        dto.setShareCount(problem.getShareCount());
-        dto.setCoverImageUrl(coverImageUrl);
-        
-        dto.setDonationRequired(problem.getDonationRequired());
-        dto.setRequiredAmount(problem.getRequiredAmount());
-
-        // 🔥 THIS CONTROLS PINK LIKE BUTTON
-        if (problem.getTags() != null && !problem.getTags().isEmpty()) {
-            dto.setTags(java.util.Arrays.asList(problem.getTags().split(",")));
-        } else {
-            dto.setTags(new java.util.ArrayList<>());
-        }
-
-
-
-        dto.setIsLiked(isLiked);
-        
-        dto.setProgress(problem.getProgress());
-        dto.setTeamCount(problem.getTeamCount());
-        dto.setAmountRaised(problem.getAmountRaised());
-        dto.setAssignedToUserId(problem.getAssignedToUserId());
-        
-        if (problem.getAssignedToUserId() != null) {
-             userRepository.findById(problem.getAssignedToUserId())
-                 .ifPresent(u -> dto.setAssignedToUserName(u.getFullName()));
-        }
+    private ProblemResponseDTO mapToDTO(Problem problem, Long viewerId) {
+        return hydrationService.toResponse(problem, viewerId);
+    }
 
-        return dto;
+    private List<ProblemResponseDTO> mapToDTOs(List<Problem> problems, Long viewerId) {
+        return hydrationService.toResponses(problems, viewerId);
     }
 
     // ===============================
     // AUTH HELPER
     // ===============================
-    private User getUser(Authentication authentication) {
-        if (authentication == null || authentication.getName() == null) {
-            throw new ResourceNotFoundException("Unauthenticated request");
-        }
-
-        return userRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    // Taken from the JWT claims; no User lookup
+    private Long currentUserId(Authentication authentication) {
+        return UserPrincipal.of(authentication).getId();
     }
 }
\ No newline at end of file
@@ -9,10 +9,8 @@ import org.springframework.web.bind.annotation.*;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import com.urbanmind.urbanmind_auth.config.UserPrincipal;
 import com.urbanmind.urbanmind_auth.entity.ProblemMedia;
-import com.urbanmind.urbanmind_auth.entity.User;
-import com.urbanmind.urbanmind_auth.exception.ResourceNotFoundException;
-import com.urbanmind.urbanmind_auth.repository.UserRepository;
 import com.urbanmind.urbanmind_auth.service.ProblemMediaService;
 
 @RestController
@@ -21,11 +19,9 @@ import com.urbanmind.urbanmind_auth.service.ProblemMediaService;
 public class ProblemMediaController {
 
     private final ProblemMediaService mediaService;
-    private final UserRepository userRepository;
 
-    public ProblemMediaController(ProblemMediaService mediaService, UserRepository userRepository) {
+    public ProblemMediaController(ProblemMediaService mediaService) {
         this.mediaService = mediaService;
-        this.userRepository = userRepository;
     }
 
     @PostMapping("/{problemId}/media")
@@ -34,12 +30,10 @@ public class ProblemMediaController {
             @RequestParam("file") MultipartFile file,
             Authentication authentication) {
 
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        Long userId = UserPrincipal.of(authentication).getId();
 
         return new ResponseEntity<>(
-                mediaService.addMedia(problemId, file, user.getId()),
+                mediaService.addMedia(problemId, file, userId),
                 HttpStatus.CREATED
         );
     }
@@ -0,0 +1,88 @@
+package com.urbanmind.urbanmind_auth.dto.request;
+
+import java.time.OffsetDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+// Query parameters of GET /api/problems/list; every field is optional
+public class ProblemFilterDTO {
+
+    private String status;
+    private String category;
+    // Case-insensitive (stored as "low", "Medium", "HIGH", ...)
+    private String severity;
+    private String city;
+    private String state;
+    private Boolean donationEnabled;
+    private String tag;
+
+    // Inclusive lower, exclusive upper bound on createdAt (ISO-8601)
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private OffsetDateTime createdFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private OffsetDateTime createdTo;
+
+    // recent (default), upvotes or severity
+    private String sort;
+
+	public String getStatus() {
+		return status;
+	}
+	public void setStatus(String status) {
+		this.status = status;
+	}
+	public String getCategory() {
+		return category;
+	}
+	public void setCategory(String category) {
+		this.category = category;
+	}
+	public String getSeverity() {
+		return severity;
+	}
+	public void setSeverity(String severity) {
+		this.severity = severity;
+	}
+	public String getCity() {
+		return city;
+	}
+	public void setCity(String city) {
+		this.city = city;
+	}
+	public String getState() {
+		return state;
+	}
+	public void setState(String state) {
+		this.state = state;
+	}
+	public Boolean getDonationEnabled() {
+		return donationEnabled;
+	}
+	public void setDonationEnabled(Boolean donationEnabled) {
+		this.donationEnabled = donationEnabled;
+	}
+	public String getTag() {
+		return tag;
+	}
+	public void setTag(String tag) {
+		this.tag = tag;
+	}
+	public OffsetDateTime getCreatedFrom() {
+		return createdFrom;
+	}
+	public void setCreatedFrom(OffsetDateTime createdFrom) {
+		this.createdFrom = createdFrom;
+	}
+	public OffsetDateTime getCreatedTo() {
+		return createdTo;
+	}
+	public void setCreatedTo(OffsetDateTime createdTo) {
+		this.createdTo = createdTo;
+	}
+	public String getSort() {
+		return sort;
+	}
+	public void setSort(String sort) {
+		this.sort = sort;
+	}
+}
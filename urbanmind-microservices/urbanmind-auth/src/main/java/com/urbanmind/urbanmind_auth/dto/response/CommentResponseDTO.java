@@ -1,6 +1,7 @@
 package com.urbanmind.urbanmind_auth.dto.response;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 
 public class CommentResponseDTO {
     private Long id;
@@ -17,6 +18,11 @@ public class CommentResponseDTO {
     private String authorUsername;
     private String authorAvatar;
 
+    // Thread view only: the replies included (up to the fan-out limit) and
+    // how many live direct replies exist in total
+    private List<CommentResponseDTO> replies;
+    private Integer replyCount;
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -105,4 +111,20 @@ public class CommentResponseDTO {
     public void setAuthorAvatar(String authorAvatar) {
         this.authorAvatar = authorAvatar;
     }
+
+    public List<CommentResponseDTO> getReplies() {
+        return replies;
+    }
+
+    public void setReplies(List<CommentResponseDTO> replies) {
+        this.replies = replies;
+    }
+
+    public Integer getReplyCount() {
+        return replyCount;
+    }
+
+    public void setReplyCount(Integer replyCount) {
+        this.replyCount = replyCount;
+    }
 }
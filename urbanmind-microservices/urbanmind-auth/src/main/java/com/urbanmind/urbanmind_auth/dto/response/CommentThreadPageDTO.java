@@ -0,0 +1,39 @@
+package com.urbanmind.urbanmind_auth.dto.response;
+
+import java.util.List;
+
+public class CommentThreadPageDTO {
+
+    // Root comments of this page, newest first, each with its reply tree
+    private List<CommentResponseDTO> threads;
+
+    private int page;
+    private int size;
+    private int totalThreads;
+    private boolean hasMore;
+
+    public CommentThreadPageDTO() {}
+
+    public CommentThreadPageDTO(List<CommentResponseDTO> threads, int page, int size, int totalThreads, boolean hasMore) {
+        this.threads = threads;
+        this.page = page;
+        this.size = size;
+        this.totalThreads = totalThreads;
+        this.hasMore = hasMore;
+    }
+
+    public List<CommentResponseDTO> getThreads() { return threads; }
+    public void setThreads(List<CommentResponseDTO> threads) { this.threads = threads; }
+
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public int getTotalThreads() { return totalThreads; }
+    public void setTotalThreads(int totalThreads) { this.totalThreads = totalThreads; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -0,0 +1,46 @@
+package com.urbanmind.urbanmind_auth.dto.response;
+
+import java.util.Map;
+
+public class MapClusterDTO {
+
+    private String geohash;
+
+    // Mean position of the problems in the cell, where the marker is drawn
+    private double latitude;
+    private double longitude;
+
+    private int count;
+    private Map<String, Integer> byStatus;
+    private Map<String, Integer> bySeverity;
+
+    public MapClusterDTO() {}
+
+    public MapClusterDTO(String geohash, double latitude, double longitude, int count,
+                         Map<String, Integer> byStatus, Map<String, Integer> bySeverity) {
+        this.geohash = geohash;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.count = count;
+        this.byStatus = byStatus;
+        this.bySeverity = bySeverity;
+    }
+
+    public String getGeohash() { return geohash; }
+    public void setGeohash(String geohash) { this.geohash = geohash; }
+
+    public double getLatitude() { return latitude; }
+    public void setLatitude(double latitude) { this.latitude = latitude; }
+
+    public double getLongitude() { return longitude; }
+    public void setLongitude(double longitude) { this.longitude = longitude; }
+
+    public int getCount() { return count; }
+    public void setCount(int count) { this.count = count; }
+
+    public Map<String, Integer> getByStatus() { return byStatus; }
+    public void setByStatus(Map<String, Integer> byStatus) { this.byStatus = byStatus; }
+
+    public Map<String, Integer> getBySeverity() { return bySeverity; }
+    public void setBySeverity(Map<String, Integer> bySeverity) { this.bySeverity = bySeverity; }
+}
@@ -0,0 +1,29 @@
+package com.urbanmind.urbanmind_auth.dto.response;
+
+import java.util.List;
+
+public class ProblemFeedResponseDTO {
+
+    private List<ProblemResponseDTO> items;
+
+    // Opaque token for the next page, null when there is nothing more
+    private String nextCursor;
+    private boolean hasMore;
+
+    public ProblemFeedResponseDTO() {}
+
+    public ProblemFeedResponseDTO(List<ProblemResponseDTO> items, String nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<ProblemResponseDTO> getItems() { return items; }
+    public void setItems(List<ProblemResponseDTO> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -0,0 +1,45 @@
+package com.urbanmind.urbanmind_auth.dto.response;
+
+import java.util.List;
+
+public class ProblemPageResponseDTO {
+
+    private List<ProblemResponseDTO> items;
+
+    // Zero-based
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+    private boolean hasNext;
+
+    public ProblemPageResponseDTO() {}
+
+    public ProblemPageResponseDTO(List<ProblemResponseDTO> items, int page, int size,
+                                  long totalElements, int totalPages, boolean hasNext) {
+        this.items = items;
+        this.page = page;
+        this.size = size;
+        this.totalElements = totalElements;
+        this.totalPages = totalPages;
+        this.hasNext = hasNext;
+    }
+
+    public List<ProblemResponseDTO> getItems() { return items; }
+    public void setItems(List<ProblemResponseDTO> items) { this.items = items; }
+
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public long getTotalElements() { return totalElements; }
+    public void setTotalElements(long totalElements) { this.totalElements = totalElements; }
+
+    public int getTotalPages() { return totalPages; }
+    public void setTotalPages(int totalPages) { this.totalPages = totalPages; }
+
+    public boolean isHasNext() { return hasNext; }
+    public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+}
@@ -24,6 +24,17 @@ public class ProblemResponseDTO {
     public Integer getShareCount() { return shareCount; }
     public void setShareCount(Integer shareCount) { this.shareCount = shareCount; }
 
+    private Integer viewCount;
+
+    // Only set by the nearby search
+    private Double distanceKm;
+
+    public Double getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(Double distanceKm) { this.distanceKm = distanceKm; }
+
+    public Integer getViewCount() { return viewCount; }
+    public void setViewCount(Integer viewCount) { this.viewCount = viewCount; }
+
     private Boolean donationRequired;
     private java.math.BigDecimal requiredAmount;
 
@@ -0,0 +1,20 @@
+package com.urbanmind.urbanmind_auth.dto.response;
+
+public class TagCountDTO {
+
+    private String name;
+    private int count;
+
+    public TagCountDTO() {}
+
+    public TagCountDTO(String name, int count) {
+        this.name = name;
+        this.count = count;
+    }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public int getCount() { return count; }
+    public void setCount(int count) { this.count = count; }
+}
@@ -0,0 +1,30 @@
+package com.urbanmind.urbanmind_auth.dto.response;
+
+/**
+ * The handful of user fields needed to render an author or assignee.
+ * Immutable so cached instances can be shared across requests.
+ */
+public final class UserSummary {
+
+    private final Long id;
+    private final String fullName;
+    private final String username;
+    private final String emailPrefix;
+
+    public UserSummary(Long id, String fullName, String username, String emailPrefix) {
+        this.id = id;
+        this.fullName = fullName;
+        this.username = username;
+        this.emailPrefix = emailPrefix;
+    }
+
+    public Long getId() { return id; }
+    public String getFullName() { return fullName; }
+    public String getUsername() { return username; }
+    public String getEmailPrefix() { return emailPrefix; }
+
+    // Username if set, otherwise the part of the email before '@'
+    public String getDisplayUsername() {
+        return username != null && !username.isBlank() ? username : emailPrefix;
+    }
+}
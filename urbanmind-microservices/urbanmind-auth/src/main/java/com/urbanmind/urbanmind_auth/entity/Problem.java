@@ -10,13 +10,34 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
 
 @Entity
-@Table(name = "problems")
+@Table(
+    name = "problems",
+    indexes = {
+        @Index(
+            name = "ix_problems_created_at_id",
+            columnList = "created_at DESC, id DESC"
+        ),
+        @Index(
+            name = "ix_problems_updated_at",
+            columnList = "updated_at"
+        ),
+        @Index(
+            name = "ix_problems_status_created_at",
+            columnList = "status, created_at DESC, id DESC"
+        ),
+        @Index(
+            name = "ix_problems_upvote_count",
+            columnList = "upvote_count DESC, id DESC"
+        )
+    }
+)
 public class Problem {
 
     @Id
@@ -5,7 +5,13 @@ import java.time.OffsetDateTime;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "problem_likes")
+@Table(
+    name = "problem_likes",
+    uniqueConstraints = @UniqueConstraint(
+        name = "ux_problem_likes_problem_user",
+        columnNames = {"problem_id", "user_id"}
+    )
+)
 public class ProblemLike {
 
     @Id
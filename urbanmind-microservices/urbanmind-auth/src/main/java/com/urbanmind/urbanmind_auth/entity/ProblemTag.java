@@ -0,0 +1,52 @@
+package com.urbanmind.urbanmind_auth.entity;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(
+    name = "problem_tags",
+    uniqueConstraints = @UniqueConstraint(
+        name = "ux_problem_tags_problem_tag",
+        columnNames = {"problem_id", "tag_id"}
+    ),
+    indexes = @Index(
+        name = "ix_problem_tags_tag_problem",
+        columnList = "tag_id, problem_id"
+    )
+)
+public class ProblemTag {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "problem_id", nullable = false)
+    private Long problemId;
+
+    @Column(name = "tag_id", nullable = false)
+    private Long tagId;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getProblemId() {
+        return problemId;
+    }
+
+    public void setProblemId(Long problemId) {
+        this.problemId = problemId;
+    }
+
+    public Long getTagId() {
+        return tagId;
+    }
+
+    public void setTagId(Long tagId) {
+        this.tagId = tagId;
+    }
+}
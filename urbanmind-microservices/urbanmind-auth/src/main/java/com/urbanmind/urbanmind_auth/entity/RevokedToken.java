@@ -5,7 +5,11 @@ import java.time.OffsetDateTime;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "revoked_tokens", schema = "urbanmind")
+@Table(
+        name = "revoked_tokens",
+        schema = "urbanmind",
+        indexes = @Index(name = "ix_revoked_tokens_revoked_at", columnList = "revoked_at")
+)
 public class RevokedToken {
 
     @Id
@@ -0,0 +1,54 @@
+package com.urbanmind.urbanmind_auth.entity;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(
+    name = "tags",
+    uniqueConstraints = @UniqueConstraint(
+        name = "ux_tags_name",
+        columnNames = {"name"}
+    ),
+    indexes = @Index(
+        name = "ix_tags_problem_count",
+        columnList = "problem_count DESC"
+    )
+)
+public class Tag {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Normalised form, see ProblemTagService.normalize
+    @Column(nullable = false, length = 50)
+    private String name;
+
+    // Problems currently carrying this tag; moved in the same transaction as problem_tags
+    @Column(name = "problem_count", nullable = false)
+    private Integer problemCount = 0;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getProblemCount() {
+        return problemCount;
+    }
+
+    public void setProblemCount(Integer problemCount) {
+        this.problemCount = problemCount;
+    }
+}
@@ -0,0 +1,25 @@
+package com.urbanmind.urbanmind_auth.event;
+
+/**
+ * A like, unlike or comment that moved one of a problem's counters without
+ * touching the problem row itself (so no ProblemChangedEvent). Published
+ * inside the writing transaction; listeners run after commit.
+ */
+public final class ProblemActivityEvent {
+
+    public enum Kind { LIKED, UNLIKED, COMMENTS_CHANGED }
+
+    private final Long problemId;
+    private final Long userId;
+    private final Kind kind;
+
+    public ProblemActivityEvent(Long problemId, Long userId, Kind kind) {
+        this.problemId = problemId;
+        this.userId = userId;
+        this.kind = kind;
+    }
+
+    public Long getProblemId() { return problemId; }
+    public Long getUserId() { return userId; }
+    public Kind getKind() { return kind; }
+}
@@ -0,0 +1,88 @@
+package com.urbanmind.urbanmind_auth.event;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.urbanmind.urbanmind_auth.repository.ProblemRepository;
+import com.urbanmind.urbanmind_auth.repository.ProblemRepository.IndexRow;
+
+/**
+ * Feeds the in-memory problem indexes from the database. Local writes arrive
+ * as ProblemChangedEvent straight from ProblemServiceImpl; this component
+ * replays the whole table once at startup and then polls updated_at, with
+ * an overlap for late commits and clock skew, so changes made on other nodes
+ * show up within one poll interval. Every row is republished as the same
+ * event, so listeners only implement one idempotent upsert.
+ */
+@Component
+public class ProblemChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(ProblemChangeFeed.class);
+
+    private static final int LOAD_PAGE_SIZE = 10_000;
+    private static final Duration POLL_OVERLAP = Duration.ofMinutes(1);
+
+    private final ProblemRepository problemRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile OffsetDateTime lastPoll;
+
+    public ProblemChangeFeed(ProblemRepository problemRepository, ApplicationEventPublisher eventPublisher) {
+        this.problemRepository = problemRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+
+        long afterId = 0;
+        long total = 0;
+        List<IndexRow> page;
+        do {
+            page = problemRepository.findIndexRowsAfterId(afterId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            for (IndexRow row : page) {
+                eventPublisher.publishEvent(toEvent(row));
+                afterId = row.getId();
+            }
+            total += page.size();
+        } while (page.size() == LOAD_PAGE_SIZE);
+        lastPoll = now;
+
+        log.info("Replayed {} problems into the in-memory indexes", total);
+    }
+
+    @Scheduled(
+            fixedDelayString = "${urbanmind.geo.refresh-ms:10000}",
+            initialDelayString = "${urbanmind.geo.refresh-ms:10000}")
+    public void poll() {
+        OffsetDateTime since = lastPoll;
+        if (since == null) {
+            return;
+        }
+
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        for (IndexRow row : problemRepository.findIndexRowsUpdatedSince(since.minus(POLL_OVERLAP))) {
+            eventPublisher.publishEvent(toEvent(row));
+        }
+        lastPoll = now;
+    }
+
+    private static ProblemChangedEvent toEvent(IndexRow row) {
+        return new ProblemChangedEvent(row.getId(), row.getLatitude(), row.getLongitude(),
+                row.getStatus(), row.getCategory(), row.getSeverity(),
+                row.getTitle(), row.getDescription(), row.getTags(), row.getCity(),
+                row.getUpdatedAt(), true);
+    }
+}
@@ -0,0 +1,82 @@
+package com.urbanmind.urbanmind_auth.event;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+import com.urbanmind.urbanmind_auth.entity.Problem;
+
+/**
+ * Snapshot of the fields the in-memory problem indexes (geo, map, search)
+ * care about, published whenever a problem is created or changed. Listeners
+ * run after commit, so they only ever see state that is actually in the
+ * database.
+ *
+ * polled marks events republished by ProblemChangeFeed, which resends every
+ * recently updated row on each poll; updatedAt lets a listener tell a real
+ * change from a repeat of one it has already seen.
+ */
+public final class ProblemChangedEvent {
+
+    private final Long problemId;
+    private final Double latitude;
+    private final Double longitude;
+    private final String status;
+    private final String category;
+    private final String severity;
+    private final String title;
+    private final String description;
+    private final String tags;
+    private final String city;
+    private final OffsetDateTime updatedAt;
+    private final boolean polled;
+
+    public ProblemChangedEvent(Long problemId, BigDecimal latitude, BigDecimal longitude,
+                               String status, String category, String severity,
+                               String title, String description, String tags, String city) {
+        this(problemId, latitude, longitude, status, category, severity, title, description, tags, city,
+                null, false);
+    }
+
+    public ProblemChangedEvent(Long problemId, BigDecimal latitude, BigDecimal longitude,
+                               String status, String category, String severity,
+                               String title, String description, String tags, String city,
+                               OffsetDateTime updatedAt, boolean polled) {
+        this.problemId = problemId;
+        this.latitude = latitude == null ? null : latitude.doubleValue();
+        this.longitude = longitude == null ? null : longitude.doubleValue();
+        this.status = status;
+        this.category = category;
+        this.severity = severity;
+        this.title = title;
+        this.description = description;
+        this.tags = tags;
+        this.city = city;
+        this.updatedAt = updatedAt;
+        this.polled = polled;
+    }
+
+    public static ProblemChangedEvent of(Problem p) {
+        return new ProblemChangedEvent(p.getId(), p.getLatitude(), p.getLongitude(),
+                p.getStatus(), p.getCategory(), p.getSeverity(),
+                p.getTitle(), p.getDescription(), p.getTags(), p.getCity(),
+                p.getUpdatedAt(), false);
+    }
+
+    public Long getProblemId() { return problemId; }
+    public Double getLatitude() { return latitude; }
+    public Double getLongitude() { return longitude; }
+    public String getStatus() { return status; }
+    public String getCategory() { return category; }
+    public String getSeverity() { return severity; }
+    public String getTitle() { return title; }
+    public String getDescription() { return description; }
+    public String getTags() { return tags; }
+    public String getCity() { return city; }
+    public OffsetDateTime getUpdatedAt() { return updatedAt; }
+    public boolean isPolled() { return polled; }
+
+    // Problems saved without a location default to 0,0; treat that as "unknown"
+    public boolean hasLocation() {
+        return latitude != null && longitude != null && !(latitude == 0.0 && longitude == 0.0);
+    }
+}
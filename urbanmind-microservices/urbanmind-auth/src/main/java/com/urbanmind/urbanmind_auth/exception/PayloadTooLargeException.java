@@ -0,0 +1,9 @@
+package com.urbanmind.urbanmind_auth.exception;
+
+// An upload over the size limit; mapped to 413 instead of ApiException's 400
+@SuppressWarnings("serial")
+public class PayloadTooLargeException extends ApiException {
+    public PayloadTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -1,8 +1,12 @@
 package com.urbanmind.urbanmind_auth.repository;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.urbanmind.urbanmind_auth.entity.Comment;
 
@@ -13,4 +17,25 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     // Replies for a comment (not deleted)
     List<Comment> findByParentCommentIdAndIsDeletedFalse(Long parentCommentId);
+
+    // Every live comment of a problem in thread order, for building the reply
+    // tree in memory (served by ix_comments_problem_created_at)
+    @Query("""
+    SELECT c FROM Comment c
+    WHERE c.problemId = :problemId
+      AND c.isDeleted = false
+    ORDER BY c.createdAt ASC, c.id ASC
+    """)
+    List<Comment> findLiveByProblemId(@Param("problemId") Long problemId);
+
+    // Soft delete that only one caller can win; returns 0 if already deleted
+    @Modifying
+    @Query("""
+    UPDATE Comment c
+    SET c.isDeleted = true,
+        c.updatedAt = :now
+    WHERE c.id = :id
+      AND c.isDeleted = false
+    """)
+    int softDelete(@Param("id") Long id, @Param("now") OffsetDateTime now);
 }
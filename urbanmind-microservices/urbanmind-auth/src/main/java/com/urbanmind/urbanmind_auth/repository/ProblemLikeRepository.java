@@ -1,10 +1,40 @@
 package com.urbanmind.urbanmind_auth.repository;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import com.urbanmind.urbanmind_auth.entity.ProblemLike;
 
 public interface ProblemLikeRepository extends JpaRepository<ProblemLike, Long> {
     Boolean existsByProblemIdAndUserId(Long problemId, Long userId);
     void deleteByProblemIdAndUserId(Long problemId, Long userId);
-    
+
+    // Relies on ux_problem_likes_problem_user; returns 1 if inserted, 0 if already liked
+    @Modifying
+    @Query(value = """
+    INSERT INTO urbanmind.problem_likes (problem_id, user_id, liked_at)
+    VALUES (:problemId, :userId, CURRENT_TIMESTAMP)
+    ON CONFLICT DO NOTHING
+    """, nativeQuery = true)
+    int insertIfAbsent(@Param("problemId") Long problemId, @Param("userId") Long userId);
+
+    // Returns 1 if a like was removed, 0 if there was none
+    @Modifying
+    @Query("DELETE FROM ProblemLike l WHERE l.problemId = :problemId AND l.userId = :userId")
+    int deleteLike(@Param("problemId") Long problemId, @Param("userId") Long userId);
+
+    // Which of these problems has the viewer liked (one IN query per page)
+    @Query("""
+    SELECT l.problemId FROM ProblemLike l
+    WHERE l.userId = :userId
+      AND l.problemId IN :problemIds
+    """)
+    List<Long> findLikedProblemIds(
+            @Param("userId") Long userId,
+            @Param("problemIds") Collection<Long> problemIds);
 }
@@ -1,12 +1,34 @@
 package com.urbanmind.urbanmind_auth.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.urbanmind.urbanmind_auth.entity.ProblemMedia;
 
 public interface ProblemMediaRepository extends JpaRepository<ProblemMedia, Long> {
 
     List<ProblemMedia> findByProblemIdOrderByCreatedAtAsc(Long problemId);
+
+    // First uploaded media of each problem, used as the feed cover image
+    @Query("""
+    SELECT m FROM ProblemMedia m
+    WHERE m.problemId IN :problemIds
+      AND m.id = (
+          SELECT MIN(m2.id) FROM ProblemMedia m2
+          WHERE m2.problemId = m.problemId
+      )
+    """)
+    List<ProblemMedia> findFirstMediaByProblemIds(@Param("problemIds") Collection<Long> problemIds);
+
+    // Called by the thumbnail workers outside any request transaction
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProblemMedia m SET m.thumbnailUrl = :url WHERE m.id = :id")
+    int setThumbnailUrl(@Param("id") Long id, @Param("url") String url);
 }
@@ -1,16 +1,70 @@
 package com.urbanmind.urbanmind_auth.repository;
 
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.urbanmind.urbanmind_auth.entity.Problem;
 
-public interface ProblemRepository extends JpaRepository<Problem, Long> {
+// Filtered listing goes through JpaSpecificationExecutor with ProblemSpecifications
+public interface ProblemRepository extends JpaRepository<Problem, Long>, JpaSpecificationExecutor<Problem> {
 
     // For admin: view all reported problems
     List<Problem> findAllByOrderByCreatedAtDesc();
 
+    // Home feed, first page (served by ix_problems_created_at_id)
+    @Query("""
+    SELECT p FROM Problem p
+    ORDER BY p.createdAt DESC, p.id DESC
+    """)
+    List<Problem> findFeedFirstPage(Pageable pageable);
+
+    // Home feed, every page after the cursor (createdAt, id). The leading
+    // createdAt <= bound is redundant but sargable, so Postgres starts the
+    // ix_problems_created_at_id scan at the cursor instead of filtering
+    // from the top; page cost stays flat with depth.
+    @Query("""
+    SELECT p FROM Problem p
+    WHERE p.createdAt <= :createdAt
+      AND (p.createdAt < :createdAt
+       OR (p.createdAt = :createdAt AND p.id < :id))
+    ORDER BY p.createdAt DESC, p.id DESC
+    """)
+    List<Problem> findFeedAfter(
+            @Param("createdAt") OffsetDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    // Home feed for one tag: the tag's rows come from ix_problem_tags_tag_problem
+    @Query("""
+    SELECT p FROM Problem p
+    WHERE p.id IN (SELECT pt.problemId FROM ProblemTag pt WHERE pt.tagId = :tagId)
+    ORDER BY p.createdAt DESC, p.id DESC
+    """)
+    List<Problem> findTagFeedFirstPage(@Param("tagId") Long tagId, Pageable pageable);
+
+    // Same seek bound as findFeedAfter
+    @Query("""
+    SELECT p FROM Problem p
+    WHERE p.id IN (SELECT pt.problemId FROM ProblemTag pt WHERE pt.tagId = :tagId)
+      AND p.createdAt <= :createdAt
+      AND (p.createdAt < :createdAt
+       OR (p.createdAt = :createdAt AND p.id < :id))
+    ORDER BY p.createdAt DESC, p.id DESC
+    """)
+    List<Problem> findTagFeedAfter(
+            @Param("tagId") Long tagId,
+            @Param("createdAt") OffsetDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
     // For user: view own reported problems
     List<Problem> findByCreatedByUserIdOrderByCreatedAtDesc(Long userId);
 
@@ -19,4 +73,83 @@ public interface ProblemRepository extends JpaRepository<Problem, Long> {
 
     // For volunteer: view assigned problems
     List<Problem> findByAssignedToUserIdOrderByCreatedAtDesc(Long userId);
+
+    // ===============================
+    // IN-MEMORY INDEX FEEDS
+    // Only the columns the geo/map/search indexes need, so a full load
+    // never materialises whole entities.
+    // ===============================
+    interface IndexRow {
+        Long getId();
+        BigDecimal getLatitude();
+        BigDecimal getLongitude();
+        String getStatus();
+        String getCategory();
+        String getSeverity();
+        String getTitle();
+        String getDescription();
+        String getTags();
+        String getCity();
+        OffsetDateTime getUpdatedAt();
+    }
+
+    // Startup load, paged by primary key
+    @Query("""
+    SELECT p.id AS id, p.latitude AS latitude, p.longitude AS longitude,
+           p.status AS status, p.category AS category, p.severity AS severity,
+           p.title AS title, p.description AS description, p.tags AS tags, p.city AS city,
+           p.updatedAt AS updatedAt
+    FROM Problem p
+    WHERE p.id > :afterId
+    ORDER BY p.id
+    """)
+    List<IndexRow> findIndexRowsAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Changes made by other nodes since the last poll (served by ix_problems_updated_at)
+    @Query("""
+    SELECT p.id AS id, p.latitude AS latitude, p.longitude AS longitude,
+           p.status AS status, p.category AS category, p.severity AS severity,
+           p.title AS title, p.description AS description, p.tags AS tags, p.city AS city,
+           p.updatedAt AS updatedAt
+    FROM Problem p
+    WHERE p.updatedAt > :since
+    """)
+    List<IndexRow> findIndexRowsUpdatedSince(@Param("since") OffsetDateTime since);
+
+    // ===============================
+    // HOT RANKING
+    // Engagement columns of recent problems, rescored every few seconds
+    // by ProblemRankingServiceImpl (range on ix_problems_created_at_id).
+    // ===============================
+    interface HotRow {
+        Long getId();
+        OffsetDateTime getCreatedAt();
+        Integer getUpvoteCount();
+        Integer getCommentCount();
+        Integer getShareCount();
+        String getSeverity();
+    }
+
+    @Query("""
+    SELECT p.id AS id, p.createdAt AS createdAt, p.upvoteCount AS upvoteCount,
+           p.commentCount AS commentCount, p.shareCount AS shareCount, p.severity AS severity
+    FROM Problem p
+    WHERE p.createdAt > :since
+    """)
+    List<HotRow> findHotCandidates(@Param("since") OffsetDateTime since);
+
+    // ===============================
+    // ATOMIC COUNTERS
+    // Single UPDATE per call so concurrent comments never lose increments.
+    // Each returns the number of rows touched (0 = no such problem, or the
+    // counter was already at zero for a decrement). Likes, shares and views
+    // go through ProblemCounterService instead.
+    // ===============================
+    @Modifying
+    @Query("UPDATE Problem p SET p.commentCount = COALESCE(p.commentCount, 0) + 1 WHERE p.id = :id")
+    int incrementCommentCount(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Problem p SET p.commentCount = p.commentCount - 1 WHERE p.id = :id AND p.commentCount > 0")
+    int decrementCommentCount(@Param("id") Long id);
 }
@@ -0,0 +1,109 @@
+package com.urbanmind.urbanmind_auth.repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.urbanmind.urbanmind_auth.entity.Problem;
+import com.urbanmind.urbanmind_auth.entity.ProblemTag;
+
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+/**
+ * Building blocks for the filtered problem listing. Each filter is a
+ * Specification that is skipped (null) when its parameter is absent, so
+ * callers can and() them together unconditionally.
+ *
+ * The equality filters and the recency order line up with
+ * ix_problems_status_created_at / ix_problems_created_at_id; the tag filter
+ * is a semi-join on ix_problem_tags_tag_problem. City, state and severity
+ * are compared lower-cased, which is what ix_problems_lower_city_state and
+ * ix_problems_lower_severity_status index (db/007).
+ */
+public final class ProblemSpecifications {
+
+    public enum SortOrder { RECENT, UPVOTES, SEVERITY }
+
+    private ProblemSpecifications() {}
+
+    public static Specification<Problem> hasStatus(String status) {
+        return isBlank(status) ? null : (root, q, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Problem> hasCategory(String category) {
+        return isBlank(category) ? null : (root, q, cb) -> cb.equal(root.get("category"), category);
+    }
+
+    public static Specification<Problem> hasSeverity(String severity) {
+        return isBlank(severity) ? null
+                : (root, q, cb) -> cb.equal(cb.lower(root.get("severity")), severity.trim().toLowerCase(Locale.ROOT));
+    }
+
+    public static Specification<Problem> inCity(String city) {
+        return isBlank(city) ? null
+                : (root, q, cb) -> cb.equal(cb.lower(root.get("city")), city.trim().toLowerCase(Locale.ROOT));
+    }
+
+    public static Specification<Problem> inState(String state) {
+        return isBlank(state) ? null
+                : (root, q, cb) -> cb.equal(cb.lower(root.get("state")), state.trim().toLowerCase(Locale.ROOT));
+    }
+
+    public static Specification<Problem> donationEnabled(Boolean enabled) {
+        return enabled == null ? null : (root, q, cb) -> cb.equal(root.get("isDonationEnabled"), enabled);
+    }
+
+    public static Specification<Problem> createdFrom(OffsetDateTime from) {
+        return from == null ? null : (root, q, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+    }
+
+    public static Specification<Problem> createdBefore(OffsetDateTime to) {
+        return to == null ? null : (root, q, cb) -> cb.lessThan(root.get("createdAt"), to);
+    }
+
+    // tagId comes from ProblemTagService.findTagId
+    public static Specification<Problem> hasTag(Long tagId) {
+        return tagId == null ? null : (root, q, cb) -> {
+            Subquery<Long> tagged = q.subquery(Long.class);
+            Root<ProblemTag> pt = tagged.from(ProblemTag.class);
+            tagged.select(pt.get("problemId")).where(cb.equal(pt.get("tagId"), tagId));
+            return root.get("id").in(tagged);
+        };
+    }
+
+    /**
+     * Applies the ORDER BY (with id as tie-breaker so pages are stable) and
+     * no predicate. Spring drops the ordering again for the count query.
+     * Severity is ranked with a CASE because the stored labels do not sort
+     * alphabetically.
+     */
+    public static Specification<Problem> orderedBy(SortOrder sort) {
+        return (root, q, cb) -> {
+            Order byId = cb.desc(root.get("id"));
+            switch (sort) {
+                case UPVOTES -> q.orderBy(cb.desc(root.get("upvoteCount")), byId);
+                case SEVERITY -> {
+                    Expression<String> severity = cb.lower(root.get("severity"));
+                    Expression<Integer> rank = cb.<Integer>selectCase()
+                            .when(cb.equal(severity, "critical"), 4)
+                            .when(cb.equal(severity, "high"), 3)
+                            .when(cb.equal(severity, "medium"), 2)
+                            .when(cb.equal(severity, "low"), 1)
+                            .otherwise(0);
+                    q.orderBy(List.of(cb.desc(rank), cb.desc(root.get("createdAt")), byId));
+                }
+                default -> q.orderBy(cb.desc(root.get("createdAt")), byId);
+            }
+            return null;
+        };
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,45 @@
+package com.urbanmind.urbanmind_auth.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.urbanmind.urbanmind_auth.entity.ProblemTag;
+
+public interface ProblemTagRepository extends JpaRepository<ProblemTag, Long> {
+
+    // Relies on ux_problem_tags_problem_tag; returns 1 if inserted, 0 if already tagged
+    @Modifying
+    @Query(value = """
+    INSERT INTO urbanmind.problem_tags (problem_id, tag_id)
+    VALUES (:problemId, :tagId)
+    ON CONFLICT DO NOTHING
+    """, nativeQuery = true)
+    int insertIfAbsent(@Param("problemId") Long problemId, @Param("tagId") Long tagId);
+
+    // Returns 1 if the tag was removed, 0 if the problem did not have it
+    @Modifying
+    @Query("DELETE FROM ProblemTag pt WHERE pt.problemId = :problemId AND pt.tagId = :tagId")
+    int deleteTag(@Param("problemId") Long problemId, @Param("tagId") Long tagId);
+
+    @Query("SELECT pt.tagId FROM ProblemTag pt WHERE pt.problemId = :problemId")
+    List<Long> findTagIdsByProblemId(@Param("problemId") Long problemId);
+
+    interface TagNameRow {
+        Long getProblemId();
+        String getName();
+    }
+
+    // Tag names for a page of problems (one IN query per page), in the order they were added
+    @Query("""
+    SELECT pt.problemId AS problemId, t.name AS name
+    FROM ProblemTag pt JOIN Tag t ON t.id = pt.tagId
+    WHERE pt.problemId IN :problemIds
+    ORDER BY pt.id
+    """)
+    List<TagNameRow> findTagNames(@Param("problemIds") Collection<Long> problemIds);
+}
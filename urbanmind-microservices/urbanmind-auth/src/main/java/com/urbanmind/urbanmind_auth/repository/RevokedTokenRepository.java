@@ -1,8 +1,17 @@
 package com.urbanmind.urbanmind_auth.repository;
 
+import java.time.OffsetDateTime;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import com.urbanmind.urbanmind_auth.entity.RevokedToken;
 
 public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
     boolean existsByToken(String token);
+
+    // Startup load of the revocation cache
+    List<RevokedToken> findByExpiresAtAfter(OffsetDateTime now);
+
+    // Incremental refresh of the revocation cache
+    List<RevokedToken> findByRevokedAtAfter(OffsetDateTime since);
 }
@@ -0,0 +1,42 @@
+package com.urbanmind.urbanmind_auth.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.urbanmind.urbanmind_auth.entity.Tag;
+
+public interface TagRepository extends JpaRepository<Tag, Long> {
+
+    Optional<Tag> findByName(String name);
+
+    List<Tag> findByNameIn(Collection<String> names);
+
+    // Relies on ux_tags_name, so concurrent first uses of a tag never collide
+    @Modifying
+    @Query(value = """
+    INSERT INTO urbanmind.tags (name, problem_count)
+    VALUES (:name, 0)
+    ON CONFLICT DO NOTHING
+    """, nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name);
+
+    // Single UPDATE so concurrent taggers never lose increments
+    @Modifying
+    @Query("UPDATE Tag t SET t.problemCount = t.problemCount + :delta WHERE t.id IN :ids")
+    int addToProblemCount(@Param("ids") Collection<Long> ids, @Param("delta") int delta);
+
+    // Facet list, served by ix_tags_problem_count
+    @Query("""
+    SELECT t FROM Tag t
+    WHERE t.problemCount > 0
+    ORDER BY t.problemCount DESC, t.name
+    """)
+    List<Tag> findTop(Pageable pageable);
+}
@@ -0,0 +1,13 @@
+package com.urbanmind.urbanmind_auth.service;
+
+import com.urbanmind.urbanmind_auth.dto.response.CommentThreadPageDTO;
+
+public interface CommentThreadService {
+
+    /**
+     * One page of root comments with their reply trees.
+     * maxDepth = reply levels kept under each root (0 = roots only);
+     * maxReplies = replies kept per comment, the rest are only counted.
+     */
+    CommentThreadPageDTO getThreads(Long problemId, int page, int size, int maxDepth, int maxReplies);
+}
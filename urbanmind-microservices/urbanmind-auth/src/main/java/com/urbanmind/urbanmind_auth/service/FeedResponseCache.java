@@ -0,0 +1,22 @@
+package com.urbanmind.urbanmind_auth.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import com.urbanmind.urbanmind_auth.dto.response.ProblemFeedResponseDTO;
+import com.urbanmind.urbanmind_auth.dto.response.ProblemResponseDTO;
+
+public interface FeedResponseCache {
+
+    // JSON body of the full home feed. The loader must build the anonymous
+    // (viewer-independent) list; isLiked is filled in here for the viewer.
+    byte[] getAllProblems(Long viewerId, Supplier<List<ProblemResponseDTO>> loader);
+
+    // JSON body of one keyset feed page; cursor is the encoded token, null for the first page
+    byte[] getFeedPage(String cursor, int size, String tag, Long viewerId,
+                       Supplier<ProblemFeedResponseDTO> loader);
+
+    // hits, misses, invalidations, size - for sizing the cache
+    Map<String, Object> stats();
+}
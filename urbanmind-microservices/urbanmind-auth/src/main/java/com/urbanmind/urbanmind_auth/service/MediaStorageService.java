@@ -0,0 +1,53 @@
+package com.urbanmind.urbanmind_auth.service;
+
+import java.nio.file.Path;
+import java.util.Set;
+
+import org.springframework.web.multipart.MultipartFile;
+
+public interface MediaStorageService {
+
+    Set<String> PROBLEM_MEDIA_TYPES = Set.of("image/", "video/");
+    Set<String> DOCUMENT_TYPES = Set.of("image/", "application/pdf");
+
+    /**
+     * Stream the upload to disk under its SHA-256 and return where it landed.
+     * acceptedTypes are MIME prefixes matched against the sniffed type, not the
+     * one the client declared. Identical content is stored only once.
+     */
+    StoredMedia store(MultipartFile file, Set<String> acceptedTypes);
+
+    // File behind an /uploads/ URL, or null if the URL is not one we serve
+    Path resolve(String url);
+
+    // Content hash encoded in a content-addressed URL, null for legacy uploads
+    String hashOf(String url);
+
+    // Where the downscaled copy of the given content at this width lives
+    String renditionUrl(String sha256, int width);
+
+    final class StoredMedia {
+
+        private final String sha256;
+        private final String url;
+        private final String contentType;
+        private final long sizeBytes;
+        private final boolean deduplicated;
+
+        public StoredMedia(String sha256, String url, String contentType, long sizeBytes, boolean deduplicated) {
+            this.sha256 = sha256;
+            this.url = url;
+            this.contentType = contentType;
+            this.sizeBytes = sizeBytes;
+            this.deduplicated = deduplicated;
+        }
+
+        public String getSha256() { return sha256; }
+        public String getUrl() { return url; }
+        public String getContentType() { return contentType; }
+        public long getSizeBytes() { return sizeBytes; }
+
+        // True when the same bytes were already on disk and nothing new was written
+        public boolean isDeduplicated() { return deduplicated; }
+    }
+}
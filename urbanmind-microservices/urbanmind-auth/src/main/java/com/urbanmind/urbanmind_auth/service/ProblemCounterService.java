@@ -0,0 +1,23 @@
+package com.urbanmind.urbanmind_auth.service;
+
+// Write-behind buffer for hot problem counters (likes, shares, views).
+// Increments are coalesced in memory and flushed to the problems table in batches.
+public interface ProblemCounterService {
+
+    void addUpvotes(Long problemId, long delta);
+
+    void addShares(Long problemId, long delta);
+
+    void addViews(Long problemId, long delta);
+
+    // Deltas not yet visible in the database; add these to the persisted
+    // value so a user sees their own like/share immediately
+    long pendingUpvotes(Long problemId);
+
+    long pendingShares(Long problemId);
+
+    long pendingViews(Long problemId);
+
+    // Write all buffered deltas now (also runs on a schedule and at shutdown)
+    void flush();
+}
@@ -0,0 +1,24 @@
+package com.urbanmind.urbanmind_auth.service;
+
+import java.util.List;
+
+public interface ProblemGeoService {
+
+    // Closest first; status/category are optional exact-match filters
+    List<NearbyProblem> findNearby(double latitude, double longitude, double radiusKm,
+                                   String status, String category, int limit);
+
+    final class NearbyProblem {
+
+        private final Long problemId;
+        private final double distanceKm;
+
+        public NearbyProblem(Long problemId, double distanceKm) {
+            this.problemId = problemId;
+            this.distanceKm = distanceKm;
+        }
+
+        public Long getProblemId() { return problemId; }
+        public double getDistanceKm() { return distanceKm; }
+    }
+}
@@ -0,0 +1,15 @@
+package com.urbanmind.urbanmind_auth.service;
+
+import java.util.List;
+
+import com.urbanmind.urbanmind_auth.dto.response.ProblemResponseDTO;
+import com.urbanmind.urbanmind_auth.entity.Problem;
+
+// Turns a page of problems into response DTOs with a fixed number of queries
+public interface ProblemHydrationService {
+
+    // viewerId may be null for anonymous requests (isLiked is then false)
+    List<ProblemResponseDTO> toResponses(List<Problem> problems, Long viewerId);
+
+    ProblemResponseDTO toResponse(Problem problem, Long viewerId);
+}
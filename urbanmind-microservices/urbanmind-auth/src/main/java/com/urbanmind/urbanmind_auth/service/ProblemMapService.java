@@ -0,0 +1,15 @@
+package com.urbanmind.urbanmind_auth.service;
+
+import java.util.List;
+
+import com.urbanmind.urbanmind_auth.dto.response.MapClusterDTO;
+
+public interface ProblemMapService {
+
+    // Problem counts per geohash cell inside the box; cell size follows the map zoom.
+    // minLng > maxLng means the box crosses the antimeridian.
+    List<MapClusterDTO> getClusters(double minLat, double minLng, double maxLat, double maxLng, int zoom);
+
+    // Geohash length (1-6) used for a zoom level
+    int precisionForZoom(int zoom);
+}
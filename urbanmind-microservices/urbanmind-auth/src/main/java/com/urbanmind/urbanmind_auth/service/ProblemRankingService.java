@@ -0,0 +1,12 @@
+package com.urbanmind.urbanmind_auth.service;
+
+import java.util.List;
+
+public interface ProblemRankingService {
+
+    // Problem ids from the precomputed "hot" ranking, best first
+    List<Long> getHot(int offset, int limit);
+
+    // Rebuild the ranking now (also runs on a schedule)
+    void refresh();
+}
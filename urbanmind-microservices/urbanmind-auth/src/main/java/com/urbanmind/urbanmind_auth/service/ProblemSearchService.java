@@ -0,0 +1,25 @@
+package com.urbanmind.urbanmind_auth.service;
+
+import java.util.List;
+
+public interface ProblemSearchService {
+
+    // Best match first over title, tags, city and description. Every word must
+    // match; the last word also matches as a prefix unless the query ends in a
+    // space (type-ahead). status/category/severity are optional exact filters.
+    List<SearchHit> search(String query, String status, String category, String severity, int limit);
+
+    final class SearchHit {
+
+        private final Long problemId;
+        private final double score;
+
+        public SearchHit(Long problemId, double score) {
+            this.problemId = problemId;
+            this.score = score;
+        }
+
+        public Long getProblemId() { return problemId; }
+        public double getScore() { return score; }
+    }
+}
@@ -1,9 +1,15 @@
 package com.urbanmind.urbanmind_auth.service;
 
+import java.util.Collection;
 import java.util.List;
+
+import org.springframework.data.domain.Page;
+
+import com.urbanmind.urbanmind_auth.dto.request.ProblemFilterDTO;
 import com.urbanmind.urbanmind_auth.dto.request.ProblemRequestDTO;
 import com.urbanmind.urbanmind_auth.dto.request.StatusUpdateDTO;
 import com.urbanmind.urbanmind_auth.entity.Problem;
+import com.urbanmind.urbanmind_auth.utils.FeedCursor;
 
 public interface ProblemService {
 
@@ -13,8 +19,22 @@ public interface ProblemService {
 
     List<Problem> getAllProblems();
 
+    // Keyset page of the home feed; null cursor means first page
+    List<Problem> getFeed(FeedCursor after, int limit);
+
+    // Same feed restricted to one tag; unknown tags give an empty page
+    List<Problem> getFeedByTag(String tag, FeedCursor after, int limit);
+
+    // Any combination of filters, sorted and offset-paged (page is zero-based)
+    Page<Problem> listProblems(ProblemFilterDTO filter, int page, int size);
+
     List<Problem> getProblemsByUser(Long userId);
 
+    Problem getProblemById(Long problemId);
+
+    // One IN query; order is not guaranteed
+    List<Problem> getProblemsByIds(Collection<Long> problemIds);
+
     void likeProblem(Long problemId, Long userId);
 
     void unlikeProblem(Long problemId, Long userId);
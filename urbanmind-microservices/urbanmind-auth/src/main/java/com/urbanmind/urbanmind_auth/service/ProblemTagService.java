@@ -0,0 +1,25 @@
+package com.urbanmind.urbanmind_auth.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.urbanmind.urbanmind_auth.dto.response.TagCountDTO;
+
+public interface ProblemTagService {
+
+    // Comma-separated user input to distinct canonical tag names, in input order
+    List<String> normalize(String raw);
+
+    // Makes the problem's tags exactly these (already normalised) names and
+    // moves the facet counts by the difference
+    void replaceTags(Long problemId, List<String> names);
+
+    // Tag names per problem for a page of problems (one query)
+    Map<Long, List<String>> getTagNames(Collection<Long> problemIds);
+
+    // Null if nobody has used the tag yet
+    Long findTagId(String name);
+
+    List<TagCountDTO> getTopTags(int limit);
+}
@@ -0,0 +1,8 @@
+package com.urbanmind.urbanmind_auth.service;
+
+public interface ProblemViewService {
+
+    // viewerKey identifies who is looking (user id, or client address for anonymous reads).
+    // Repeat views by the same viewer inside the dedup window are ignored.
+    void recordView(Long problemId, String viewerKey);
+}
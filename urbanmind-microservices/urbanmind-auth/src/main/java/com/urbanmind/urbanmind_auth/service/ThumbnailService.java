@@ -0,0 +1,12 @@
+package com.urbanmind.urbanmind_auth.service;
+
+import com.urbanmind.urbanmind_auth.entity.ProblemMedia;
+
+public interface ThumbnailService {
+
+    // Queue renditions for a newly saved image; work starts after the transaction commits
+    void scheduleFor(ProblemMedia media);
+
+    // Smallest rendition wide enough for a feed card, or the original if none exist yet
+    String coverUrl(ProblemMedia media);
+}
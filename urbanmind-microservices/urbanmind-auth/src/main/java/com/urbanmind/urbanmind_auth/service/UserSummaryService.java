@@ -0,0 +1,18 @@
+package com.urbanmind.urbanmind_auth.service;
+
+import java.util.Collection;
+import java.util.Map;
+
+import com.urbanmind.urbanmind_auth.dto.response.UserSummary;
+
+public interface UserSummaryService {
+
+    // Summaries for the ids that exist; unknown ids are simply absent
+    Map<Long, UserSummary> getSummaries(Collection<Long> userIds);
+
+    // Call after changing a user so the next read reloads it
+    void evict(Long userId);
+
+    // hits, misses, evictions, size - for sizing the cache
+    Map<String, Object> stats();
+}
@@ -3,11 +3,12 @@ package com.urbanmind.urbanmind_auth.service.impl;
 import java.time.OffsetDateTime;
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.urbanmind.urbanmind_auth.entity.Comment;
-import com.urbanmind.urbanmind_auth.entity.Problem;
+import com.urbanmind.urbanmind_auth.event.ProblemActivityEvent;
 import com.urbanmind.urbanmind_auth.repository.CommentRepository;
 import com.urbanmind.urbanmind_auth.repository.ProblemRepository;
 import com.urbanmind.urbanmind_auth.service.CommentService;
@@ -18,10 +19,14 @@ public class CommentServiceImpl implements CommentService {
 
     private final CommentRepository commentRepository;
     private final ProblemRepository problemRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CommentServiceImpl(CommentRepository commentRepository, ProblemRepository problemRepository) {
+    public CommentServiceImpl(CommentRepository commentRepository,
+                              ProblemRepository problemRepository,
+                              ApplicationEventPublisher eventPublisher) {
         this.commentRepository = commentRepository;
         this.problemRepository = problemRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -38,11 +43,11 @@ public class CommentServiceImpl implements CommentService {
 
         Comment savedComment = commentRepository.save(comment);
 
-        // Update problem comment count
-        Problem problem = problemRepository.findById(problemId)
-                .orElseThrow(() -> new RuntimeException("Problem not found"));
-        problem.setCommentCount(problem.getCommentCount() + 1);
-        problemRepository.save(problem);
+        // Update problem comment count (single atomic UPDATE)
+        if (problemRepository.incrementCommentCount(problemId) == 0) {
+            throw new RuntimeException("Problem not found");
+        }
+        eventPublisher.publishEvent(new ProblemActivityEvent(problemId, userId, ProblemActivityEvent.Kind.COMMENTS_CHANGED));
 
         return savedComment;
     }
@@ -108,19 +113,14 @@ public class CommentServiceImpl implements CommentService {
             throw new RuntimeException("You are not allowed to delete this comment");
         }
 
-        comment.setIsDeleted(true);
-        comment.setUpdatedAt(OffsetDateTime.now());
-
-        commentRepository.save(comment);
-
-        // Update problem comment count
-        Problem problem = problemRepository.findById(comment.getProblemId())
-                .orElseThrow(() -> new RuntimeException("Problem not found"));
-        
-        // Ensure count doesn't go below 0
-        if (problem.getCommentCount() > 0) {
-            problem.setCommentCount(problem.getCommentCount() - 1);
-            problemRepository.save(problem);
+        // Only the call that actually flips is_deleted moves the counter,
+        // so a double delete (or two racing deletes) decrements once
+        if (commentRepository.softDelete(commentId, OffsetDateTime.now()) == 0) {
+            return;
         }
+
+        // Update problem comment count (never goes below 0)
+        problemRepository.decrementCommentCount(comment.getProblemId());
+        eventPublisher.publishEvent(new ProblemActivityEvent(comment.getProblemId(), userId, ProblemActivityEvent.Kind.COMMENTS_CHANGED));
     }
 }
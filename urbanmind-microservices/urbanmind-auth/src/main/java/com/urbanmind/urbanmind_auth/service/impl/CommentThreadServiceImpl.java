@@ -0,0 +1,140 @@
+package com.urbanmind.urbanmind_auth.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.urbanmind.urbanmind_auth.dto.response.CommentResponseDTO;
+import com.urbanmind.urbanmind_auth.dto.response.CommentThreadPageDTO;
+import com.urbanmind.urbanmind_auth.dto.response.UserSummary;
+import com.urbanmind.urbanmind_auth.entity.Comment;
+import com.urbanmind.urbanmind_auth.repository.CommentRepository;
+import com.urbanmind.urbanmind_auth.service.CommentThreadService;
+import com.urbanmind.urbanmind_auth.service.UserSummaryService;
+
+/**
+ * Loads every live comment of a problem with one query, links them into
+ * parent -> children lists in memory, and renders only the requested page of
+ * root threads, cut to the depth and fan-out limits. Authors of the rendered
+ * comments are resolved in one batch through the user-summary cache.
+ * Replies whose parent was deleted are not shown, as before.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CommentThreadServiceImpl implements CommentThreadService {
+
+    private final CommentRepository commentRepository;
+    private final UserSummaryService userSummaryService;
+
+    public CommentThreadServiceImpl(CommentRepository commentRepository,
+                                    UserSummaryService userSummaryService) {
+        this.commentRepository = commentRepository;
+        this.userSummaryService = userSummaryService;
+    }
+
+    @Override
+    public CommentThreadPageDTO getThreads(Long problemId, int page, int size, int maxDepth, int maxReplies) {
+
+        // Oldest first, so each child list is already in conversation order
+        List<Comment> all = commentRepository.findLiveByProblemId(problemId);
+
+        List<Comment> roots = new ArrayList<>();
+        Map<Long, List<Comment>> children = new HashMap<>();
+        for (Comment c : all) {
+            if (c.getParentCommentId() == null) {
+                roots.add(c);
+            } else {
+                children.computeIfAbsent(c.getParentCommentId(), k -> new ArrayList<>()).add(c);
+            }
+        }
+
+        // Threads are shown newest first
+        Collections.reverse(roots);
+
+        // In long arithmetic so a huge page number is just past the end, not an overflow
+        int from = (int) Math.min((long) page * size, roots.size());
+        int to = (int) Math.min((long) from + size, roots.size());
+        List<Comment> pageRoots = roots.subList(from, to);
+
+        // Collect only the comments that will be rendered, then fetch their authors once
+        List<Comment> rendered = new ArrayList<>();
+        for (Comment root : pageRoots) {
+            collect(root, children, 0, maxDepth, maxReplies, rendered);
+        }
+
+        Set<Long> authorIds = new HashSet<>();
+        for (Comment c : rendered) {
+            authorIds.add(c.getUserId());
+        }
+        Map<Long, UserSummary> authors = userSummaryService.getSummaries(authorIds);
+
+        List<CommentResponseDTO> threads = new ArrayList<>(pageRoots.size());
+        for (Comment root : pageRoots) {
+            threads.add(build(root, children, 0, maxDepth, maxReplies, authors));
+        }
+
+        return new CommentThreadPageDTO(threads, page, size, roots.size(), to < roots.size());
+    }
+
+    private void collect(Comment c, Map<Long, List<Comment>> children,
+                         int depth, int maxDepth, int maxReplies, List<Comment> out) {
+        out.add(c);
+        if (depth >= maxDepth) {
+            return;
+        }
+        List<Comment> replies = children.getOrDefault(c.getId(), List.of());
+        for (int i = 0; i < replies.size() && i < maxReplies; i++) {
+            collect(replies.get(i), children, depth + 1, maxDepth, maxReplies, out);
+        }
+    }
+
+    private CommentResponseDTO build(Comment c, Map<Long, List<Comment>> children,
+                                     int depth, int maxDepth, int maxReplies,
+                                     Map<Long, UserSummary> authors) {
+
+        CommentResponseDTO dto = toDTO(c, authors.get(c.getUserId()));
+
+        List<Comment> replies = children.getOrDefault(c.getId(), List.of());
+        dto.setReplyCount(replies.size());
+
+        List<CommentResponseDTO> rendered = new ArrayList<>();
+        if (depth < maxDepth) {
+            for (int i = 0; i < replies.size() && i < maxReplies; i++) {
+                rendered.add(build(replies.get(i), children, depth + 1, maxDepth, maxReplies, authors));
+            }
+        }
+        dto.setReplies(rendered);
+
+        return dto;
+    }
+
+    private static CommentResponseDTO toDTO(Comment comment, UserSummary user) {
+        CommentResponseDTO dto = new CommentResponseDTO();
+        dto.setId(comment.getId());
+        dto.setProblemId(comment.getProblemId());
+        dto.setUserId(comment.getUserId());
+        dto.setParentCommentId(comment.getParentCommentId());
+        dto.setContent(comment.getContent());
+        dto.setIsEdited(comment.getIsEdited());
+        dto.setIsDeleted(comment.getIsDeleted());
+        dto.setCreatedAt(comment.getCreatedAt());
+
+        if (user != null) {
+            dto.setAuthorName(user.getFullName());
+            dto.setAuthorUsername(user.getDisplayUsername());
+            dto.setAuthorAvatar(user.getFullName().substring(0, 1).toUpperCase());
+        } else {
+            dto.setAuthorName("Anonymous");
+            dto.setAuthorUsername("anon");
+            dto.setAuthorAvatar("A");
+        }
+        return dto;
+    }
+}
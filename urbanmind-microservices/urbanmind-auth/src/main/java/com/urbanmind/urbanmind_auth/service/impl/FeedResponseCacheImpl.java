@@ -0,0 +1,352 @@
+package com.urbanmind.urbanmind_auth.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.urbanmind.urbanmind_auth.dto.response.ProblemFeedResponseDTO;
+import com.urbanmind.urbanmind_auth.dto.response.ProblemResponseDTO;
+import com.urbanmind.urbanmind_auth.event.ProblemActivityEvent;
+import com.urbanmind.urbanmind_auth.event.ProblemChangedEvent;
+import com.urbanmind.urbanmind_auth.repository.ProblemLikeRepository;
+import com.urbanmind.urbanmind_auth.service.FeedResponseCache;
+
+/**
+ * Feed responses kept as the JSON bytes an anonymous viewer would get, so a
+ * hit is one array write with no hydration or serialization. Signed-in
+ * viewers get a copy with their likes patched in: the byte offset of every
+ * item's isLiked value is recorded at build time, and "false" is overwritten
+ * with "true " (same width, still valid JSON). Which items a viewer liked
+ * comes from a small per-user set that only queries ids it has not seen.
+ *
+ * Pages holding a problem are dropped after a comment or any change to the
+ * problem row; a problem found on no cached page is usually new, and new
+ * problems only ever land on first pages, so those are dropped instead.
+ * Like/share/view counts are not invalidated for - they lag by at most the
+ * TTL, and the liker sees their own like straight away through the overlay.
+ *
+ * ProblemChangeFeed republishes every recently updated row on each poll.
+ * The updated_at last seen per problem is kept, and a polled event carrying
+ * the same value is a repeat, not a change, so it invalidates nothing.
+ */
+@Service
+public class FeedResponseCacheImpl implements FeedResponseCache {
+
+    private static final byte[] LIKED_FALSE = "\"isLiked\":false".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TRUE_PADDED = "true ".getBytes(StandardCharsets.UTF_8);
+
+    private static final String ALL_KEY = "all";
+
+    // A viewer scrolling far enough resets their set rather than growing it forever
+    private static final int MAX_KNOWN_PER_VIEWER = 5_000;
+
+    private final ObjectMapper objectMapper;
+    private final ProblemLikeRepository likeRepository;
+    private final long ttlNanos;
+    private final int maxSize;
+    private final long viewerTtlNanos;
+    private final int maxViewers;
+
+    private final Map<String, CachedPage> pages;
+    private final Map<Long, ViewerLikes> viewers;
+
+    // problemId -> updated_at of the last change seen, to skip polled repeats
+    private final Map<Long, Instant> versions = new ConcurrentHashMap<>();
+
+    // Bumped on every invalidation; a build that raced with one is not cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public FeedResponseCacheImpl(
+            ObjectMapper objectMapper,
+            ProblemLikeRepository likeRepository,
+            @Value("${urbanmind.cache.feed.ttl-ms:10000}") long ttlMillis,
+            @Value("${urbanmind.cache.feed.max-size:500}") int maxSize,
+            @Value("${urbanmind.cache.viewer-likes.ttl-ms:60000}") long viewerTtlMillis,
+            @Value("${urbanmind.cache.viewer-likes.max-size:10000}") int maxViewers) {
+
+        this.objectMapper = objectMapper;
+        this.likeRepository = likeRepository;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.maxSize = maxSize;
+        this.viewerTtlNanos = viewerTtlMillis * 1_000_000L;
+        this.maxViewers = maxViewers;
+        this.pages = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedPage> eldest) {
+                if (size() > FeedResponseCacheImpl.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        });
+        this.viewers = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ViewerLikes> eldest) {
+                return size() > FeedResponseCacheImpl.this.maxViewers;
+            }
+        });
+    }
+
+    @Override
+    public byte[] getAllProblems(Long viewerId, Supplier<List<ProblemResponseDTO>> loader) {
+        return render(ALL_KEY, true, viewerId, () -> {
+            List<ProblemResponseDTO> items = loader.get();
+            return build(items, items, true);
+        });
+    }
+
+    @Override
+    public byte[] getFeedPage(String cursor, int size, String tag, Long viewerId,
+                              Supplier<ProblemFeedResponseDTO> loader) {
+
+        boolean head = cursor == null;
+        String key = "feed|" + size + "|" + (tag == null ? "" : tag) + "|" + (head ? "" : cursor);
+
+        return render(key, head, viewerId, () -> {
+            ProblemFeedResponseDTO body = loader.get();
+            return build(body, body.getItems(), head);
+        });
+    }
+
+    private byte[] render(String key, boolean head, Long viewerId, Supplier<CachedPage> builder) {
+
+        CachedPage page = pages.get(key);
+        if (page != null && System.nanoTime() - page.builtAt < ttlNanos) {
+            hits.increment();
+        } else {
+            misses.increment();
+            long generation = invalidations.get();
+            page = builder.get();
+            if (generation == invalidations.get()) {
+                pages.put(key, page);
+            }
+        }
+
+        if (viewerId == null || page.ids.length == 0) {
+            return page.json;
+        }
+
+        Set<Long> liked = likedAmong(viewerId, page.ids);
+        byte[] out = null;
+        for (int i = 0; i < page.ids.length; i++) {
+            if (liked.contains(page.ids[i])) {
+                if (out == null) {
+                    out = page.json.clone();
+                }
+                System.arraycopy(TRUE_PADDED, 0, out, page.likedOffsets[i], TRUE_PADDED.length);
+            }
+        }
+        return out != null ? out : page.json;
+    }
+
+    private CachedPage build(Object body, List<ProblemResponseDTO> items, boolean head) {
+
+        long[] ids = new long[items.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ProblemResponseDTO dto = items.get(i);
+            dto.setIsLiked(false);
+            ids[i] = dto.getId();
+        }
+
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException ex) {
+            throw new RuntimeException("Could not serialize feed", ex);
+        }
+
+        // Quotes inside string values are escaped, so the token can only be
+        // the property itself, and items are written in list order
+        int[] offsets = new int[ids.length];
+        int found = 0;
+        int from = 0;
+        int at;
+        while ((at = indexOf(json, LIKED_FALSE, from)) >= 0) {
+            if (found == ids.length) {
+                found++;
+                break;
+            }
+            offsets[found++] = at + LIKED_FALSE.length - TRUE_PADDED.length;
+            from = at + LIKED_FALSE.length;
+        }
+        if (found != ids.length) {
+            throw new IllegalStateException("Expected one isLiked per feed item");
+        }
+
+        return new CachedPage(json, ids, offsets, head, System.nanoTime());
+    }
+
+    private Set<Long> likedAmong(Long viewerId, long[] ids) {
+
+        long now = System.nanoTime();
+        ViewerLikes likes = viewers.get(viewerId);
+        if (likes == null || now - likes.loadedAt >= viewerTtlNanos || likes.known.size() > MAX_KNOWN_PER_VIEWER) {
+            likes = new ViewerLikes(now);
+            viewers.put(viewerId, likes);
+        }
+
+        List<Long> unknown = new ArrayList<>();
+        for (long id : ids) {
+            if (!likes.known.contains(id)) {
+                unknown.add(id);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            likes.liked.addAll(likeRepository.findLikedProblemIds(viewerId, unknown));
+            likes.known.addAll(unknown);
+        }
+        return likes.liked;
+    }
+
+    // ===== INVALIDATION =====
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProblemChanged(ProblemChangedEvent event) {
+        Long problemId = event.getProblemId();
+        // Postgres keeps microseconds; compare at that precision so a local
+        // write and its polled echo carry the same version
+        Instant version = event.getUpdatedAt() == null ? null
+                : event.getUpdatedAt().toInstant().truncatedTo(ChronoUnit.MICROS);
+        Instant previous = version == null ? versions.remove(problemId) : versions.put(problemId, version);
+
+        if (event.isPolled() && version != null && version.equals(previous)) {
+            return;
+        }
+        if (!dropPagesContaining(problemId)) {
+            dropHeadPages();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProblemActivity(ProblemActivityEvent event) {
+        switch (event.getKind()) {
+            case LIKED, UNLIKED -> {
+                ViewerLikes likes = viewers.get(event.getUserId());
+                if (likes != null) {
+                    if (event.getKind() == ProblemActivityEvent.Kind.LIKED) {
+                        likes.liked.add(event.getProblemId());
+                    } else {
+                        likes.liked.remove(event.getProblemId());
+                    }
+                    likes.known.add(event.getProblemId());
+                }
+            }
+            case COMMENTS_CHANGED -> dropPagesContaining(event.getProblemId());
+        }
+    }
+
+    private boolean dropPagesContaining(Long problemId) {
+        invalidations.incrementAndGet();
+        boolean any = false;
+        synchronized (pages) {
+            var it = pages.values().iterator();
+            while (it.hasNext()) {
+                if (it.next().contains(problemId)) {
+                    it.remove();
+                    dropped.increment();
+                    any = true;
+                }
+            }
+        }
+        return any;
+    }
+
+    private void dropHeadPages() {
+        invalidations.incrementAndGet();
+        synchronized (pages) {
+            var it = pages.values().iterator();
+            while (it.hasNext()) {
+                if (it.next().head) {
+                    it.remove();
+                    dropped.increment();
+                }
+            }
+        }
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        long h = hits.sum();
+        long m = misses.sum();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", pages.size());
+        stats.put("maxSize", maxSize);
+        stats.put("hits", h);
+        stats.put("misses", m);
+        stats.put("hitRate", h + m == 0 ? 0.0 : (double) h / (h + m));
+        stats.put("evictions", evictions.sum());
+        stats.put("invalidated", dropped.sum());
+        stats.put("viewers", viewers.size());
+        return stats;
+    }
+
+    private static int indexOf(byte[] haystack, byte[] needle, int from) {
+        outer:
+        for (int i = from; i <= haystack.length - needle.length; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                if (haystack[i + j] != needle[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static final class CachedPage {
+        final byte[] json;
+        final long[] ids;
+        final int[] likedOffsets;
+        final long[] sortedIds;
+        final boolean head;
+        final long builtAt;
+
+        CachedPage(byte[] json, long[] ids, int[] likedOffsets, boolean head, long builtAt) {
+            this.json = json;
+            this.ids = ids;
+            this.likedOffsets = likedOffsets;
+            this.sortedIds = ids.clone();
+            Arrays.sort(this.sortedIds);
+            this.head = head;
+            this.builtAt = builtAt;
+        }
+
+        boolean contains(long problemId) {
+            return Arrays.binarySearch(sortedIds, problemId) >= 0;
+        }
+    }
+
+    private static final class ViewerLikes {
+        final Set<Long> liked = ConcurrentHashMap.newKeySet();
+        final Set<Long> known = ConcurrentHashMap.newKeySet();
+        final long loadedAt;
+
+        ViewerLikes(long loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+    }
+}
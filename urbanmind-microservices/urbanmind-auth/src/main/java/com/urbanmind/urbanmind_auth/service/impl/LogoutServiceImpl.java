@@ -7,6 +7,7 @@ import java.util.Date;
 import org.springframework.stereotype.Service;
 
 import com.urbanmind.urbanmind_auth.config.JwtTokenProvider;
+import com.urbanmind.urbanmind_auth.config.RevokedTokenCache;
 import com.urbanmind.urbanmind_auth.entity.RevokedToken;
 import com.urbanmind.urbanmind_auth.repository.RevokedTokenRepository;
 import com.urbanmind.urbanmind_auth.service.LogoutService;
@@ -14,15 +15,21 @@ import com.urbanmind.urbanmind_auth.service.LogoutService;
 @Service
 public class LogoutServiceImpl implements LogoutService {
 
+    private static final OffsetDateTime NO_EXPIRY =
+            OffsetDateTime.of(9999, 12, 31, 23, 59, 59, 0, ZoneOffset.UTC);
+
     private final RevokedTokenRepository revokedTokenRepository;
     private final JwtTokenProvider tokenProvider;
+    private final RevokedTokenCache revokedTokenCache;
 
     public LogoutServiceImpl(
             RevokedTokenRepository revokedTokenRepository,
-            JwtTokenProvider tokenProvider
+            JwtTokenProvider tokenProvider,
+            RevokedTokenCache revokedTokenCache
     ) {
         this.revokedTokenRepository = revokedTokenRepository;
         this.tokenProvider = tokenProvider;
+        this.revokedTokenCache = revokedTokenCache;
     }
 
     @Override
@@ -30,11 +37,12 @@ public class LogoutServiceImpl implements LogoutService {
 
         Date expiryDate = tokenProvider.getExpiry(token);
 
-        OffsetDateTime expiry = OffsetDateTime.ofInstant(
-                expiryDate.toInstant(),
-                ZoneOffset.UTC
-        );
+        // A token without exp stays valid forever, so its revocation must too
+        OffsetDateTime expiry = expiryDate != null
+                ? OffsetDateTime.ofInstant(expiryDate.toInstant(), ZoneOffset.UTC)
+                : NO_EXPIRY;
 
         revokedTokenRepository.save(new RevokedToken(token, expiry));
+        revokedTokenCache.add(token, expiry.toInstant());
     }
 }
@@ -0,0 +1,214 @@
+package com.urbanmind.urbanmind_auth.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.urbanmind.urbanmind_auth.exception.ApiException;
+import com.urbanmind.urbanmind_auth.exception.PayloadTooLargeException;
+import com.urbanmind.urbanmind_auth.service.MediaStorageService;
+import com.urbanmind.urbanmind_auth.utils.ContentSniffer;
+
+/**
+ * Content-addressed file store under the uploads root:
+ *
+ *   sha256/ab/cd/<hash>.jpg        one file per distinct content
+ *   thumbs/ab/cd/<hash>-w480.jpg   downscaled renditions of that content
+ *   tmp/upload-*.part              in-progress uploads, same filesystem so
+ *                                  the final rename is atomic
+ *
+ * Each upload is read exactly once: the bytes go to the temp file and through
+ * the digest in the same pass, and the size cap is enforced while streaming so
+ * an oversized body is abandoned as soon as it crosses the limit.
+ */
+@Service
+public class MediaStorageServiceImpl implements MediaStorageService {
+
+    // Served by MediaController
+    private static final String URL_PREFIX = "/uploads/";
+    private static final String CONTENT_DIR = "sha256";
+    private static final String RENDITION_DIR = "thumbs";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+    private final Path tmpDir;
+    private final long maxBytes;
+
+    // Shard directories already created, so the hot path skips mkdir calls
+    private final Set<Path> knownDirs = ConcurrentHashMap.newKeySet();
+
+    public MediaStorageServiceImpl(
+            @Value("${urbanmind.storage.root:uploads}") String root,
+            @Value("${urbanmind.storage.max-bytes:10485760}") long maxBytes) {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.tmpDir = this.root.resolve("tmp");
+        this.maxBytes = maxBytes;
+
+        try {
+            Files.createDirectories(tmpDir);
+            Files.createDirectories(this.root.resolve(CONTENT_DIR));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not initialize upload storage at " + this.root, e);
+        }
+    }
+
+    @Override
+    public StoredMedia store(MultipartFile file, Set<String> acceptedTypes) {
+        if (file == null || file.isEmpty()) {
+            throw new ApiException("File is empty");
+        }
+        // Multipart already knows the size; refuse before reading anything
+        if (file.getSize() > maxBytes) {
+            throw tooLarge();
+        }
+
+        Path temp = null;
+        try (InputStream in = file.getInputStream()) {
+
+            // ===== SNIFF =====
+            byte[] head = in.readNBytes(ContentSniffer.HEADER_BYTES);
+            String contentType = ContentSniffer.sniff(head, head.length);
+            if (contentType == null || !isAccepted(contentType, acceptedTypes)) {
+                throw new ApiException("Unsupported file type");
+            }
+
+            // ===== STREAM + HASH =====
+            MessageDigest digest = sha256();
+            temp = Files.createTempFile(tmpDir, "upload-", ".part");
+            long size = 0;
+
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                digest.update(head);
+                out.write(head);
+                size = head.length;
+
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int n;
+                while ((n = in.read(buffer)) != -1) {
+                    size += n;
+                    if (size > maxBytes) {
+                        throw tooLarge();
+                    }
+                    digest.update(buffer, 0, n);
+                    out.write(buffer, 0, n);
+                }
+            }
+
+            // ===== PUBLISH =====
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String relative = CONTENT_DIR + "/" + hash.substring(0, 2) + "/" + hash.substring(2, 4)
+                    + "/" + hash + "." + ContentSniffer.extensionFor(contentType);
+            Path target = root.resolve(relative);
+
+            boolean deduplicated = publish(temp, target);
+            temp = null;
+
+            return new StoredMedia(hash, URL_PREFIX + relative, contentType, size, deduplicated);
+
+        } catch (IOException e) {
+            throw new RuntimeException("Could not store file", e);
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // Left for the next cleanup; it lives under tmp/ only
+                }
+            }
+        }
+    }
+
+    @Override
+    public Path resolve(String url) {
+        if (url == null || !url.startsWith(URL_PREFIX)) {
+            return null;
+        }
+        Path path = root.resolve(url.substring(URL_PREFIX.length())).normalize();
+        // Reject ../ escapes out of the storage root and half-written temp files
+        return path.startsWith(root) && !path.startsWith(tmpDir) ? path : null;
+    }
+
+    @Override
+    public String hashOf(String url) {
+        String prefix = URL_PREFIX + CONTENT_DIR + "/";
+        if (url == null || !url.startsWith(prefix)) {
+            return null;
+        }
+        String name = url.substring(url.lastIndexOf('/') + 1);
+        int dot = name.indexOf('.');
+        String hash = dot < 0 ? name : name.substring(0, dot);
+        return hash.length() == 64 ? hash : null;
+    }
+
+    @Override
+    public String renditionUrl(String sha256, int width) {
+        return URL_PREFIX + RENDITION_DIR + "/" + sha256.substring(0, 2) + "/" + sha256.substring(2, 4)
+                + "/" + sha256 + "-w" + width + ".jpg";
+    }
+
+    // Moves temp into place, or drops it when the content is already stored
+    private boolean publish(Path temp, Path target) throws IOException {
+        if (Files.exists(target)) {
+            Files.delete(temp);
+            return true;
+        }
+
+        Path dir = target.getParent();
+        if (!knownDirs.contains(dir)) {
+            Files.createDirectories(dir);
+            knownDirs.add(dir);
+        }
+
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Same bytes were published by a concurrent upload
+            Files.delete(temp);
+            return true;
+        } catch (AtomicMoveNotSupportedException e) {
+            try {
+                Files.move(temp, target);
+            } catch (FileAlreadyExistsException raced) {
+                Files.delete(temp);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAccepted(String contentType, Set<String> acceptedTypes) {
+        for (String prefix : acceptedTypes) {
+            if (contentType.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ApiException tooLarge() {
+        return new PayloadTooLargeException("File exceeds the " + (maxBytes / (1024 * 1024)) + " MB upload limit");
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
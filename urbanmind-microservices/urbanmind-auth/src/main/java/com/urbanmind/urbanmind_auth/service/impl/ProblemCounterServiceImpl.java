@@ -0,0 +1,247 @@
+package com.urbanmind.urbanmind_auth.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.urbanmind.urbanmind_auth.service.ProblemCounterService;
+
+/**
+ * Coalesces counter increments per problem in LongAdders and applies them
+ * with one batched UPDATE per flush instead of one row lock per click. An
+ * increment holds only its in-memory map entry, for the length of the add,
+ * which also keeps idle-entry eviction from losing it.
+ *
+ * Draining uses sumThenReset, which moves each cell to zero atomically, so an
+ * increment racing with a flush lands in either this batch or the next one.
+ * A failed flush puts its deltas back into the buffer. The buffer is flushed
+ * when the context stops; only a hard kill loses at most one flush interval.
+ *
+ * An increment made inside a transaction is only buffered once that
+ * transaction commits, so a rolled-back like leaves no phantom count.
+ * Increments arriving after stop() are flushed straight away rather than
+ * left in a buffer nobody will drain.
+ */
+@Service
+public class ProblemCounterServiceImpl implements ProblemCounterService, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ProblemCounterServiceImpl.class);
+
+    // Entries idle for this many flushes are dropped from the map
+    private static final int EVICT_AFTER_IDLE_FLUSHES = 2;
+
+    private static final String FLUSH_SQL = """
+            UPDATE urbanmind.problems
+            SET upvote_count = GREATEST(COALESCE(upvote_count, 0) + ?, 0),
+                share_count  = COALESCE(share_count, 0) + ?,
+                view_count   = COALESCE(view_count, 0) + ?
+            WHERE id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, Deltas> buffer = new ConcurrentHashMap<>();
+
+    // Drained but not yet committed; still counted by the pending* reads
+    private volatile Map<Long, long[]> inFlight = Map.of();
+
+    private final Object flushLock = new Object();
+    private volatile boolean running;
+
+    public ProblemCounterServiceImpl(JdbcTemplate jdbcTemplate,
+                                     PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void addUpvotes(Long problemId, long delta) {
+        add(problemId, UPVOTES, delta);
+    }
+
+    @Override
+    public void addShares(Long problemId, long delta) {
+        add(problemId, SHARES, delta);
+    }
+
+    @Override
+    public void addViews(Long problemId, long delta) {
+        add(problemId, VIEWS, delta);
+    }
+
+    @Override
+    public long pendingUpvotes(Long problemId) {
+        Deltas d = buffer.get(problemId);
+        return (d == null ? 0 : d.upvotes.sum()) + inFlight(problemId, UPVOTES);
+    }
+
+    @Override
+    public long pendingShares(Long problemId) {
+        Deltas d = buffer.get(problemId);
+        return (d == null ? 0 : d.shares.sum()) + inFlight(problemId, SHARES);
+    }
+
+    @Override
+    public long pendingViews(Long problemId) {
+        Deltas d = buffer.get(problemId);
+        return (d == null ? 0 : d.views.sum()) + inFlight(problemId, VIEWS);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${urbanmind.counters.flush-interval-ms:2000}")
+    public void flush() {
+        synchronized (flushLock) {
+            // Sorted by id so concurrent flushers (other nodes) lock rows in the same order
+            Map<Long, long[]> batch = new TreeMap<>();
+
+            for (Map.Entry<Long, Deltas> e : buffer.entrySet()) {
+                Deltas d = e.getValue();
+                long[] drained = d.drain();
+
+                if (isZero(drained)) {
+                    if (++d.idleFlushes >= EVICT_AFTER_IDLE_FLUSHES) {
+                        // Writers add inside compute(), so this cannot remove an
+                        // entry mid-add; one that got a delta since the drain stays
+                        buffer.computeIfPresent(e.getKey(), (id, v) -> v.hasPending() ? v : null);
+                    }
+                } else {
+                    d.idleFlushes = 0;
+                }
+
+                if (!isZero(drained)) {
+                    batch.merge(e.getKey(), drained, ProblemCounterServiceImpl::sum);
+                }
+            }
+
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            inFlight = batch;
+            try {
+                List<Object[]> args = new ArrayList<>(batch.size());
+                batch.forEach((id, v) -> args.add(new Object[] { v[UPVOTES], v[SHARES], v[VIEWS], id }));
+
+                transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.batchUpdate(FLUSH_SQL, args));
+            } catch (RuntimeException ex) {
+                log.warn("Counter flush failed for {} problems, will retry: {}", batch.size(), ex.getMessage());
+                batch.forEach((id, v) -> buffer.compute(id, (k, d) -> {
+                    d = d == null ? new Deltas() : d;
+                    d.upvotes.add(v[UPVOTES]);
+                    d.shares.add(v[SHARES]);
+                    d.views.add(v[VIEWS]);
+                    return d;
+                }));
+            } finally {
+                inFlight = Map.of();
+            }
+        }
+    }
+
+    // ===============================
+    // LIFECYCLE — flush before the DataSource goes away
+    // ===============================
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        flush();
+        long unwritten = buffer.values().stream().filter(Deltas::hasPending).count();
+        if (unwritten > 0) {
+            log.error("Counter deltas for {} problems could not be written at shutdown", unwritten);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // ===============================
+    // INTERNALS
+    // ===============================
+    private static final int UPVOTES = 0;
+    private static final int SHARES = 1;
+    private static final int VIEWS = 2;
+
+    private void add(Long problemId, int field, long delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    buffer(problemId, field, delta);
+                }
+            });
+        } else {
+            buffer(problemId, field, delta);
+        }
+    }
+
+    private void buffer(Long problemId, int field, long delta) {
+        // Under the entry's lock, so flush() can't evict it between lookup and add
+        buffer.compute(problemId, (id, d) -> {
+            d = d == null ? new Deltas() : d;
+            d.get(field).add(delta);
+            return d;
+        });
+        // Stopped (or stopping): either stop()'s flush saw this delta or
+        // this one writes it; it is never left behind in the buffer
+        if (!running) {
+            flush();
+        }
+    }
+
+    private long inFlight(Long problemId, int field) {
+        long[] v = inFlight.get(problemId);
+        return v == null ? 0 : v[field];
+    }
+
+    private static boolean isZero(long[] v) {
+        return v[UPVOTES] == 0 && v[SHARES] == 0 && v[VIEWS] == 0;
+    }
+
+    private static long[] sum(long[] a, long[] b) {
+        return new long[] { a[UPVOTES] + b[UPVOTES], a[SHARES] + b[SHARES], a[VIEWS] + b[VIEWS] };
+    }
+
+    private static final class Deltas {
+        final LongAdder upvotes = new LongAdder();
+        final LongAdder shares = new LongAdder();
+        final LongAdder views = new LongAdder();
+
+        // Only touched by the flushing thread (under flushLock)
+        int idleFlushes;
+
+        LongAdder get(int field) {
+            return field == UPVOTES ? upvotes : field == SHARES ? shares : views;
+        }
+
+        boolean hasPending() {
+            return upvotes.sum() != 0 || shares.sum() != 0 || views.sum() != 0;
+        }
+
+        long[] drain() {
+            return new long[] { upvotes.sumThenReset(), shares.sumThenReset(), views.sumThenReset() };
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.urbanmind.urbanmind_auth.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.urbanmind.urbanmind_auth.event.ProblemChangedEvent;
+import com.urbanmind.urbanmind_auth.service.ProblemGeoService;
+import com.urbanmind.urbanmind_auth.utils.GeoHash;
+
+/**
+ * Problems bucketed by geohash cell (30 bits, roughly 1.2 x 0.6 km at the
+ * equator), held in memory. A radius query:
+ *
+ *   1. turns the circle into a lat/lng bounding box,
+ *   2. visits cells in square rings around the caller's cell, never leaving the box,
+ *   3. drops entries outside the box with two comparisons,
+ *   4. computes haversine for the rest and keeps the nearest {@code limit},
+ *   5. stops as soon as the k-th best hit is closer than the next ring can be,
+ *      so dense areas cost a few cells no matter how large the radius is.
+ *
+ * Each cell is an immutable array replaced on write (writes are rare, reads
+ * are constant), so queries run without locks. Contents arrive as
+ * ProblemChangedEvent, from local commits and from ProblemChangeFeed.
+ */
+@Service
+public class ProblemGeoServiceImpl implements ProblemGeoService {
+
+    private static final int CELL_BITS = 30;
+    private static final int LAT_BITS = GeoHash.latBits(CELL_BITS);
+    private static final int LNG_BITS = GeoHash.lngBits(CELL_BITS);
+    private static final int LNG_CELLS = 1 << LNG_BITS;
+    private static final double CELL_HEIGHT_DEG = 180.0 / (1 << LAT_BITS);
+    private static final double CELL_WIDTH_DEG = 360.0 / LNG_CELLS;
+    private static final double KM_PER_DEGREE = Math.toRadians(GeoHash.EARTH_RADIUS_KM);
+
+    private final Map<Long, Entry> byId = new ConcurrentHashMap<>();
+    private final Map<Long, Entry[]> cells = new ConcurrentHashMap<>();
+
+    @Override
+    public List<NearbyProblem> findNearby(double latitude, double longitude, double radiusKm,
+                                          String status, String category, int limit) {
+
+        // ===== BOUNDING BOX =====
+        double dLat = Math.toDegrees(radiusKm / GeoHash.EARTH_RADIUS_KM);
+        double minLat = Math.max(-90, latitude - dLat);
+        double maxLat = Math.min(90, latitude + dLat);
+
+        // Widest point of the circle is at the latitude nearest a pole
+        double cosLat = Math.cos(Math.toRadians(Math.max(Math.abs(minLat), Math.abs(maxLat))));
+        double dLng = cosLat < 1e-9 ? 180 : Math.min(180, dLat / cosLat);
+
+        int centerRow = GeoHash.latIndex(latitude, LAT_BITS);
+        int centerCol = GeoHash.lngIndex(longitude, LNG_BITS);
+        int firstRow = GeoHash.latIndex(minLat, LAT_BITS);
+        int lastRow = GeoHash.latIndex(maxLat, LAT_BITS);
+
+        int maxColOffset = (int) Math.min(LNG_CELLS / 2, Math.ceil(dLng / CELL_WIDTH_DEG) + 1);
+        int maxRing = Math.max(Math.max(centerRow - firstRow, lastRow - centerRow), maxColOffset);
+
+        // Anything outside ring r is at least r whole cells away in one axis
+        double ringKm = Math.min(CELL_HEIGHT_DEG * KM_PER_DEGREE, CELL_WIDTH_DEG * KM_PER_DEGREE * cosLat);
+
+        // ===== SCAN RINGS OUTWARD + REFINE =====
+        // Max-heap on distance holding the best `limit` so far
+        PriorityQueue<NearbyProblem> nearest = new PriorityQueue<>(
+                limit + 1, Comparator.comparingDouble(NearbyProblem::getDistanceKm).reversed());
+        Query query = new Query(latitude, longitude, radiusKm, minLat, maxLat, dLng, status, category, limit, nearest);
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int dr = -ring; dr <= ring; dr++) {
+                int row = centerRow + dr;
+                if (row < firstRow || row > lastRow) {
+                    continue;
+                }
+                // Full row on the top/bottom edge of the ring, just the two sides otherwise
+                int step = (Math.abs(dr) == ring) ? 1 : Math.max(1, 2 * ring);
+                for (int dc = -ring; dc <= ring; dc += step) {
+                    // At LNG_CELLS / 2 both offsets land on the same column
+                    if (Math.abs(dc) > maxColOffset || dc == -LNG_CELLS / 2) {
+                        continue;
+                    }
+                    int col = Math.floorMod(centerCol + dc, LNG_CELLS);
+                    scanCell(GeoHash.interleave(col, row, CELL_BITS), query);
+                }
+            }
+
+            // Nothing beyond this ring can beat the current k-th best
+            if (nearest.size() == limit && nearest.peek().getDistanceKm() <= ring * ringKm) {
+                break;
+            }
+        }
+
+        List<NearbyProblem> result = new ArrayList<>(nearest);
+        result.sort(Comparator.comparingDouble(NearbyProblem::getDistanceKm));
+        return result;
+    }
+
+    private void scanCell(long cell, Query q) {
+        Entry[] bucket = cells.get(cell);
+        if (bucket == null) {
+            return;
+        }
+
+        for (Entry e : bucket) {
+            if (e.lat < q.minLat || e.lat > q.maxLat
+                    || Math.abs(normalizeLng(e.lng - q.longitude)) > q.dLng) {
+                continue;
+            }
+            if (q.status != null && !q.status.equals(e.status)) {
+                continue;
+            }
+            if (q.category != null && !q.category.equals(e.category)) {
+                continue;
+            }
+
+            double d = GeoHash.haversineKm(q.latitude, q.longitude, e.lat, e.lng);
+            if (d > q.radiusKm) {
+                continue;
+            }
+            if (q.nearest.size() < q.limit) {
+                q.nearest.add(new NearbyProblem(e.id, d));
+            } else if (d < q.nearest.peek().getDistanceKm()) {
+                q.nearest.poll();
+                q.nearest.add(new NearbyProblem(e.id, d));
+            }
+        }
+    }
+
+    // ===== MAINTENANCE =====
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProblemChanged(ProblemChangedEvent event) {
+        apply(event);
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    void apply(ProblemChangedEvent event) {
+        Long id = event.getProblemId();
+
+        // compute() serialises writers per problem, so the old cell is
+        // always cleaned before the new one is filled
+        byId.compute(id, (key, old) -> {
+            if (old != null) {
+                removeFromCell(old.cell, id);
+            }
+            if (!event.hasLocation()) {
+                return null;
+            }
+
+            double lat = event.getLatitude();
+            double lng = event.getLongitude();
+            Entry fresh = new Entry(id, lat, lng,
+                    intern(event.getStatus()), intern(event.getCategory()),
+                    GeoHash.encode(lat, lng, CELL_BITS));
+            cells.compute(fresh.cell, (c, bucket) -> {
+                if (bucket == null) {
+                    return new Entry[] { fresh };
+                }
+                Entry[] grown = Arrays.copyOf(bucket, bucket.length + 1);
+                grown[bucket.length] = fresh;
+                return grown;
+            });
+            return fresh;
+        });
+    }
+
+    private void removeFromCell(long cell, Long id) {
+        cells.computeIfPresent(cell, (c, bucket) -> {
+            Entry[] kept = Arrays.stream(bucket).filter(e -> e.id != id).toArray(Entry[]::new);
+            return kept.length == 0 ? null : kept;
+        });
+    }
+
+    // [-180, 180)
+    private static double normalizeLng(double lng) {
+        return ((lng + 180) % 360 + 360) % 360 - 180;
+    }
+
+    // A handful of distinct statuses/categories shared by a million entries
+    private static String intern(String value) {
+        return value == null ? null : value.intern();
+    }
+
+    // Per-call state for scanCell
+    private static final class Query {
+        final double latitude;
+        final double longitude;
+        final double radiusKm;
+        final double minLat;
+        final double maxLat;
+        final double dLng;
+        final String status;
+        final String category;
+        final int limit;
+        final PriorityQueue<NearbyProblem> nearest;
+
+        Query(double latitude, double longitude, double radiusKm, double minLat, double maxLat, double dLng,
+              String status, String category, int limit, PriorityQueue<NearbyProblem> nearest) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.radiusKm = radiusKm;
+            this.minLat = minLat;
+            this.maxLat = maxLat;
+            this.dLng = dLng;
+            this.status = status;
+            this.category = category;
+            this.limit = limit;
+            this.nearest = nearest;
+        }
+    }
+
+    private static final class Entry {
+        final long id;
+        final double lat;
+        final double lng;
+        final String status;
+        final String category;
+        final long cell;
+
+        Entry(long id, double lat, double lng, String status, String category, long cell) {
+            this.id = id;
+            this.lat = lat;
+            this.lng = lng;
+            this.status = status;
+            this.category = category;
+            this.cell = cell;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.urbanmind.urbanmind_auth.service.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.urbanmind.urbanmind_auth.dto.response.ProblemResponseDTO;
+import com.urbanmind.urbanmind_auth.dto.response.UserSummary;
+import com.urbanmind.urbanmind_auth.entity.Problem;
+import com.urbanmind.urbanmind_auth.entity.ProblemMedia;
+import com.urbanmind.urbanmind_auth.exception.ResourceNotFoundException;
+import com.urbanmind.urbanmind_auth.repository.ProblemLikeRepository;
+import com.urbanmind.urbanmind_auth.repository.ProblemMediaRepository;
+import com.urbanmind.urbanmind_auth.service.ProblemCounterService;
+import com.urbanmind.urbanmind_auth.service.ProblemHydrationService;
+import com.urbanmind.urbanmind_auth.service.ProblemTagService;
+import com.urbanmind.urbanmind_auth.service.ThumbnailService;
+import com.urbanmind.urbanmind_auth.service.UserSummaryService;
+
+/**
+ * Collects the ids referenced by a page of problems and resolves each kind
+ * with a single IN query (users, viewer likes, cover media, tags), then
+ * assembles the DTOs in memory. A page costs at most four queries regardless
+ * of size, and users usually come from the summary cache instead.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ProblemHydrationServiceImpl implements ProblemHydrationService {
+
+    private final UserSummaryService userSummaryService;
+    private final ProblemLikeRepository likeRepository;
+    private final ProblemMediaRepository mediaRepository;
+    private final ProblemCounterService counterService;
+    private final ThumbnailService thumbnailService;
+    private final ProblemTagService tagService;
+
+    public ProblemHydrationServiceImpl(UserSummaryService userSummaryService,
+                                       ProblemLikeRepository likeRepository,
+                                       ProblemMediaRepository mediaRepository,
+                                       ProblemCounterService counterService,
+                                       ThumbnailService thumbnailService,
+                                       ProblemTagService tagService) {
+        this.userSummaryService = userSummaryService;
+        this.likeRepository = likeRepository;
+        this.mediaRepository = mediaRepository;
+        this.counterService = counterService;
+        this.thumbnailService = thumbnailService;
+        this.tagService = tagService;
+    }
+
+    @Override
+    public List<ProblemResponseDTO> toResponses(List<Problem> problems, Long viewerId) {
+
+        if (problems.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<Long> problemIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        for (Problem p : problems) {
+            problemIds.add(p.getId());
+            userIds.add(p.getCreatedByUserId());
+            if (p.getAssignedToUserId() != null) {
+                userIds.add(p.getAssignedToUserId());
+            }
+        }
+
+        Map<Long, UserSummary> users = userSummaryService.getSummaries(userIds);
+
+        Set<Long> liked = viewerId == null
+                ? Set.of()
+                : new HashSet<>(likeRepository.findLikedProblemIds(viewerId, problemIds));
+
+        Map<Long, String> coverUrls = new HashMap<>();
+        for (ProblemMedia m : mediaRepository.findFirstMediaByProblemIds(problemIds)) {
+            coverUrls.put(m.getProblemId(), thumbnailService.coverUrl(m));
+        }
+
+        Map<Long, List<String>> tags = tagService.getTagNames(problemIds);
+
+        List<ProblemResponseDTO> result = new ArrayList<>(problems.size());
+        for (Problem p : problems) {
+            result.add(assemble(p, users, liked.contains(p.getId()), coverUrls.get(p.getId()),
+                    tags.getOrDefault(p.getId(), List.of())));
+        }
+        return result;
+    }
+
+    @Override
+    public ProblemResponseDTO toResponse(Problem problem, Long viewerId) {
+        return toResponses(List.of(problem), viewerId).get(0);
+    }
+
+    private ProblemResponseDTO assemble(Problem problem,
+                                        Map<Long, UserSummary> users,
+                                        boolean isLiked,
+                                        String coverImageUrl,
+                                        List<String> tags) {
+
+        UserSummary author = users.get(problem.getCreatedByUserId());
+        if (author == null) {
+            throw new ResourceNotFoundException("User not found");
+        }
+
+        boolean anonymous = Boolean.TRUE.equals(problem.getIsAnonymous());
+
+        String name = anonymous ? "Anonymous" : author.getFullName();
+
+        String username = anonymous ? "anonymous" : author.getDisplayUsername();
+
+        ProblemResponseDTO dto = new ProblemResponseDTO();
+        dto.setId(problem.getId());
+        dto.setTitle(problem.getTitle());
+        dto.setDescription(problem.getDescription());
+        dto.setStatus(problem.getStatus());
+        dto.setAnonymous(anonymous);
+        dto.setCategory(problem.getCategory());
+        dto.setCreatedAt(problem.getCreatedAt());
+
+        dto.setAuthorName(name);
+        dto.setAuthorUsername(username);
+        dto.setAuthorAvatar(name.substring(0, 1).toUpperCase());
+
+        dto.setCity(problem.getCity());
+        dto.setState(problem.getState());
+
+        // Persisted value plus whatever is still sitting in the write-behind buffer
+        dto.setUpvoteCount(withPending(problem.getUpvoteCount(), counterService.pendingUpvotes(problem.getId())));
+        dto.setCommentCount(problem.getCommentCount());
+        dto.setShareCount(withPending(problem.getShareCount(), counterService.pendingShares(problem.getId())));
+        dto.setViewCount(withPending(problem.getViewCount(), counterService.pendingViews(problem.getId())));
+        dto.setCoverImageUrl(coverImageUrl);
+
+        dto.setDonationRequired(problem.getDonationRequired());
+        dto.setRequiredAmount(problem.getRequiredAmount());
+
+        dto.setTags(tags);
+
+        // Controls the pink like button on the frontend
+        dto.setIsLiked(isLiked);
+
+        dto.setProgress(problem.getProgress());
+        dto.setTeamCount(problem.getTeamCount());
+        dto.setAmountRaised(problem.getAmountRaised());
+        dto.setAssignedToUserId(problem.getAssignedToUserId());
+
+        if (problem.getAssignedToUserId() != null) {
+            UserSummary assignee = users.get(problem.getAssignedToUserId());
+            if (assignee != null) {
+                dto.setAssignedToUserName(assignee.getFullName());
+            }
+        }
+
+        return dto;
+    }
+
+    private static Integer withPending(Integer persisted, long pending) {
+        long value = (persisted == null ? 0 : persisted) + pending;
+        return (int) Math.max(value, 0);
+    }
+}
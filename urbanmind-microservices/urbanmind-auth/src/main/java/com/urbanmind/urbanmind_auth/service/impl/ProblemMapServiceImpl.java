@@ -0,0 +1,232 @@
+package com.urbanmind.urbanmind_auth.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.urbanmind.urbanmind_auth.dto.response.MapClusterDTO;
+import com.urbanmind.urbanmind_auth.event.ProblemChangedEvent;
+import com.urbanmind.urbanmind_auth.service.ProblemMapService;
+import com.urbanmind.urbanmind_auth.utils.GeoHash;
+
+/**
+ * Running totals per geohash cell for every precision from 1 to 6 characters
+ * (continent down to ~1 km), so a map request is answered from at most a few
+ * thousand precomputed cells and never touches individual problems.
+ *
+ * Each change moves one problem out of its old cell and into its new one at
+ * every level; geohash prefixes mean the coarser cells are just the finest
+ * cell shifted right. Cell stats are immutable and swapped on write, so reads
+ * need no locking. Changes arrive as ProblemChangedEvent from local commits
+ * and from ProblemChangeFeed.
+ */
+@Service
+public class ProblemMapServiceImpl implements ProblemMapService {
+
+    private static final int MIN_PRECISION = 1;
+    private static final int MAX_PRECISION = 6;
+    private static final int FINEST_BITS = MAX_PRECISION * 5;
+
+    private static final String UNKNOWN = "UNKNOWN";
+
+    // index = geohash length; slot 0 unused
+    private final List<Map<Long, CellStats>> levels = new ArrayList<>();
+    private final Map<Long, Located> byId = new ConcurrentHashMap<>();
+
+    // Writers are rare; one lock keeps the per-level moves consistent
+    private final Object writeLock = new Object();
+
+    public ProblemMapServiceImpl() {
+        for (int p = 0; p <= MAX_PRECISION; p++) {
+            levels.add(new ConcurrentHashMap<>());
+        }
+    }
+
+    @Override
+    public int precisionForZoom(int zoom) {
+        // A slippy-map tile at zoom z spans 2^-z of the world's width; aim
+        // for cells roughly an eighth of a tile wide
+        int precision = MIN_PRECISION;
+        for (int p = MIN_PRECISION; p <= MAX_PRECISION; p++) {
+            if (GeoHash.lngBits(p * 5) <= zoom + 3) {
+                precision = p;
+            }
+        }
+        return precision;
+    }
+
+    @Override
+    public List<MapClusterDTO> getClusters(double minLat, double minLng, double maxLat, double maxLng, int zoom) {
+
+        int precision = precisionForZoom(zoom);
+        int bits = precision * 5;
+        int latBits = GeoHash.latBits(bits);
+        int lngBits = GeoHash.lngBits(bits);
+        int lngCells = 1 << lngBits;
+        Map<Long, CellStats> level = levels.get(precision);
+
+        int firstRow = GeoHash.latIndex(minLat, latBits);
+        int lastRow = GeoHash.latIndex(maxLat, latBits);
+        int firstCol = GeoHash.lngIndex(minLng, lngBits);
+        int lastCol = GeoHash.lngIndex(maxLng, lngBits);
+        // minLng > maxLng: the box wraps past 180
+        int colCount = Math.floorMod(lastCol - firstCol, lngCells) + 1;
+        if (minLng > maxLng && firstCol == lastCol) {
+            colCount = lngCells;
+        }
+
+        long boxCells = (long) (lastRow - firstRow + 1) * colCount;
+        List<MapClusterDTO> result = new ArrayList<>();
+
+        if (boxCells <= level.size()) {
+            // Small box: look each cell up
+            for (int row = firstRow; row <= lastRow; row++) {
+                for (int c = 0; c < colCount; c++) {
+                    long cell = GeoHash.interleave((firstCol + c) % lngCells, row, bits);
+                    CellStats stats = level.get(cell);
+                    if (stats != null) {
+                        result.add(stats.toDto(GeoHash.toBase32(cell, bits)));
+                    }
+                }
+            }
+        } else {
+            // Box bigger than the populated part of the level: walk what exists
+            for (Map.Entry<Long, CellStats> e : level.entrySet()) {
+                double[] b = GeoHash.bounds(e.getKey(), bits);
+                int row = GeoHash.latIndex(b[0] + b[2] / 2, latBits);
+                int col = GeoHash.lngIndex(b[1] + b[3] / 2, lngBits);
+                if (row >= firstRow && row <= lastRow
+                        && Math.floorMod(col - firstCol, lngCells) < colCount) {
+                    result.add(e.getValue().toDto(GeoHash.toBase32(e.getKey(), bits)));
+                }
+            }
+        }
+
+        result.sort(Comparator.comparing(MapClusterDTO::getGeohash));
+        return result;
+    }
+
+    // ===== MAINTENANCE =====
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProblemChanged(ProblemChangedEvent event) {
+        Located now = event.hasLocation()
+                ? new Located(event.getLatitude(), event.getLongitude(),
+                        label(event.getStatus()), label(event.getSeverity()))
+                : null;
+
+        synchronized (writeLock) {
+            Located old = byId.get(event.getProblemId());
+            if (Objects.equals(old, now)) {
+                return;
+            }
+
+            if (old != null) {
+                for (int p = MIN_PRECISION; p <= MAX_PRECISION; p++) {
+                    levels.get(p).computeIfPresent(old.cellAt(p), (k, s) -> s.plus(old, -1));
+                }
+                byId.remove(event.getProblemId());
+            }
+            if (now != null) {
+                for (int p = MIN_PRECISION; p <= MAX_PRECISION; p++) {
+                    levels.get(p).compute(now.cellAt(p),
+                            (k, s) -> (s == null ? CellStats.EMPTY : s).plus(now, 1));
+                }
+                byId.put(event.getProblemId(), now);
+            }
+        }
+    }
+
+    private static String label(String value) {
+        return value == null || value.isBlank() ? UNKNOWN : value.intern();
+    }
+
+    // Where a problem is counted, remembered so it can be taken out again
+    private static final class Located {
+        final double lat;
+        final double lng;
+        final String status;
+        final String severity;
+        final long finestCell;
+
+        Located(double lat, double lng, String status, String severity) {
+            this.lat = lat;
+            this.lng = lng;
+            this.status = status;
+            this.severity = severity;
+            this.finestCell = GeoHash.encode(lat, lng, FINEST_BITS);
+        }
+
+        long cellAt(int precision) {
+            return finestCell >>> (5 * (MAX_PRECISION - precision));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Located other)) {
+                return false;
+            }
+            return lat == other.lat && lng == other.lng
+                    && status.equals(other.status) && severity.equals(other.severity);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(lat, lng, status, severity);
+        }
+    }
+
+    private static final class CellStats {
+
+        static final CellStats EMPTY = new CellStats(0, 0, 0, Map.of(), Map.of());
+
+        final int count;
+        final double sumLat;
+        final double sumLng;
+        final Map<String, Integer> byStatus;
+        final Map<String, Integer> bySeverity;
+
+        CellStats(int count, double sumLat, double sumLng,
+                  Map<String, Integer> byStatus, Map<String, Integer> bySeverity) {
+            this.count = count;
+            this.sumLat = sumLat;
+            this.sumLng = sumLng;
+            this.byStatus = byStatus;
+            this.bySeverity = bySeverity;
+        }
+
+        // Null once the cell is empty, which removes it from the level map
+        CellStats plus(Located loc, int sign) {
+            int newCount = count + sign;
+            if (newCount <= 0) {
+                return null;
+            }
+            return new CellStats(newCount,
+                    sumLat + sign * loc.lat,
+                    sumLng + sign * loc.lng,
+                    adjust(byStatus, loc.status, sign),
+                    adjust(bySeverity, loc.severity, sign));
+        }
+
+        MapClusterDTO toDto(String geohash) {
+            return new MapClusterDTO(geohash, sumLat / count, sumLng / count, count, byStatus, bySeverity);
+        }
+
+        private static Map<String, Integer> adjust(Map<String, Integer> counts, String key, int sign) {
+            Map<String, Integer> copy = new HashMap<>(counts);
+            copy.merge(key, sign, Integer::sum);
+            if (copy.get(key) <= 0) {
+                copy.remove(key);
+            }
+            return Collections.unmodifiableMap(copy);
+        }
+    }
+}
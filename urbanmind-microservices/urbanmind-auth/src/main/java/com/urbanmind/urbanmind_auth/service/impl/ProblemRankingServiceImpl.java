@@ -0,0 +1,130 @@
+package com.urbanmind.urbanmind_auth.service.impl;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.urbanmind.urbanmind_auth.repository.ProblemRepository;
+import com.urbanmind.urbanmind_auth.repository.ProblemRepository.HotRow;
+import com.urbanmind.urbanmind_auth.service.ProblemCounterService;
+import com.urbanmind.urbanmind_auth.service.ProblemRankingService;
+
+/**
+ * "Hot" ranking for the home feed, HN-style:
+ *
+ *   score = (upvotes + 2 * comments + 3 * shares + severityPoints + 1) / (ageHours + 2) ^ 1.5
+ *
+ * Age decay moves every score at once, so instead of updating a sorted
+ * structure per like, a background task rescores all problems from the
+ * recent window every few seconds (persisted counters plus whatever is
+ * still in this node's write-behind buffer) and publishes the best
+ * MAX_RANKED ids as an immutable array. Requests copy a slice of it: O(K),
+ * no database and no scoring on the request path.
+ */
+@Service
+public class ProblemRankingServiceImpl implements ProblemRankingService {
+
+    static final int MAX_RANKED = 1000;
+
+    private static final double GRAVITY = 1.5;
+
+    private final ProblemRepository problemRepository;
+    private final ProblemCounterService counterService;
+    private final Duration window;
+
+    private volatile long[] ranked = new long[0];
+
+    public ProblemRankingServiceImpl(ProblemRepository problemRepository,
+                                     ProblemCounterService counterService,
+                                     @Value("${urbanmind.ranking.window-days:14}") int windowDays) {
+        this.problemRepository = problemRepository;
+        this.counterService = counterService;
+        this.window = Duration.ofDays(windowDays);
+    }
+
+    @Override
+    public List<Long> getHot(int offset, int limit) {
+        long[] snapshot = ranked;
+        int from = Math.min(Math.max(offset, 0), snapshot.length);
+        int to = Math.min(from + limit, snapshot.length);
+
+        List<Long> ids = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            ids.add(snapshot[i]);
+        }
+        return ids;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${urbanmind.ranking.refresh-ms:5000}")
+    public void refresh() {
+        OffsetDateTime now = OffsetDateTime.now();
+
+        // Min-heap on score holding the best MAX_RANKED so far
+        PriorityQueue<Scored> best = new PriorityQueue<>(MAX_RANKED + 1,
+                Comparator.comparingDouble((Scored s) -> s.score).thenComparingLong(s -> s.id));
+
+        for (HotRow row : problemRepository.findHotCandidates(now.minus(window))) {
+            long upvotes = orZero(row.getUpvoteCount()) + counterService.pendingUpvotes(row.getId());
+            long shares = orZero(row.getShareCount()) + counterService.pendingShares(row.getId());
+            double ageHours = Duration.between(row.getCreatedAt(), now).toMillis() / 3_600_000.0;
+
+            double score = score(upvotes, orZero(row.getCommentCount()), shares, row.getSeverity(), ageHours);
+            if (best.size() == MAX_RANKED && score <= best.peek().score) {
+                continue;
+            }
+            best.add(new Scored(row.getId(), score));
+            if (best.size() > MAX_RANKED) {
+                best.poll();
+            }
+        }
+
+        long[] next = new long[best.size()];
+        for (int i = next.length - 1; i >= 0; i--) {
+            next[i] = best.poll().id;
+        }
+        ranked = next;
+    }
+
+    static double score(long upvotes, long comments, long shares, String severity, double ageHours) {
+        double points = Math.max(0, upvotes) + 2.0 * comments + 3.0 * Math.max(0, shares)
+                + severityPoints(severity) + 1;
+        return points / Math.pow(Math.max(0, ageHours) + 2, GRAVITY);
+    }
+
+    // A fresh critical report starts where a few likes would put it
+    private static int severityPoints(String severity) {
+        if (severity == null) {
+            return 0;
+        }
+        return switch (severity.trim().toLowerCase(Locale.ROOT)) {
+            case "critical" -> 8;
+            case "high" -> 4;
+            case "medium" -> 2;
+            case "low" -> 1;
+            default -> 0;
+        };
+    }
+
+    private static long orZero(Integer value) {
+        return value == null ? 0 : value;
+    }
+
+    private static final class Scored {
+        final long id;
+        final double score;
+
+        Scored(long id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,464 @@
+package com.urbanmind.urbanmind_auth.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.urbanmind.urbanmind_auth.event.ProblemChangedEvent;
+import com.urbanmind.urbanmind_auth.service.ProblemSearchService;
+
+/**
+ * In-memory inverted index over problem title, tags, city and description.
+ *
+ * Every problem gets a dense int ordinal; each term maps to a postings list
+ * of (ordinal, weighted term frequency). Scoring is BM25 with per-field
+ * weights folded into the term frequency. A query walks the postings of its
+ * rarest word first into a pooled score accumulator, then only keeps
+ * documents that every other word also hits, and finally takes the top
+ * {@code limit} through a small heap. The last word of a type-ahead query is
+ * expanded through the sorted term dictionary to its most common completions.
+ *
+ * Postings are appended in place and published through a volatile snapshot,
+ * so queries run without locks; removals copy. Contents arrive as
+ * ProblemChangedEvent, from local commits and from ProblemChangeFeed.
+ */
+@Service
+public class ProblemSearchServiceImpl implements ProblemSearchService {
+
+    // A word in the title says more about a problem than one in the description
+    private static final float TITLE_WEIGHT = 3f;
+    private static final float TAGS_WEIGHT = 2f;
+    private static final float CITY_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+
+    // BM25 term-frequency saturation and length normalisation
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private static final int MAX_QUERY_WORDS = 8;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    // Completions rank below the whole word the user may still be typing
+    private static final float PREFIX_WEIGHT = 0.7f;
+
+    private final NavigableMap<String, Postings> terms = new ConcurrentSkipListMap<>();
+    private final Map<Long, Integer> ordinals = new ConcurrentHashMap<>();
+    private volatile Doc[] docs = new Doc[1024];
+    // docs[ord].length, kept flat so scoring never chases a pointer
+    private volatile float[] lengths = new float[1024];
+    private volatile int docCount;
+    private volatile float avgLength = 1;
+    private double totalLength;
+
+    private final Queue<Accumulator> accumulators = new ConcurrentLinkedQueue<>();
+
+    // Writers are rare; one lock keeps postings and document stats consistent
+    private final Object writeLock = new Object();
+
+    @Override
+    public List<SearchHit> search(String query, String status, String category, String severity, int limit) {
+
+        List<String> words = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        if (words.size() > MAX_QUERY_WORDS) {
+            words = words.subList(0, MAX_QUERY_WORDS);
+        }
+        boolean typing = !Character.isWhitespace(query.charAt(query.length() - 1));
+
+        // Ordinals below n are fully written (docCount is published last)
+        int n = docCount;
+        Doc[] docs = this.docs;
+        float[] lengths = this.lengths;
+        float avg = avgLength;
+
+        // ===== CLAUSES (one per word, rarest first) =====
+        List<Clause> clauses = new ArrayList<>();
+        for (int i = 0; i < words.size(); i++) {
+            String word = words.get(i);
+            boolean prefix = typing && i == words.size() - 1 && word.length() >= MIN_PREFIX_LENGTH;
+            Clause clause = prefix ? prefixClause(word, n) : exactClause(word, n);
+            if (clause.cost == 0) {
+                return List.of();
+            }
+            clauses.add(clause);
+        }
+        clauses.sort(Comparator.comparingLong(c -> c.cost));
+
+        // ===== SCORE =====
+        Accumulator acc = borrow(n);
+        try {
+            for (int g = 0; g < clauses.size(); g++) {
+                Clause clause = clauses.get(g);
+                for (int t = 0; t < clause.postings.size(); t++) {
+                    Snapshot s = clause.postings.get(t);
+                    float weight = clause.weights.get(t);
+                    for (int i = 0; i < s.size; i++) {
+                        int ord = s.ords[i];
+                        if (ord >= n) {
+                            continue; // added after this query started
+                        }
+                        // matched[ord] == g: hit every earlier word, first hit on this one
+                        int m = acc.matched[ord];
+                        if (m == g) {
+                            if (g == 0) {
+                                acc.touch(ord);
+                            }
+                            acc.matched[ord] = (byte) (g + 1);
+                        } else if (m != g + 1) {
+                            continue;
+                        }
+                        acc.score[ord] += weight * saturate(s.tfs[i], lengths[ord], avg);
+                    }
+                }
+            }
+
+            // ===== FILTER + TOP K =====
+            // Min-heap on score holding the best `limit` so far
+            Comparator<SearchHit> worstFirst = Comparator.comparingDouble(SearchHit::getScore)
+                    .thenComparing(SearchHit::getProblemId);
+            PriorityQueue<SearchHit> best = new PriorityQueue<>(limit + 1, worstFirst);
+
+            for (int i = 0; i < acc.touchedCount; i++) {
+                int ord = acc.touched[i];
+                if (acc.matched[ord] != clauses.size()) {
+                    continue;
+                }
+                float score = acc.score[ord];
+                if (best.size() == limit && score <= best.peek().getScore()) {
+                    continue;
+                }
+                Doc d = docs[ord];
+                if ((status != null && !status.equals(d.status))
+                        || (category != null && !category.equals(d.category))
+                        || (severity != null && !severity.equals(d.severity))) {
+                    continue;
+                }
+                best.add(new SearchHit(d.id, score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+
+            List<SearchHit> result = new ArrayList<>(best);
+            result.sort(worstFirst.reversed());
+            return result;
+        } finally {
+            release(acc);
+        }
+    }
+
+    private Clause exactClause(String word, int n) {
+        Clause clause = new Clause();
+        Postings p = terms.get(word);
+        if (p != null) {
+            clause.add(p.snapshot, idf(p.snapshot.size, n));
+        }
+        return clause;
+    }
+
+    private Clause prefixClause(String prefix, int n) {
+        // Most common completions win when there are too many
+        PriorityQueue<Map.Entry<String, Snapshot>> common = new PriorityQueue<>(
+                MAX_PREFIX_EXPANSIONS + 1, Comparator.comparingInt(e -> e.getValue().size));
+        for (Map.Entry<String, Postings> e
+                : terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).entrySet()) {
+            common.add(Map.entry(e.getKey(), e.getValue().snapshot));
+            if (common.size() > MAX_PREFIX_EXPANSIONS) {
+                common.poll();
+            }
+        }
+
+        Clause clause = new Clause();
+        for (Map.Entry<String, Snapshot> e : common) {
+            float weight = e.getKey().equals(prefix) ? 1f : PREFIX_WEIGHT;
+            clause.add(e.getValue(), weight * idf(e.getValue().size, n));
+        }
+        return clause;
+    }
+
+    private static float idf(int df, int n) {
+        return (float) Math.log(1 + (n - df + 0.5) / (df + 0.5));
+    }
+
+    private static float saturate(float tf, float length, float avgLength) {
+        return tf * (K1 + 1) / (tf + K1 * (1 - B + B * length / avgLength));
+    }
+
+    // ===== MAINTENANCE =====
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProblemChanged(ProblemChangedEvent event) {
+        Map<String, Float> weighted = new TreeMap<>();
+        float length = addField(weighted, event.getTitle(), TITLE_WEIGHT)
+                + addField(weighted, event.getTags(), TAGS_WEIGHT)
+                + addField(weighted, event.getCity(), CITY_WEIGHT)
+                + addField(weighted, event.getDescription(), DESCRIPTION_WEIGHT);
+
+        synchronized (writeLock) {
+            Integer ord = ordinals.get(event.getProblemId());
+            Doc old = ord == null ? null : docs[ord];
+
+            // Share one String per term between the dictionary and every document
+            String[] newTerms = new String[weighted.size()];
+            float[] newTfs = new float[weighted.size()];
+            int k = 0;
+            for (Map.Entry<String, Float> e : weighted.entrySet()) {
+                String term = e.getKey();
+                if (terms.containsKey(term)) {
+                    term = terms.ceilingKey(term);
+                }
+                newTerms[k] = term;
+                newTfs[k++] = e.getValue();
+            }
+            Doc doc = new Doc(event.getProblemId(), event.getStatus(), event.getCategory(),
+                    event.getSeverity(), length, newTerms, newTfs);
+
+            if (ord == null) {
+                ord = docCount;
+                if (ord == docs.length) {
+                    lengths = Arrays.copyOf(lengths, ord * 2);
+                    docs = Arrays.copyOf(docs, ord * 2);
+                }
+                docs[ord] = doc;
+                lengths[ord] = length;
+                ordinals.put(doc.id, ord);
+                docCount = ord + 1;
+            } else {
+                docs[ord] = doc;
+                lengths[ord] = length;
+            }
+
+            // Status-only changes leave the postings alone
+            if (old == null || !Arrays.equals(old.terms, newTerms) || !Arrays.equals(old.tfs, newTfs)) {
+                updatePostings(ord, old, doc);
+            }
+
+            totalLength += length - (old == null ? 0 : old.length);
+            avgLength = (float) Math.max(1, totalLength / docCount);
+        }
+    }
+
+    // Merge the two sorted term lists: drop, re-weight or add
+    private void updatePostings(int ord, Doc old, Doc doc) {
+        String[] before = old == null ? new String[0] : old.terms;
+        int i = 0;
+        int j = 0;
+        while (i < before.length || j < doc.terms.length) {
+            int cmp = i == before.length ? 1
+                    : j == doc.terms.length ? -1
+                    : before[i].compareTo(doc.terms[j]);
+            if (cmp < 0) {
+                Postings p = terms.get(before[i]);
+                if (p != null && p.remove(ord)) {
+                    terms.remove(before[i]);
+                }
+                i++;
+            } else if (cmp > 0) {
+                terms.computeIfAbsent(doc.terms[j], t -> new Postings()).add(ord, doc.tfs[j]);
+                j++;
+            } else {
+                if (old.tfs[i] != doc.tfs[j]) {
+                    terms.get(doc.terms[j]).set(ord, doc.tfs[j]);
+                }
+                i++;
+                j++;
+            }
+        }
+    }
+
+    private static float addField(Map<String, Float> weighted, String text, float weight) {
+        List<String> words = tokenize(text);
+        for (String word : words) {
+            weighted.merge(word, weight, Float::sum);
+        }
+        return words.size() * weight;
+    }
+
+    // Lower-cased runs of letters, digits and combining marks, so Devanagari
+    // vowel signs stay inside their word
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean inWord = i < lower.length() && isWordChar(lower.charAt(i));
+            if (inWord && start < 0) {
+                start = i;
+            } else if (!inWord && start >= 0) {
+                words.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    private static boolean isWordChar(char c) {
+        if (Character.isLetterOrDigit(c)) {
+            return true;
+        }
+        int type = Character.getType(c);
+        return type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK;
+    }
+
+    public int size() {
+        return docCount;
+    }
+
+    // ===== ACCUMULATOR POOL =====
+    // One per concurrent query rather than per thread, so a big Tomcat pool
+    // does not pin a document-sized array per worker
+
+    private Accumulator borrow(int size) {
+        Accumulator acc = accumulators.poll();
+        if (acc == null) {
+            acc = new Accumulator();
+        }
+        acc.ensureCapacity(size);
+        return acc;
+    }
+
+    private void release(Accumulator acc) {
+        for (int i = 0; i < acc.touchedCount; i++) {
+            int ord = acc.touched[i];
+            acc.score[ord] = 0;
+            acc.matched[ord] = 0;
+        }
+        acc.touchedCount = 0;
+        accumulators.offer(acc);
+    }
+
+    private static final class Accumulator {
+        float[] score = new float[0];
+        byte[] matched = new byte[0];
+        int[] touched = new int[1024];
+        int touchedCount;
+
+        void ensureCapacity(int size) {
+            if (score.length < size) {
+                score = new float[size];
+                matched = new byte[size];
+            }
+        }
+
+        void touch(int ord) {
+            if (touchedCount == touched.length) {
+                touched = Arrays.copyOf(touched, touchedCount * 2);
+            }
+            touched[touchedCount++] = ord;
+        }
+    }
+
+    // ===== INDEX STRUCTURES =====
+
+    private static final class Clause {
+        final List<Snapshot> postings = new ArrayList<>();
+        final List<Float> weights = new ArrayList<>();
+        long cost;
+
+        void add(Snapshot snapshot, float weight) {
+            postings.add(snapshot);
+            weights.add(weight);
+            cost += snapshot.size;
+        }
+    }
+
+    // Writers hold the index write lock. Readers never look past their
+    // snapshot's size, so appending in place is safe; removal copies.
+    private static final class Postings {
+        volatile Snapshot snapshot = new Snapshot(new int[4], new float[4], 0);
+
+        void add(int ord, float tf) {
+            Snapshot s = snapshot;
+            int[] ords = s.ords;
+            float[] tfs = s.tfs;
+            if (s.size == ords.length) {
+                ords = Arrays.copyOf(ords, s.size * 2);
+                tfs = Arrays.copyOf(tfs, s.size * 2);
+            }
+            ords[s.size] = ord;
+            tfs[s.size] = tf;
+            snapshot = new Snapshot(ords, tfs, s.size + 1);
+        }
+
+        void set(int ord, float tf) {
+            Snapshot s = snapshot;
+            for (int i = 0; i < s.size; i++) {
+                if (s.ords[i] == ord) {
+                    s.tfs[i] = tf;
+                    return;
+                }
+            }
+        }
+
+        // True once the list is empty
+        boolean remove(int ord) {
+            Snapshot s = snapshot;
+            for (int i = 0; i < s.size; i++) {
+                if (s.ords[i] == ord) {
+                    int[] ords = new int[Math.max(4, s.size - 1)];
+                    float[] tfs = new float[ords.length];
+                    System.arraycopy(s.ords, 0, ords, 0, i);
+                    System.arraycopy(s.ords, i + 1, ords, i, s.size - i - 1);
+                    System.arraycopy(s.tfs, 0, tfs, 0, i);
+                    System.arraycopy(s.tfs, i + 1, tfs, i, s.size - i - 1);
+                    snapshot = new Snapshot(ords, tfs, s.size - 1);
+                    break;
+                }
+            }
+            return snapshot.size == 0;
+        }
+    }
+
+    private static final class Snapshot {
+        final int[] ords;
+        final float[] tfs;
+        final int size;
+
+        Snapshot(int[] ords, float[] tfs, int size) {
+            this.ords = ords;
+            this.tfs = tfs;
+            this.size = size;
+        }
+    }
+
+    // Immutable, so a racy read of docs[ord] still sees a whole document
+    private static final class Doc {
+        final Long id;
+        final String status;
+        final String category;
+        final String severity;
+        final float length;
+        final String[] terms; // sorted
+        final float[] tfs;
+
+        Doc(Long id, String status, String category, String severity,
+            float length, String[] terms, float[] tfs) {
+            this.id = id;
+            this.status = status;
+            this.category = category;
+            this.severity = severity;
+            this.length = length;
+            this.terms = terms;
+            this.tfs = tfs;
+        }
+    }
+}
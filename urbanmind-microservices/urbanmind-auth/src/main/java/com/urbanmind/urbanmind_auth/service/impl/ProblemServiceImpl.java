@@ -2,19 +2,34 @@ package com.urbanmind.urbanmind_auth.service.impl;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.urbanmind.urbanmind_auth.dto.request.ProblemFilterDTO;
 import com.urbanmind.urbanmind_auth.dto.request.ProblemRequestDTO;
 import com.urbanmind.urbanmind_auth.dto.request.StatusUpdateDTO;
 import com.urbanmind.urbanmind_auth.entity.Problem;
-import com.urbanmind.urbanmind_auth.entity.ProblemLike;
+import com.urbanmind.urbanmind_auth.event.ProblemActivityEvent;
+import com.urbanmind.urbanmind_auth.event.ProblemChangedEvent;
+import com.urbanmind.urbanmind_auth.exception.ApiException;
+import com.urbanmind.urbanmind_auth.exception.ResourceNotFoundException;
 import com.urbanmind.urbanmind_auth.repository.ProblemLikeRepository;
 import com.urbanmind.urbanmind_auth.repository.ProblemRepository;
+import com.urbanmind.urbanmind_auth.repository.ProblemSpecifications;
+import com.urbanmind.urbanmind_auth.repository.ProblemSpecifications.SortOrder;
+import com.urbanmind.urbanmind_auth.service.ProblemCounterService;
 import com.urbanmind.urbanmind_auth.service.ProblemService;
+import com.urbanmind.urbanmind_auth.service.ProblemTagService;
 import com.urbanmind.urbanmind_auth.service.ProblemTimelineService;
+import com.urbanmind.urbanmind_auth.utils.FeedCursor;
 
 @Service
 @Transactional
@@ -23,13 +38,22 @@ public class ProblemServiceImpl implements ProblemService {
     private final ProblemRepository problemRepository;
     private final ProblemTimelineService timelineService;
     private final ProblemLikeRepository likeRepository;
+    private final ProblemCounterService counterService;
+    private final ProblemTagService tagService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ProblemServiceImpl(ProblemRepository problemRepository,
                               ProblemTimelineService timelineService,
-                              ProblemLikeRepository likeRepository) {
+                              ProblemLikeRepository likeRepository,
+                              ProblemCounterService counterService,
+                              ProblemTagService tagService,
+                              ApplicationEventPublisher eventPublisher) {
         this.problemRepository = problemRepository;
         this.timelineService = timelineService;
         this.likeRepository = likeRepository;
+        this.counterService = counterService;
+        this.tagService = tagService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -41,7 +65,9 @@ public class ProblemServiceImpl implements ProblemService {
         p.setDescription(dto.getDescription());
         p.setCategory(dto.getCategory());
         p.setSeverity(dto.getSeverity());
-        p.setTags(dto.getTags());
+
+        List<String> tags = tagService.normalize(dto.getTags());
+        p.setTags(joinTags(tags));
 
         p.setAddressLine(dto.getAddressLine());
         p.setCity(dto.getCity());
@@ -79,7 +105,9 @@ public class ProblemServiceImpl implements ProblemService {
         p.setCreatedAt(OffsetDateTime.now());
         p.setUpdatedAt(OffsetDateTime.now());
 
-        return problemRepository.save(p);
+        Problem saved = saveAndPublish(p);
+        tagService.replaceTags(saved.getId(), tags);
+        return saved;
     }
 
     @Override
@@ -100,7 +128,7 @@ public class ProblemServiceImpl implements ProblemService {
                 dto.getChangedByUserId()
         );
 
-        return problemRepository.save(problem);
+        return saveAndPublish(problem);
     }
 
     @Override
@@ -108,48 +136,118 @@ public class ProblemServiceImpl implements ProblemService {
         return problemRepository.findAllByOrderByCreatedAtDesc();
     }
 
+    @Override
+    public List<Problem> getFeed(FeedCursor after, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+
+        if (after == null) {
+            return problemRepository.findFeedFirstPage(page);
+        }
+        return problemRepository.findFeedAfter(after.getCreatedAt(), after.getId(), page);
+    }
+
+    @Override
+    public List<Problem> getFeedByTag(String tag, FeedCursor after, int limit) {
+        Long tagId = tagService.findTagId(tag);
+        if (tagId == null) {
+            return List.of();
+        }
+        PageRequest page = PageRequest.of(0, limit);
+
+        if (after == null) {
+            return problemRepository.findTagFeedFirstPage(tagId, page);
+        }
+        return problemRepository.findTagFeedAfter(tagId, after.getCreatedAt(), after.getId(), page);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Problem> listProblems(ProblemFilterDTO filter, int page, int size) {
+
+        SortOrder sort = parseSort(filter.getSort());
+
+        Specification<Problem> spec = Specification.where(ProblemSpecifications.orderedBy(sort))
+                .and(ProblemSpecifications.hasStatus(filter.getStatus()))
+                .and(ProblemSpecifications.hasCategory(filter.getCategory()))
+                .and(ProblemSpecifications.hasSeverity(filter.getSeverity()))
+                .and(ProblemSpecifications.inCity(filter.getCity()))
+                .and(ProblemSpecifications.inState(filter.getState()))
+                .and(ProblemSpecifications.donationEnabled(filter.getDonationEnabled()))
+                .and(ProblemSpecifications.createdFrom(filter.getCreatedFrom()))
+                .and(ProblemSpecifications.createdBefore(filter.getCreatedTo()));
+
+        if (filter.getTag() != null && !filter.getTag().isBlank()) {
+            Long tagId = tagService.findTagId(filter.getTag());
+            if (tagId == null) {
+                return Page.empty(PageRequest.of(page, size));
+            }
+            spec = spec.and(ProblemSpecifications.hasTag(tagId));
+        }
+
+        // Unsorted on purpose: orderedBy() owns the ORDER BY
+        return problemRepository.findAll(spec, PageRequest.of(page, size));
+    }
+
+    private static SortOrder parseSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return SortOrder.RECENT;
+        }
+        try {
+            return SortOrder.valueOf(sort.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ApiException("sort must be one of recent, upvotes, severity");
+        }
+    }
+
     @Override
     public List<Problem> getProblemsByUser(Long userId) {
         return problemRepository.findByCreatedByUserIdOrderByCreatedAtDesc(userId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Problem getProblemById(Long problemId) {
+        return problemRepository.findById(problemId)
+                .orElseThrow(() -> new ResourceNotFoundException("Problem not found"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Problem> getProblemsByIds(Collection<Long> problemIds) {
+        return problemRepository.findAllById(problemIds);
+    }
+
     @Override
     public void likeProblem(Long problemId, Long userId) {
-        if (!likeRepository.existsByProblemIdAndUserId(problemId, userId)) {
-            ProblemLike like = new ProblemLike();
-            like.setProblemId(problemId);
-            like.setUserId(userId);
-            like.setLikedAt(OffsetDateTime.now());
-            likeRepository.save(like);
-
-            Problem problem = problemRepository.findById(problemId)
-                    .orElseThrow(() -> new RuntimeException("Problem not found"));
-            problem.setUpvoteCount(problem.getUpvoteCount() + 1);
-            problemRepository.save(problem);
+        requireExists(problemId);
+
+        // Insert-or-ignore on the unique (problem_id, user_id) pair, so a
+        // duplicate like is a no-op and the counter only moves on a real insert
+        if (likeRepository.insertIfAbsent(problemId, userId) == 1) {
+            counterService.addUpvotes(problemId, 1);
+            eventPublisher.publishEvent(new ProblemActivityEvent(problemId, userId, ProblemActivityEvent.Kind.LIKED));
         }
     }
 
     @Override
     public void unlikeProblem(Long problemId, Long userId) {
-        if (likeRepository.existsByProblemIdAndUserId(problemId, userId)) {
-            likeRepository.deleteByProblemIdAndUserId(problemId, userId);
-
-            Problem problem = problemRepository.findById(problemId)
-                    .orElseThrow(() -> new RuntimeException("Problem not found"));
-            if (problem.getUpvoteCount() > 0) {
-                problem.setUpvoteCount(problem.getUpvoteCount() - 1);
-                problemRepository.save(problem);
-            }
+        if (likeRepository.deleteLike(problemId, userId) == 1) {
+            counterService.addUpvotes(problemId, -1);
+            eventPublisher.publishEvent(new ProblemActivityEvent(problemId, userId, ProblemActivityEvent.Kind.UNLIKED));
         }
     }
+
     @Override
     public void shareProblem(Long problemId) {
-        Problem problem = problemRepository.findById(problemId)
-                .orElseThrow(() -> new RuntimeException("Problem not found"));
-        
-        int currentShares = problem.getShareCount() == null ? 0 : problem.getShareCount();
-        problem.setShareCount(currentShares + 1);
-        problemRepository.save(problem);
+        requireExists(problemId);
+        counterService.addShares(problemId, 1);
+    }
+
+    // Plain PK read; the counter itself is written later by the buffer
+    private void requireExists(Long problemId) {
+        if (!problemRepository.existsById(problemId)) {
+            throw new ResourceNotFoundException("Problem not found");
+        }
     }
 
     @Override
@@ -173,7 +271,7 @@ public class ProblemServiceImpl implements ProblemService {
                 volunteerId
         );
 
-        return problemRepository.save(problem);
+        return saveAndPublish(problem);
     }
 
     @Override
@@ -197,7 +295,7 @@ public class ProblemServiceImpl implements ProblemService {
                 volunteerId
         );
 
-        return problemRepository.save(problem);
+        return saveAndPublish(problem);
     }
 
     @Override
@@ -223,9 +321,27 @@ public class ProblemServiceImpl implements ProblemService {
         if (dto.getStatus() != null && !dto.getStatus().isBlank()) {
             problem.setStatus(dto.getStatus());
         }
+        if (dto.getTags() != null) {
+            List<String> tags = tagService.normalize(dto.getTags());
+            problem.setTags(joinTags(tags));
+            tagService.replaceTags(problemId, tags);
+        }
         // Can add other fields like title, description updates if needed
 
         problem.setUpdatedAt(OffsetDateTime.now());
-        return problemRepository.save(problem);
+        return saveAndPublish(problem);
+    }
+
+    // Normalised copy kept on the row for the in-memory search index;
+    // problem_tags is the source of truth
+    private static String joinTags(List<String> tags) {
+        return tags.isEmpty() ? null : String.join(",", tags);
+    }
+
+    // In-memory indexes (geo, map tiles, search) pick the change up after commit
+    private Problem saveAndPublish(Problem problem) {
+        Problem saved = problemRepository.save(problem);
+        eventPublisher.publishEvent(ProblemChangedEvent.of(saved));
+        return saved;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,146 @@
+package com.urbanmind.urbanmind_auth.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.urbanmind.urbanmind_auth.dto.response.TagCountDTO;
+import com.urbanmind.urbanmind_auth.entity.Tag;
+import com.urbanmind.urbanmind_auth.repository.ProblemTagRepository;
+import com.urbanmind.urbanmind_auth.repository.ProblemTagRepository.TagNameRow;
+import com.urbanmind.urbanmind_auth.repository.TagRepository;
+import com.urbanmind.urbanmind_auth.service.ProblemTagService;
+
+/**
+ * Tags live in tags + problem_tags. tags.problem_count is moved by exactly
+ * the rows inserted or deleted (insert-or-ignore reports which ones were
+ * new), in the same transaction, so the facet list is one indexed read and
+ * never a GROUP BY over problem_tags.
+ */
+@Service
+@Transactional
+public class ProblemTagServiceImpl implements ProblemTagService {
+
+    public static final int MAX_TAGS_PER_PROBLEM = 10;
+    public static final int MAX_TAG_LENGTH = 50;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final TagRepository tagRepository;
+    private final ProblemTagRepository problemTagRepository;
+
+    public ProblemTagServiceImpl(TagRepository tagRepository, ProblemTagRepository problemTagRepository) {
+        this.tagRepository = tagRepository;
+        this.problemTagRepository = problemTagRepository;
+    }
+
+    // Keep in step with the backfill in db/005_problem_tags.sql
+    @Override
+    public List<String> normalize(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return List.of();
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (String part : raw.split(",")) {
+            String name = part.trim();
+            int hashes = 0;
+            while (hashes < name.length() && name.charAt(hashes) == '#') {
+                hashes++;
+            }
+            name = WHITESPACE.matcher(name.substring(hashes).trim().toLowerCase(Locale.ROOT)).replaceAll("-");
+            if (name.length() > MAX_TAG_LENGTH) {
+                name = name.substring(0, MAX_TAG_LENGTH);
+            }
+            if (!name.isEmpty()) {
+                names.add(name);
+            }
+            if (names.size() == MAX_TAGS_PER_PROBLEM) {
+                break;
+            }
+        }
+        return new ArrayList<>(names);
+    }
+
+    @Override
+    public void replaceTags(Long problemId, List<String> names) {
+
+        Set<Long> current = new HashSet<>(problemTagRepository.findTagIdsByProblemId(problemId));
+
+        Set<Long> wanted = new LinkedHashSet<>();
+        if (!names.isEmpty()) {
+            for (String name : names) {
+                tagRepository.insertIfAbsent(name);
+            }
+            Map<String, Long> ids = new HashMap<>();
+            for (Tag t : tagRepository.findByNameIn(names)) {
+                ids.put(t.getName(), t.getId());
+            }
+            for (String name : names) {
+                wanted.add(ids.get(name));
+            }
+        }
+
+        List<Long> added = new ArrayList<>();
+        for (Long tagId : wanted) {
+            if (!current.contains(tagId) && problemTagRepository.insertIfAbsent(problemId, tagId) == 1) {
+                added.add(tagId);
+            }
+        }
+        List<Long> removed = new ArrayList<>();
+        for (Long tagId : current) {
+            if (!wanted.contains(tagId) && problemTagRepository.deleteTag(problemId, tagId) == 1) {
+                removed.add(tagId);
+            }
+        }
+
+        if (!added.isEmpty()) {
+            tagRepository.addToProblemCount(added, 1);
+        }
+        if (!removed.isEmpty()) {
+            tagRepository.addToProblemCount(removed, -1);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, List<String>> getTagNames(Collection<Long> problemIds) {
+        Map<Long, List<String>> names = new HashMap<>();
+        if (problemIds.isEmpty()) {
+            return names;
+        }
+        for (TagNameRow row : problemTagRepository.findTagNames(problemIds)) {
+            names.computeIfAbsent(row.getProblemId(), id -> new ArrayList<>()).add(row.getName());
+        }
+        return names;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Long findTagId(String name) {
+        List<String> normalized = normalize(name);
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        return tagRepository.findByName(normalized.get(0)).map(Tag::getId).orElse(null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TagCountDTO> getTopTags(int limit) {
+        return tagRepository.findTop(PageRequest.of(0, limit))
+                .stream()
+                .map(t -> new TagCountDTO(t.getName(), t.getProblemCount()))
+                .toList();
+    }
+}
@@ -0,0 +1,69 @@
+package com.urbanmind.urbanmind_auth.service.impl;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.urbanmind.urbanmind_auth.service.ProblemCounterService;
+import com.urbanmind.urbanmind_auth.service.ProblemViewService;
+import com.urbanmind.urbanmind_auth.utils.ConcurrentBloomFilter;
+
+/**
+ * Counts a view once per (problem, viewer) per dedup window.
+ *
+ * Seen pairs live in two Bloom filters: the current window and the previous
+ * one. A pair is skipped if either filter has it, and the filters rotate once
+ * per window, so a repeat view is ignored for at least one full window and
+ * memory stays fixed. A false positive only drops a view, never invents one.
+ * Accepted views go to the write-behind counter buffer, so reads never write
+ * to the database.
+ */
+@Service
+public class ProblemViewServiceImpl implements ProblemViewService {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final ProblemCounterService counterService;
+    private final long expectedViewsPerWindow;
+
+    private volatile ConcurrentBloomFilter current;
+    private volatile ConcurrentBloomFilter previous;
+
+    public ProblemViewServiceImpl(
+            ProblemCounterService counterService,
+            @Value("${urbanmind.views.expected-per-window:1000000}") long expectedViewsPerWindow) {
+
+        this.counterService = counterService;
+        this.expectedViewsPerWindow = expectedViewsPerWindow;
+        this.current = newFilter();
+        this.previous = newFilter();
+    }
+
+    @Override
+    public void recordView(Long problemId, String viewerKey) {
+        if (problemId == null || viewerKey == null) {
+            return;
+        }
+
+        String key = problemId + ":" + viewerKey;
+
+        if (previous.mightContain(key)) {
+            return;
+        }
+        if (current.put(key)) {
+            counterService.addViews(problemId, 1);
+        }
+    }
+
+    @Scheduled(
+            fixedRateString = "${urbanmind.views.dedup-window-ms:1800000}",
+            initialDelayString = "${urbanmind.views.dedup-window-ms:1800000}")
+    public void rotate() {
+        previous = current;
+        current = newFilter();
+    }
+
+    private ConcurrentBloomFilter newFilter() {
+        return new ConcurrentBloomFilter(expectedViewsPerWindow, FALSE_POSITIVE_RATE);
+    }
+}
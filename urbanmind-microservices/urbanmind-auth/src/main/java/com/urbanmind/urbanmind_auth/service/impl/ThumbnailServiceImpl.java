@@ -0,0 +1,254 @@
+package com.urbanmind.urbanmind_auth.service.impl;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.urbanmind.urbanmind_auth.entity.ProblemMedia;
+import com.urbanmind.urbanmind_auth.repository.ProblemMediaRepository;
+import com.urbanmind.urbanmind_auth.service.MediaStorageService;
+import com.urbanmind.urbanmind_auth.service.ThumbnailService;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Builds JPEG renditions of uploaded images on a small fixed pool so uploads
+ * return as soon as the original is stored. The queue is bounded: when it is
+ * full the job is dropped and the feed keeps using the original, which is
+ * better than letting a burst of uploads pile up decoded images in memory.
+ *
+ * Renditions are keyed by the content hash, so duplicate uploads reuse the
+ * files already on disk and only the thumbnail_url column is written.
+ */
+@Service
+public class ThumbnailServiceImpl implements ThumbnailService {
+
+    private static final Logger log = LoggerFactory.getLogger(ThumbnailServiceImpl.class);
+
+    // Refuse to decode anything bigger; protects the heap from decompression bombs
+    private static final long MAX_PIXELS = 50_000_000L;
+    private static final float JPEG_QUALITY = 0.8f;
+
+    private final MediaStorageService storageService;
+    private final ProblemMediaRepository mediaRepository;
+    private final int[] widths;
+    private final int coverWidth;
+    private final ThreadPoolExecutor executor;
+
+    public ThumbnailServiceImpl(
+            MediaStorageService storageService,
+            ProblemMediaRepository mediaRepository,
+            @Value("${urbanmind.media.thumbnail-widths:160,480,960}") int[] widths,
+            @Value("${urbanmind.media.cover-width:480}") int coverWidth,
+            @Value("${urbanmind.media.thumbnail-threads:2}") int threads,
+            @Value("${urbanmind.media.thumbnail-queue:200}") int queueCapacity) {
+        this.storageService = storageService;
+        this.mediaRepository = mediaRepository;
+        this.widths = widths.clone();
+        Arrays.sort(this.widths);
+        this.coverWidth = coverWidth;
+
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "thumbnail-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                (r, pool) -> log.warn("Thumbnail queue full, serving original for this upload"));
+    }
+
+    @Override
+    public void scheduleFor(ProblemMedia media) {
+        if (!"IMAGE".equals(media.getMediaType()) || storageService.hashOf(media.getMediaUrl()) == null) {
+            return;
+        }
+
+        Long mediaId = media.getId();
+        String mediaUrl = media.getMediaUrl();
+        Runnable job = () -> generate(mediaId, mediaUrl);
+
+        // The worker updates the row, so it must not start before the insert is visible
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    executor.execute(job);
+                }
+            });
+        } else {
+            executor.execute(job);
+        }
+    }
+
+    @Override
+    public String coverUrl(ProblemMedia media) {
+        String hash = storageService.hashOf(media.getMediaUrl());
+        if (media.getThumbnailUrl() == null || hash == null) {
+            return media.getMediaUrl();
+        }
+
+        int chosen = widths[widths.length - 1];
+        for (int w : widths) {
+            if (w >= coverWidth) {
+                chosen = w;
+                break;
+            }
+        }
+        return storageService.renditionUrl(hash, chosen);
+    }
+
+    // Worker body; public so it can be driven synchronously
+    public void generate(Long mediaId, String mediaUrl) {
+        String hash = storageService.hashOf(mediaUrl);
+        Path source = storageService.resolve(mediaUrl);
+        if (hash == null || source == null) {
+            return;
+        }
+
+        try {
+            BufferedImage image = decode(source, widths[widths.length - 1]);
+            if (image == null) {
+                // Format ImageIO cannot read (e.g. WebP); keep using the original
+                return;
+            }
+
+            for (int w : widths) {
+                Path target = storageService.resolve(storageService.renditionUrl(hash, w));
+                if (!Files.exists(target)) {
+                    write(scale(image, w), target);
+                }
+            }
+
+            mediaRepository.setThumbnailUrl(mediaId, storageService.renditionUrl(hash, widths[0]));
+
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not generate thumbnails for media {}", mediaId, e);
+        }
+    }
+
+    // ===== DECODE =====
+    private static BufferedImage decode(Path source, int largestWidth) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            if (in == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_PIXELS) {
+                    log.warn("Skipping thumbnails for {}x{} image", width, height);
+                    return null;
+                }
+
+                // Skip pixels while decoding instead of materialising the full
+                // image; keep 2x the largest rendition so the final scale stays smooth
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, width / (largestWidth * 2));
+                if (step > 1) {
+                    param.setSourceSubsampling(step, step, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // ===== SCALE =====
+    // Halves repeatedly, then does one bilinear step; never upscales
+    static BufferedImage scale(BufferedImage image, int width) {
+        int targetWidth = Math.min(width, image.getWidth());
+        int targetHeight = Math.max(1, (int) Math.round((double) image.getHeight() * targetWidth / image.getWidth()));
+
+        BufferedImage current = image;
+        int w = image.getWidth();
+        int h = image.getHeight();
+
+        do {
+            w = Math.max(targetWidth, w / 2);
+            h = Math.max(targetHeight, h / 2);
+
+            // RGB on white: JPEG has no alpha channel
+            BufferedImage next = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, w, h);
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (w > targetWidth || h > targetHeight);
+
+        return current;
+    }
+
+    // ===== WRITE =====
+    private static void write(BufferedImage image, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), "thumb-", ".part");
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        } finally {
+            writer.dispose();
+        }
+
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
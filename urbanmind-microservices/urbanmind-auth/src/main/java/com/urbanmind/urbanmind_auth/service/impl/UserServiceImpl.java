@@ -7,14 +7,17 @@ import org.springframework.stereotype.Service;
 import com.urbanmind.urbanmind_auth.entity.User;
 import com.urbanmind.urbanmind_auth.repository.UserRepository;
 import com.urbanmind.urbanmind_auth.service.UserService;
+import com.urbanmind.urbanmind_auth.service.UserSummaryService;
 
 @Service
 public class UserServiceImpl implements UserService {
 
     private final UserRepository repo;
+    private final UserSummaryService userSummaryService;
 
-    public UserServiceImpl(UserRepository repo) {
+    public UserServiceImpl(UserRepository repo, UserSummaryService userSummaryService) {
         this.repo = repo;
+        this.userSummaryService = userSummaryService;
     }
 
     @Override
@@ -36,7 +39,9 @@ public class UserServiceImpl implements UserService {
         user.setPhone(updated.getPhone());
         user.setProfilePhotoUrl(updated.getProfilePhotoUrl());
 
-        return repo.save(user);
+        User saved = repo.save(user);
+        userSummaryService.evict(id);
+        return saved;
     }
 
     @Override
@@ -44,6 +49,7 @@ public class UserServiceImpl implements UserService {
         User user = getById(id);
         user.setStatus(status.toUpperCase());
         repo.save(user);
+        userSummaryService.evict(id);
     }
 
     @Override
@@ -0,0 +1,137 @@
+package com.urbanmind.urbanmind_auth.service.impl;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.urbanmind.urbanmind_auth.dto.response.UserSummary;
+import com.urbanmind.urbanmind_auth.entity.User;
+import com.urbanmind.urbanmind_auth.repository.UserRepository;
+import com.urbanmind.urbanmind_auth.service.UserSummaryService;
+
+/**
+ * Size-bounded LRU of user summaries with a short TTL. Misses for a whole
+ * page are loaded with one findAllById. Local writes evict immediately; other
+ * nodes catch up within the TTL.
+ */
+@Service
+public class UserSummaryServiceImpl implements UserSummaryService {
+
+    private final UserRepository userRepository;
+    private final long ttlNanos;
+    private final int maxSize;
+
+    private final Map<Long, Entry> cache;
+
+    // Bumped on every evict; a load that raced with an evict is not cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public UserSummaryServiceImpl(
+            UserRepository userRepository,
+            @Value("${urbanmind.cache.user-summary.ttl-ms:60000}") long ttlMillis,
+            @Value("${urbanmind.cache.user-summary.max-size:10000}") int maxSize) {
+
+        this.userRepository = userRepository;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.maxSize = maxSize;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > UserSummaryServiceImpl.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        });
+    }
+
+    @Override
+    public Map<Long, UserSummary> getSummaries(Collection<Long> userIds) {
+
+        Map<Long, UserSummary> result = new HashMap<>();
+        Set<Long> missing = new HashSet<>();
+        long now = System.nanoTime();
+
+        for (Long id : userIds) {
+            if (id == null) {
+                continue;
+            }
+            Entry e = cache.get(id);
+            if (e != null && now - e.loadedAt < ttlNanos) {
+                hits.increment();
+                result.put(id, e.summary);
+            } else {
+                misses.increment();
+                missing.add(id);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            long generation = invalidations.get();
+            Map<Long, Entry> loaded = new HashMap<>();
+
+            for (User u : userRepository.findAllById(missing)) {
+                UserSummary s = toSummary(u);
+                result.put(u.getId(), s);
+                loaded.put(u.getId(), new Entry(s, now));
+            }
+
+            if (generation == invalidations.get()) {
+                cache.putAll(loaded);
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public void evict(Long userId) {
+        invalidations.incrementAndGet();
+        cache.remove(userId);
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        long h = hits.sum();
+        long m = misses.sum();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", cache.size());
+        stats.put("maxSize", maxSize);
+        stats.put("hits", h);
+        stats.put("misses", m);
+        stats.put("hitRate", h + m == 0 ? 0.0 : (double) h / (h + m));
+        stats.put("evictions", evictions.sum());
+        return stats;
+    }
+
+    private static UserSummary toSummary(User u) {
+        String email = u.getEmail();
+        String prefix = email != null ? email.split("@")[0] : null;
+        return new UserSummary(u.getId(), u.getFullName(), u.getUsername(), prefix);
+    }
+
+    private static final class Entry {
+        final UserSummary summary;
+        final long loadedAt;
+
+        Entry(UserSummary summary, long loadedAt) {
+            this.summary = summary;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
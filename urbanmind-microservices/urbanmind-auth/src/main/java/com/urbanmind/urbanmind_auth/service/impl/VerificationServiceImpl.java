@@ -11,6 +11,8 @@ import com.urbanmind.urbanmind_auth.entity.VerificationRequest;
 import com.urbanmind.urbanmind_auth.exception.ApiException;
 import com.urbanmind.urbanmind_auth.repository.UserRepository;
 import com.urbanmind.urbanmind_auth.repository.VerificationRequestRepository;
+import com.urbanmind.urbanmind_auth.service.MediaStorageService;
+import com.urbanmind.urbanmind_auth.service.UserSummaryService;
 import com.urbanmind.urbanmind_auth.service.VerificationService;
 
 @Service
@@ -18,13 +20,19 @@ public class VerificationServiceImpl implements VerificationService {
 
     private final VerificationRequestRepository vrRepo;
     private final UserRepository userRepo;
+    private final UserSummaryService userSummaryService;
+    private final MediaStorageService storageService;
 
     public VerificationServiceImpl(
             VerificationRequestRepository vrRepo,
-            UserRepository userRepo
+            UserRepository userRepo,
+            UserSummaryService userSummaryService,
+            MediaStorageService storageService
     ) {
         this.vrRepo = vrRepo;
         this.userRepo = userRepo;
+        this.userSummaryService = userSummaryService;
+        this.storageService = storageService;
     }
 
     // ✅ NGO / User submits verification
@@ -48,19 +56,7 @@ public class VerificationServiceImpl implements VerificationService {
         
         // Handle File Upload
         if (file != null && !file.isEmpty()) {
-            try {
-                // Ensure upload directory exists
-                java.nio.file.Files.createDirectories(java.nio.file.Paths.get("uploads"));
-                
-                // Save file
-                String filename = java.util.UUID.randomUUID() + "_" + file.getOriginalFilename().replaceAll("[^a-zA-Z0-9._-]", "");
-                java.nio.file.Path path = java.nio.file.Paths.get("uploads", filename);
-                java.nio.file.Files.copy(file.getInputStream(), path, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
-                
-                vr.setDocumentUrl("/uploads/" + filename);
-            } catch (java.io.IOException e) {
-                throw new RuntimeException("Failed to store verification document", e);
-            }
+            vr.setDocumentUrl(storageService.store(file, MediaStorageService.DOCUMENT_TYPES).getUrl());
         } else if (req.getDocumentUrl() != null) {
             vr.setDocumentUrl(req.getDocumentUrl()); 
         }
@@ -118,5 +114,6 @@ public class VerificationServiceImpl implements VerificationService {
         }
 
         vrRepo.save(vr);
+        userSummaryService.evict(vr.getUser().getId());
     }
 }
\ No newline at end of file
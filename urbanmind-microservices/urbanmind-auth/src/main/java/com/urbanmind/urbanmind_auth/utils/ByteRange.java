@@ -0,0 +1,70 @@
+package com.urbanmind.urbanmind_auth.utils;
+
+/**
+ * A single satisfiable "bytes=" range resolved against a known length.
+ * Only one range per request is supported; video players never ask for more,
+ * and answering a multi-range request with the whole file is allowed by RFC 9110.
+ */
+public final class ByteRange {
+
+    private final long start;
+    private final long end;
+
+    private ByteRange(long start, long end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    public long getStart() { return start; }
+
+    // Inclusive, as in Content-Range
+    public long getEnd() { return end; }
+
+    public long getLength() { return end - start + 1; }
+
+    /**
+     * Parse a Range header for a resource of the given length.
+     * Returns null when the header is absent, malformed or asks for several
+     * ranges, meaning the full body should be sent.
+     *
+     * @throws IllegalArgumentException when the range lies beyond the end (416)
+     */
+    public static ByteRange parse(String header, long length) {
+        if (header == null || !header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+
+            if (first.isEmpty()) {
+                // bytes=-N : the final N bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || length == 0) {
+                    throw new IllegalArgumentException("Unsatisfiable range");
+                }
+                return new ByteRange(Math.max(0, length - suffix), length - 1);
+            }
+
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            if (start >= length) {
+                throw new IllegalArgumentException("Unsatisfiable range");
+            }
+            if (end < start) {
+                return null;
+            }
+            return new ByteRange(start, end);
+
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.urbanmind.urbanmind_auth.utils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Works out what a file really is from its first bytes instead of trusting the
+ * name or the Content-Type the client sent. Only formats we actually accept
+ * are recognised; anything else comes back as null.
+ */
+public final class ContentSniffer {
+
+    // Enough for every signature below
+    public static final int HEADER_BYTES = 16;
+
+    private ContentSniffer() {}
+
+    public static String sniff(byte[] head, int length) {
+        if (startsWith(head, length, 0, 0xFF, 0xD8, 0xFF)) {
+            return "image/jpeg";
+        }
+        if (startsWith(head, length, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return "image/png";
+        }
+        if (startsWith(head, length, 0, 'G', 'I', 'F', '8', '7', 'a')
+                || startsWith(head, length, 0, 'G', 'I', 'F', '8', '9', 'a')) {
+            return "image/gif";
+        }
+        if (startsWith(head, length, 0, 'R', 'I', 'F', 'F')
+                && startsWith(head, length, 8, 'W', 'E', 'B', 'P')) {
+            return "image/webp";
+        }
+        if (startsWith(head, length, 0, '%', 'P', 'D', 'F', '-')) {
+            return "application/pdf";
+        }
+        if (startsWith(head, length, 4, 'f', 't', 'y', 'p') && length >= 12) {
+            // ISO base media: the major brand says what is inside the box
+            return isoBrandType(new String(head, 8, 4, StandardCharsets.US_ASCII));
+        }
+        if (startsWith(head, length, 0, 0x1A, 0x45, 0xDF, 0xA3)) {
+            return "video/webm";
+        }
+        return null;
+    }
+
+    // Unlisted brands (3GP, JPEG 2000, ...) are not accepted
+    private static String isoBrandType(String brand) {
+        switch (brand) {
+            case "isom": case "iso2": case "iso4": case "iso5": case "iso6":
+            case "mp41": case "mp42": case "mp4x": case "avc1": case "dash": case "M4V ":
+                return "video/mp4";
+            case "qt  ":
+                return "video/quicktime";
+            case "heic": case "heix": case "heim": case "heis": case "mif1":
+                return "image/heic";
+            case "avif": case "avis":
+                return "image/avif";
+            default:
+                return null;
+        }
+    }
+
+    public static String extensionFor(String contentType) {
+        switch (contentType) {
+            case "image/jpeg": return "jpg";
+            case "image/png": return "png";
+            case "image/gif": return "gif";
+            case "image/webp": return "webp";
+            case "image/heic": return "heic";
+            case "image/avif": return "avif";
+            case "application/pdf": return "pdf";
+            case "video/mp4": return "mp4";
+            case "video/quicktime": return "mov";
+            case "video/webm": return "webm";
+            default: return "bin";
+        }
+    }
+
+    private static boolean startsWith(byte[] head, int length, int offset, int... signature) {
+        if (length < offset + signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if ((head[offset + i] & 0xFF) != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
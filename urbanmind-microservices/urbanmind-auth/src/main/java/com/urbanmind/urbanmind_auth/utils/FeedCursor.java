@@ -0,0 +1,66 @@
+package com.urbanmind.urbanmind_auth.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.urbanmind.urbanmind_auth.exception.ApiException;
+
+/**
+ * Position in the home feed, which is ordered by (created_at DESC, id DESC).
+ * Clients only ever see the encoded form, so the layout can change later
+ * without breaking anyone holding an old token.
+ */
+public final class FeedCursor {
+
+    private final OffsetDateTime createdAt;
+    private final Long id;
+
+    public FeedCursor(OffsetDateTime createdAt, Long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = createdAt.toInstant() + "|" + id;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}.
+     * Returns null for a missing token (first page).
+     */
+    public static FeedCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            if (sep < 0) {
+                throw new ApiException("Invalid feed cursor");
+            }
+
+            Instant createdAt = Instant.parse(raw.substring(0, sep));
+            Long id = Long.parseLong(raw.substring(sep + 1));
+
+            return new FeedCursor(OffsetDateTime.ofInstant(createdAt, ZoneOffset.UTC), id);
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new ApiException("Invalid feed cursor");
+        }
+    }
+}
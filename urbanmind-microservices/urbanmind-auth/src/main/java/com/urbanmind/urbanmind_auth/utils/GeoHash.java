@@ -0,0 +1,101 @@
+package com.urbanmind.urbanmind_auth.utils;
+
+/**
+ * Geohash cells as plain longs. A cell of {@code bits} precision splits the
+ * world into 2^lngBits columns and 2^latBits rows; the column/row indexes are
+ * interleaved longitude-first, exactly like the textual geohash, so the value
+ * can be printed with {@link #toBase32} when the bit count is a multiple of 5.
+ */
+public final class GeoHash {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private GeoHash() {}
+
+    public static int lngBits(int bits) {
+        return (bits + 1) / 2;
+    }
+
+    public static int latBits(int bits) {
+        return bits / 2;
+    }
+
+    // Row of the latitude on a grid with 2^latBits rows
+    public static int latIndex(double lat, int latBits) {
+        return index((lat + 90.0) / 180.0, latBits);
+    }
+
+    // Column of the longitude on a grid with 2^lngBits columns
+    public static int lngIndex(double lng, int lngBits) {
+        return index((lng + 180.0) / 360.0, lngBits);
+    }
+
+    public static long encode(double lat, double lng, int bits) {
+        return interleave(lngIndex(lng, lngBits(bits)), latIndex(lat, latBits(bits)), bits);
+    }
+
+    public static long interleave(int lngIndex, int latIndex, int bits) {
+        int lngBits = lngBits(bits);
+        int latBits = latBits(bits);
+
+        long hash = 0;
+        for (int i = 0; i < bits; i++) {
+            int bit = (i % 2 == 0)
+                    ? (lngIndex >>> (lngBits - 1 - i / 2)) & 1
+                    : (latIndex >>> (latBits - 1 - i / 2)) & 1;
+            hash = (hash << 1) | bit;
+        }
+        return hash;
+    }
+
+    // South-west corner and size of a cell: {minLat, minLng, latHeight, lngWidth}
+    public static double[] bounds(long hash, int bits) {
+        int lngBits = lngBits(bits);
+        int latBits = latBits(bits);
+
+        int lngIndex = 0;
+        int latIndex = 0;
+        for (int i = 0; i < bits; i++) {
+            int bit = (int) (hash >>> (bits - 1 - i)) & 1;
+            if (i % 2 == 0) {
+                lngIndex = (lngIndex << 1) | bit;
+            } else {
+                latIndex = (latIndex << 1) | bit;
+            }
+        }
+
+        double height = 180.0 / (1L << latBits);
+        double width = 360.0 / (1L << lngBits);
+        return new double[] { -90.0 + latIndex * height, -180.0 + lngIndex * width, height, width };
+    }
+
+    public static String toBase32(long hash, int bits) {
+        if (bits % 5 != 0) {
+            throw new IllegalArgumentException("Geohash text needs a multiple of 5 bits");
+        }
+        char[] out = new char[bits / 5];
+        for (int i = out.length - 1; i >= 0; i--) {
+            out[i] = BASE32[(int) (hash & 31)];
+            hash >>>= 5;
+        }
+        return new String(out);
+    }
+
+    // Great-circle distance; accurate to well under 0.5% which is plenty for "near me"
+    public static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private static int index(double fraction, int bits) {
+        int cells = 1 << bits;
+        int i = (int) Math.floor(fraction * cells);
+        return Math.max(0, Math.min(cells - 1, i));
+    }
+}
@@ -0,0 +1,4 @@
+-- Keyset home feed: ORDER BY created_at DESC, id DESC with a (created_at, id) seek.
+-- Apply once against the urbanmind schema (ddl-auto=validate does not create indexes).
+CREATE INDEX IF NOT EXISTS ix_problems_created_at_id
+    ON urbanmind.problems USING btree (created_at DESC, id DESC);
@@ -0,0 +1,17 @@
+-- One like per (problem, user). Lets like/unlike run as a single
+-- INSERT ... ON CONFLICT DO NOTHING / DELETE and drive the counter from
+-- the affected-row count. Existing duplicates are removed first.
+DELETE FROM urbanmind.problem_likes a
+USING urbanmind.problem_likes b
+WHERE a.problem_id = b.problem_id
+  AND a.user_id = b.user_id
+  AND a.id > b.id;
+
+ALTER TABLE urbanmind.problem_likes
+    ADD CONSTRAINT ux_problem_likes_problem_user UNIQUE (problem_id, user_id);
+
+-- Bring counters back in line with the deduplicated likes
+UPDATE urbanmind.problems p
+SET upvote_count = (
+    SELECT COUNT(*) FROM urbanmind.problem_likes l WHERE l.problem_id = p.id
+);
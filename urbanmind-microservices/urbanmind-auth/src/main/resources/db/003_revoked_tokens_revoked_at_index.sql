@@ -0,0 +1,4 @@
+-- Each service polls for tokens revoked since its last refresh
+-- (RevokedTokenCache); keep that lookup off a full table scan.
+CREATE INDEX IF NOT EXISTS ix_revoked_tokens_revoked_at
+    ON urbanmind.revoked_tokens (revoked_at);
@@ -0,0 +1,4 @@
+-- The in-memory geo index polls for problems changed on other nodes
+-- (ProblemGeoServiceImpl); keep that lookup off a full table scan.
+CREATE INDEX IF NOT EXISTS ix_problems_updated_at
+    ON urbanmind.problems (updated_at);
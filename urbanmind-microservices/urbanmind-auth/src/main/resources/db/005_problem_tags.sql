@@ -0,0 +1,71 @@
+-- Tags move from the comma-separated problems.tags column into a
+-- many-to-many table, so a tag filter is an index lookup and the facet
+-- counts are a maintained column instead of a scan. problems.tags stays
+-- as a normalised copy that feeds the in-memory search index.
+CREATE TABLE IF NOT EXISTS urbanmind.tags (
+    id            BIGSERIAL PRIMARY KEY,
+    name          VARCHAR(50) NOT NULL,
+    problem_count INTEGER NOT NULL DEFAULT 0,
+    CONSTRAINT ux_tags_name UNIQUE (name)
+);
+
+CREATE INDEX IF NOT EXISTS ix_tags_problem_count
+    ON urbanmind.tags (problem_count DESC);
+
+CREATE TABLE IF NOT EXISTS urbanmind.problem_tags (
+    id         BIGSERIAL PRIMARY KEY,
+    problem_id BIGINT NOT NULL REFERENCES urbanmind.problems (id) ON DELETE CASCADE,
+    tag_id     BIGINT NOT NULL REFERENCES urbanmind.tags (id),
+    CONSTRAINT ux_problem_tags_problem_tag UNIQUE (problem_id, tag_id)
+);
+
+CREATE INDEX IF NOT EXISTS ix_problem_tags_tag_problem
+    ON urbanmind.problem_tags (tag_id, problem_id);
+
+-- Backfill existing rows with the same normalisation as
+-- ProblemTagServiceImpl.normalize: trim, drop leading '#', lower-case,
+-- whitespace runs to '-', at most 50 characters, first 10 per problem.
+CREATE TEMP TABLE split_tags AS
+SELECT problem_id, name, MIN(pos) AS pos
+FROM (
+    SELECT p.id AS problem_id,
+           LEFT(REGEXP_REPLACE(LOWER(BTRIM(LTRIM(BTRIM(t.raw), '#'))), '\s+', '-', 'g'), 50) AS name,
+           t.pos
+    FROM urbanmind.problems p
+    CROSS JOIN LATERAL REGEXP_SPLIT_TO_TABLE(p.tags, ',') WITH ORDINALITY AS t (raw, pos)
+    WHERE p.tags IS NOT NULL
+) s
+WHERE name <> ''
+GROUP BY problem_id, name;
+
+DELETE FROM split_tags s
+WHERE (SELECT COUNT(*) FROM split_tags o
+       WHERE o.problem_id = s.problem_id AND o.pos < s.pos) >= 10;
+
+INSERT INTO urbanmind.tags (name)
+SELECT DISTINCT name FROM split_tags
+ON CONFLICT (name) DO NOTHING;
+
+INSERT INTO urbanmind.problem_tags (problem_id, tag_id)
+SELECT s.problem_id, t.id
+FROM split_tags s JOIN urbanmind.tags t ON t.name = s.name
+ORDER BY s.problem_id, s.pos
+ON CONFLICT DO NOTHING;
+
+UPDATE urbanmind.tags t
+SET problem_count = c.n
+FROM (SELECT tag_id, COUNT(*) AS n FROM urbanmind.problem_tags GROUP BY tag_id) c
+WHERE c.tag_id = t.id;
+
+UPDATE urbanmind.problems p
+SET tags = s.joined
+FROM (SELECT problem_id, STRING_AGG(name, ',' ORDER BY pos) AS joined
+      FROM split_tags GROUP BY problem_id) s
+WHERE s.problem_id = p.id;
+
+UPDATE urbanmind.problems
+SET tags = NULL
+WHERE tags IS NOT NULL
+  AND id NOT IN (SELECT problem_id FROM split_tags);
+
+DROP TABLE split_tags;
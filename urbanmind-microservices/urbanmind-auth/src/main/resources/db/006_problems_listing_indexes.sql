@@ -0,0 +1,8 @@
+-- Filtered listing (GET /api/problems/list): admins mostly filter by status
+-- and read newest first, or sort by upvotes. Recency without a status
+-- filter is already served by ix_problems_created_at_id.
+CREATE INDEX IF NOT EXISTS ix_problems_status_created_at
+    ON urbanmind.problems USING btree (status, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS ix_problems_upvote_count
+    ON urbanmind.problems USING btree (upvote_count DESC, id DESC);
@@ -0,0 +1,9 @@
+-- The listing filters match city, state and severity case-insensitively
+-- (lower(col) = ?, see ProblemSpecifications), which the plain
+-- ix_problems_city_state / ix_problems_severity_status indexes cannot serve.
+-- These expression indexes mirror them on the lower-cased values.
+CREATE INDEX IF NOT EXISTS ix_problems_lower_city_state
+    ON urbanmind.problems USING btree (lower(city), lower(state));
+
+CREATE INDEX IF NOT EXISTS ix_problems_lower_severity_status
+    ON urbanmind.problems USING btree (lower(severity), status);
@@ -0,0 +1,79 @@
+package com.urbanmind.urbanmind_auth.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.urbanmind.urbanmind_auth.config.JwtTokenProvider;
+import com.urbanmind.urbanmind_auth.config.VerifiedClaims;
+
+/**
+ * Per-request cost of authenticating a bearer token in JwtAuthenticationFilter.
+ *
+ *   threeParses  - old filter: validateToken + getEmail + getPrimaryRole,
+ *                  each re-verifying the signature (cache disabled)
+ *   singleParse  - verify() once, cache disabled (first request with a token)
+ *   cachedVerify - verify() on a token already in the LRU (every later request)
+ *
+ * Run with:
+ *   mvn -q test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *       "-Dexec.args=-cp %classpath com.urbanmind.urbanmind_auth.benchmark.JwtTokenProviderBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "urbanmind-secret-key-very-secure-256-bit-long";
+
+    private JwtTokenProvider uncached;
+    private JwtTokenProvider cached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        uncached = new JwtTokenProvider(SECRET, 900_000, 0);
+        cached = new JwtTokenProvider(SECRET, 900_000, 10_000);
+        token = cached.generateToken(42L, "citizen@urbanmind.in", "CITIZEN", "ACTIVE", 3600);
+        cached.verify(token);
+    }
+
+    @Benchmark
+    public void threeParses(Blackhole bh) {
+        bh.consume(uncached.validateToken(token));
+        bh.consume(uncached.getEmail(token));
+        bh.consume(uncached.getPrimaryRole(token));
+    }
+
+    @Benchmark
+    public VerifiedClaims singleParse() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedClaims cachedVerify() {
+        return cached.verify(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtTokenProviderBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
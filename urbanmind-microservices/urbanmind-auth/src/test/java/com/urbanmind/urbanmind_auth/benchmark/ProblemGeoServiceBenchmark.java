@@ -0,0 +1,80 @@
+package com.urbanmind.urbanmind_auth.benchmark;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.urbanmind.urbanmind_auth.event.ProblemChangedEvent;
+import com.urbanmind.urbanmind_auth.service.ProblemGeoService.NearbyProblem;
+import com.urbanmind.urbanmind_auth.service.impl.ProblemGeoServiceImpl;
+
+/**
+ * Radius lookups against one million problems spread over a 100 x 100 km
+ * metro area (about 100 problems per square km, far denser than real data).
+ *
+ * Run with:
+ *   mvn -q test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *       "-Dexec.args=-cp %classpath com.urbanmind.urbanmind_auth.benchmark.ProblemGeoServiceBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ProblemGeoServiceBenchmark {
+
+    private static final double LAT = 18.5204;
+    private static final double LNG = 73.8567;
+
+    @Param({ "1", "5", "20" })
+    public double radiusKm;
+
+    private ProblemGeoServiceImpl geo;
+
+    @Setup
+    public void setUp() {
+        geo = new ProblemGeoServiceImpl();
+
+        Random random = new Random(42);
+        String[] statuses = { "OPEN", "IN_PROGRESS", "CLOSED" };
+        for (long id = 1; id <= 1_000_000; id++) {
+            double lat = LAT + (random.nextDouble() - 0.5) * 0.9;
+            double lng = LNG + (random.nextDouble() - 0.5) * 0.95;
+            geo.onProblemChanged(new ProblemChangedEvent(id, BigDecimal.valueOf(lat), BigDecimal.valueOf(lng),
+                    statuses[(int) (id % 3)], "ROADS", "LOW", null, null, null, null));
+        }
+    }
+
+    @Benchmark
+    public List<NearbyProblem> nearestTwenty() {
+        return geo.findNearby(LAT, LNG, radiusKm, null, null, 20);
+    }
+
+    @Benchmark
+    public List<NearbyProblem> nearestTwentyOpen() {
+        return geo.findNearby(LAT, LNG, radiusKm, "OPEN", null, 20);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProblemGeoServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,97 @@
+package com.urbanmind.urbanmind_auth.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.urbanmind.urbanmind_auth.event.ProblemChangedEvent;
+import com.urbanmind.urbanmind_auth.service.ProblemSearchService.SearchHit;
+import com.urbanmind.urbanmind_auth.service.impl.ProblemSearchServiceImpl;
+
+/**
+ * Query latency over 100k problems with skewed word frequencies (a few very
+ * common words, a long tail of rare ones). SampleTime mode prints p50/p99.
+ *
+ * Run with:
+ *   mvn -q test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *       "-Dexec.args=-cp %classpath com.urbanmind.urbanmind_auth.benchmark.ProblemSearchServiceBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ProblemSearchServiceBenchmark {
+
+    private static final int DOCUMENTS = 100_000;
+    private static final int VOCABULARY = 20_000;
+    private static final String[] CITIES = { "Pune", "Mumbai", "Nagpur", "Nashik", "Delhi" };
+    private static final String[] STATUSES = { "OPEN", "IN_PROGRESS", "CLOSED" };
+
+    private ProblemSearchServiceImpl search;
+
+    @Setup
+    public void setUp() {
+        search = new ProblemSearchServiceImpl();
+
+        Random random = new Random(42);
+        for (long id = 1; id <= DOCUMENTS; id++) {
+            search.onProblemChanged(new ProblemChangedEvent(id, null, null,
+                    STATUSES[(int) (id % 3)], "ROADS", "LOW",
+                    words(random, 6), words(random, 40), words(random, 3),
+                    CITIES[(int) (id % CITIES.length)]));
+        }
+    }
+
+    // Log-uniform ranks: word1 lands in almost every document (a worst-case
+    // stop word), word4321 in a few dozen
+    private static String words(Random random, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            int rank = (int) Math.pow(VOCABULARY, random.nextDouble());
+            sb.append("word").append(rank).append(' ');
+        }
+        return sb.toString();
+    }
+
+    @Benchmark
+    public List<SearchHit> commonWord() {
+        return search.search("word1 ", null, null, null, 20);
+    }
+
+    @Benchmark
+    public List<SearchHit> twoWords() {
+        return search.search("word2 pune ", null, null, null, 20);
+    }
+
+    @Benchmark
+    public List<SearchHit> rareWordFiltered() {
+        return search.search("word4321 ", "OPEN", null, null, 20);
+    }
+
+    @Benchmark
+    public List<SearchHit> typeAhead() {
+        return search.search("pune word12", null, null, null, 20);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProblemSearchServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,73 @@
+package com.urbanmind.urbanmind_auth.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "urbanmind-secret-key-very-secure-256-bit-long";
+
+    private final JwtTokenProvider provider = new JwtTokenProvider(SECRET, 900_000, 100);
+
+    @Test
+    void verify_returnsAllClaimsFromOneParse() {
+        String token = provider.generateToken(42L, "a@b.in", "CITIZEN", "ACTIVE", 3600);
+
+        VerifiedClaims claims = provider.verify(token);
+
+        assertNotNull(claims);
+        assertEquals(42L, claims.getUserId());
+        assertEquals("a@b.in", claims.getEmail());
+        assertEquals("CITIZEN", claims.getPrimaryRole());
+        assertEquals("ACTIVE", claims.getStatus());
+    }
+
+    @Test
+    void verify_servesRepeatLookupsFromCache() {
+        String token = provider.generateToken(42L, "a@b.in", "CITIZEN", "ACTIVE", 3600);
+
+        assertSame(provider.verify(token), provider.verify(token));
+    }
+
+    @Test
+    void verify_rejectsTamperedAndExpiredTokens() {
+        String token = provider.generateToken(42L, "a@b.in", "CITIZEN", "ACTIVE", 3600);
+        String tampered = token.substring(0, token.length() - 2) + "xx";
+        String expired = provider.generateToken(42L, "a@b.in", "CITIZEN", "ACTIVE", -10);
+
+        assertNull(provider.verify(tampered));
+        assertNull(provider.verify(expired));
+        assertFalse(provider.validateToken("not-a-jwt"));
+    }
+
+    @Test
+    void getExpiry_isNullWhenTokenHasNoExpClaim() {
+        String token = Jwts.builder()
+                .subject("a@b.in")
+                .claim("userId", 42L)
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .compact();
+
+        assertNotNull(provider.verify(token));
+        assertNull(provider.getExpiry(token));
+        assertNotNull(provider.getExpiry(provider.generateToken(42L, "a@b.in", "CITIZEN", "ACTIVE", 3600)));
+    }
+
+    @Test
+    void cachedEntry_expiresWithToken() throws InterruptedException {
+        String token = provider.generateToken(42L, "a@b.in", "CITIZEN", "ACTIVE", 1);
+        assertNotNull(provider.verify(token));
+
+        Thread.sleep(1100);
+
+        assertNull(provider.verify(token));
+    }
+}
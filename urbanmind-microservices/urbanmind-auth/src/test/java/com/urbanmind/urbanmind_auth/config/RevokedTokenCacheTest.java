@@ -0,0 +1,67 @@
+package com.urbanmind.urbanmind_auth.config;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.urbanmind.urbanmind_auth.entity.RevokedToken;
+import com.urbanmind.urbanmind_auth.repository.RevokedTokenRepository;
+
+@ExtendWith(MockitoExtension.class)
+class RevokedTokenCacheTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @InjectMocks
+    private RevokedTokenCache cache;
+
+    @Test
+    void load_marksStoredTokensRevoked() {
+        when(revokedTokenRepository.findByExpiresAtAfter(any()))
+                .thenReturn(List.of(new RevokedToken("old-token", OffsetDateTime.now().plusHours(1))));
+
+        cache.load();
+
+        assertTrue(cache.isRevoked("old-token"));
+        assertFalse(cache.isRevoked("live-token"));
+    }
+
+    @Test
+    void poll_picksUpTokensRevokedElsewhere() {
+        when(revokedTokenRepository.findByExpiresAtAfter(any())).thenReturn(List.of());
+        when(revokedTokenRepository.findByRevokedAtAfter(any()))
+                .thenReturn(List.of(new RevokedToken("other-node", OffsetDateTime.now().plusHours(1))));
+
+        cache.load();
+        assertFalse(cache.isRevoked("other-node"));
+
+        cache.poll();
+
+        assertTrue(cache.isRevoked("other-node"));
+        verify(revokedTokenRepository).findByRevokedAtAfter(any());
+    }
+
+    @Test
+    void evictExpired_dropsTokensPastExpiry() {
+        cache.add("expired", Instant.now().minusSeconds(1));
+        cache.add("still-valid", Instant.now().plusSeconds(3600));
+
+        cache.evictExpired();
+
+        assertFalse(cache.isRevoked("expired"));
+        assertTrue(cache.isRevoked("still-valid"));
+    }
+}
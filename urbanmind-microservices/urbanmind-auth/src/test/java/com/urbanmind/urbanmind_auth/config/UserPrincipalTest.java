@@ -0,0 +1,33 @@
+package com.urbanmind.urbanmind_auth.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.urbanmind.urbanmind_auth.exception.ResourceNotFoundException;
+
+class UserPrincipalTest {
+
+    @Test
+    void of_returnsPrincipalInstalledByFilter_andNameStaysEmail() {
+        UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                new UserPrincipal(42L, "a@b.in", "CITIZEN"),
+                null,
+                List.of(new SimpleGrantedAuthority("ROLE_CITIZEN")));
+
+        assertEquals(42L, UserPrincipal.of(auth).getId());
+        assertEquals("a@b.in", auth.getName());
+    }
+
+    @Test
+    void of_rejectsMissingOrForeignPrincipal() {
+        assertThrows(ResourceNotFoundException.class, () -> UserPrincipal.of(null));
+        assertThrows(ResourceNotFoundException.class,
+                () -> UserPrincipal.of(new UsernamePasswordAuthenticationToken("a@b.in", null, List.of())));
+    }
+}
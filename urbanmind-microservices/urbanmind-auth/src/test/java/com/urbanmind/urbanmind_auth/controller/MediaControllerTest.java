@@ -0,0 +1,116 @@
+package com.urbanmind.urbanmind_auth.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.urbanmind.urbanmind_auth.service.MediaStorageService;
+import com.urbanmind.urbanmind_auth.service.MediaStorageService.StoredMedia;
+import com.urbanmind.urbanmind_auth.service.impl.MediaStorageServiceImpl;
+
+class MediaControllerTest {
+
+    @TempDir
+    Path root;
+
+    private MockMvc mvc;
+    private StoredMedia stored;
+    private byte[] bytes;
+
+    @BeforeEach
+    void setUp() {
+        MediaStorageServiceImpl storage = new MediaStorageServiceImpl(root.toString(), 1024 * 1024);
+        mvc = MockMvcBuilders.standaloneSetup(new MediaController(storage)).build();
+
+        bytes = Arrays.copyOf(new byte[] { (byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A }, 100);
+        for (int i = 8; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        stored = storage.store(new MockMultipartFile("file", "a.png", "image/png", bytes),
+                MediaStorageService.PROBLEM_MEDIA_TYPES);
+    }
+
+    @Test
+    void contentAddressedFilesAreImmutableWithHashEtag() throws Exception {
+        mvc.perform(get(stored.getUrl()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + stored.getSha256() + "\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"))
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/png"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 100))
+                .andExpect(content().bytes(bytes));
+    }
+
+    @Test
+    void matchingIfNoneMatchReturnsNotModified() throws Exception {
+        mvc.perform(get(stored.getUrl()).header(HttpHeaders.IF_NONE_MATCH, "\"" + stored.getSha256() + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void rangeRequestsReturnPartialContent() throws Exception {
+        mvc.perform(get(stored.getUrl()).header(HttpHeaders.RANGE, "bytes=10-19"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 10-19/100"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10))
+                .andExpect(content().bytes(Arrays.copyOfRange(bytes, 10, 20)));
+
+        mvc.perform(get(stored.getUrl()).header(HttpHeaders.RANGE, "bytes=-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes(Arrays.copyOfRange(bytes, 95, 100)));
+
+        mvc.perform(get(stored.getUrl()).header(HttpHeaders.RANGE, "bytes=500-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */100"));
+
+        // Stale If-Range: the whole body instead of a fragment
+        mvc.perform(get(stored.getUrl()).header(HttpHeaders.RANGE, "bytes=10-19").header(HttpHeaders.IF_RANGE, "\"old\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(bytes));
+    }
+
+    @Test
+    void headSendsHeadersOnly() throws Exception {
+        mvc.perform(head(stored.getUrl()))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 100))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void legacyUploadsAreServedWithShortCaching() throws Exception {
+        byte[] legacy = { 1, 2, 3 };
+        Files.write(root.resolve("1234_my photo.png"), legacy);
+
+        byte[] body = mvc.perform(get("/uploads/{name}", "1234_my photo.png"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=86400"))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertArrayEquals(legacy, body);
+    }
+
+    @Test
+    void tempFilesAndMissingPathsAreNotServed() throws Exception {
+        Files.write(root.resolve("tmp").resolve("upload-1.part"), new byte[] { 1 });
+
+        mvc.perform(get("/uploads/tmp/upload-1.part")).andExpect(status().isNotFound());
+        mvc.perform(get("/uploads/sha256/00/00/missing.png")).andExpect(status().isNotFound());
+        mvc.perform(get("/uploads/sha256")).andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,85 @@
+package com.urbanmind.urbanmind_auth.event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+
+import com.urbanmind.urbanmind_auth.repository.ProblemRepository;
+import com.urbanmind.urbanmind_auth.repository.ProblemRepository.IndexRow;
+
+class ProblemChangeFeedTest {
+
+    private ProblemRepository problemRepository;
+    private ApplicationEventPublisher publisher;
+    private ProblemChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        problemRepository = mock(ProblemRepository.class);
+        publisher = mock(ApplicationEventPublisher.class);
+        feed = new ProblemChangeFeed(problemRepository, publisher);
+    }
+
+    @Test
+    void load_pagesThroughTheTableByPrimaryKey() {
+        List<IndexRow> firstPage = new ArrayList<>();
+        for (long id = 1; id <= 10_000; id++) {
+            firstPage.add(row(id));
+        }
+        when(problemRepository.findIndexRowsAfterId(eq(0L), any(Pageable.class))).thenReturn(firstPage);
+        when(problemRepository.findIndexRowsAfterId(eq(10_000L), any(Pageable.class)))
+                .thenReturn(List.of(row(10_001L)));
+
+        feed.load();
+
+        verify(publisher, times(10_001)).publishEvent(any(ProblemChangedEvent.class));
+    }
+
+    @Test
+    void poll_republishesRecentChangesOnlyAfterLoad() {
+        feed.poll();
+        verify(problemRepository, never()).findIndexRowsUpdatedSince(any());
+
+        when(problemRepository.findIndexRowsAfterId(eq(0L), any(Pageable.class))).thenReturn(List.of());
+        when(problemRepository.findIndexRowsUpdatedSince(any(OffsetDateTime.class))).thenReturn(List.of(row(7L)));
+        feed.load();
+        feed.poll();
+
+        ArgumentCaptor<ProblemChangedEvent> event = ArgumentCaptor.forClass(ProblemChangedEvent.class);
+        verify(publisher).publishEvent(event.capture());
+        assertEquals(7L, event.getValue().getProblemId());
+        assertEquals("IN_PROGRESS", event.getValue().getStatus());
+    }
+
+    private static IndexRow row(Long id) {
+        return new IndexRow() {
+            public Long getId() { return id; }
+            public BigDecimal getLatitude() { return new BigDecimal("18.52"); }
+            public BigDecimal getLongitude() { return new BigDecimal("73.85"); }
+            public String getStatus() { return "IN_PROGRESS"; }
+            public String getCategory() { return "ROADS"; }
+            public String getSeverity() { return "LOW"; }
+            public String getTitle() { return "Pothole"; }
+            public String getDescription() { return null; }
+            public String getTags() { return null; }
+            public String getCity() { return "Pune"; }
+            public OffsetDateTime getUpdatedAt() { return null; }
+        };
+    }
+}
@@ -0,0 +1,133 @@
+package com.urbanmind.urbanmind_auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.urbanmind.urbanmind_auth.dto.response.CommentResponseDTO;
+import com.urbanmind.urbanmind_auth.dto.response.CommentThreadPageDTO;
+import com.urbanmind.urbanmind_auth.dto.response.UserSummary;
+import com.urbanmind.urbanmind_auth.entity.Comment;
+import com.urbanmind.urbanmind_auth.repository.CommentRepository;
+import com.urbanmind.urbanmind_auth.service.impl.CommentThreadServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class CommentThreadServiceImplTest {
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private UserSummaryService userSummaryService;
+
+    @InjectMocks
+    private CommentThreadServiceImpl service;
+
+    private final OffsetDateTime t0 = OffsetDateTime.now().minusDays(1);
+
+    @BeforeEach
+    void setUp() {
+        when(userSummaryService.getSummaries(any()))
+                .thenReturn(Map.of(7L, new UserSummary(7L, "Asha", "asha", "asha")));
+    }
+
+    @Test
+    void buildsTreeFromOneQuery_withNewestThreadsFirst() {
+        // 1 and 2 are roots; 3 replies to 1; 4 replies to 3
+        when(commentRepository.findLiveByProblemId(9L)).thenReturn(List.of(
+                comment(1L, null, 0), comment(2L, null, 1),
+                comment(3L, 1L, 2), comment(4L, 3L, 3)));
+
+        CommentThreadPageDTO page = service.getThreads(9L, 0, 10, 5, 10);
+
+        assertEquals(2, page.getTotalThreads());
+        assertEquals(2L, page.getThreads().get(0).getId());
+
+        CommentResponseDTO first = page.getThreads().get(1);
+        assertEquals(1L, first.getId());
+        assertEquals(3L, first.getReplies().get(0).getId());
+        assertEquals(4L, first.getReplies().get(0).getReplies().get(0).getId());
+        assertEquals("Asha", first.getAuthorName());
+
+        verify(commentRepository, times(1)).findLiveByProblemId(9L);
+        verify(userSummaryService, times(1)).getSummaries(any());
+        verifyNoMoreInteractions(commentRepository, userSummaryService);
+    }
+
+    @Test
+    void enforcesDepthAndFanOutLimits() {
+        List<Comment> rows = new ArrayList<>();
+        rows.add(comment(1L, null, 0));
+        for (long i = 0; i < 5; i++) {
+            rows.add(comment(10L + i, 1L, 1 + (int) i));
+        }
+        rows.add(comment(20L, 10L, 10));
+        when(commentRepository.findLiveByProblemId(9L)).thenReturn(rows);
+
+        CommentResponseDTO root = service.getThreads(9L, 0, 10, 1, 2).getThreads().get(0);
+
+        assertEquals(5, root.getReplyCount());
+        assertEquals(2, root.getReplies().size());
+
+        // depth 1: replies are shown but their own replies are only counted
+        CommentResponseDTO reply = root.getReplies().get(0);
+        assertEquals(1, reply.getReplyCount());
+        assertTrue(reply.getReplies().isEmpty());
+    }
+
+    @Test
+    void pagesRootThreads() {
+        List<Comment> rows = new ArrayList<>();
+        for (long i = 1; i <= 5; i++) {
+            rows.add(comment(i, null, (int) i));
+        }
+        when(commentRepository.findLiveByProblemId(9L)).thenReturn(rows);
+
+        CommentThreadPageDTO first = service.getThreads(9L, 0, 2, 3, 10);
+        CommentThreadPageDTO last = service.getThreads(9L, 2, 2, 3, 10);
+
+        assertEquals(List.of(5L, 4L), first.getThreads().stream().map(CommentResponseDTO::getId).toList());
+        assertTrue(first.isHasMore());
+        assertEquals(List.of(1L), last.getThreads().stream().map(CommentResponseDTO::getId).toList());
+        assertFalse(last.isHasMore());
+    }
+
+    @Test
+    void hugePageNumber_returnsEmptyPage() {
+        when(commentRepository.findLiveByProblemId(9L)).thenReturn(List.of(comment(1L, null, 0)));
+
+        CommentThreadPageDTO page = service.getThreads(9L, Integer.MAX_VALUE, 50, 3, 10);
+
+        assertTrue(page.getThreads().isEmpty());
+        assertFalse(page.isHasMore());
+        assertEquals(1, page.getTotalThreads());
+    }
+
+    private Comment comment(Long id, Long parentId, int minutes) {
+        Comment c = new Comment();
+        c.setId(id);
+        c.setProblemId(9L);
+        c.setUserId(7L);
+        c.setParentCommentId(parentId);
+        c.setContent("comment " + id);
+        c.setCreatedAt(t0.plusMinutes(minutes));
+        return c;
+    }
+}
@@ -0,0 +1,145 @@
+package com.urbanmind.urbanmind_auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.urbanmind.urbanmind_auth.dto.response.ProblemFeedResponseDTO;
+import com.urbanmind.urbanmind_auth.dto.response.ProblemResponseDTO;
+import com.urbanmind.urbanmind_auth.event.ProblemActivityEvent;
+import com.urbanmind.urbanmind_auth.event.ProblemChangedEvent;
+import com.urbanmind.urbanmind_auth.repository.ProblemLikeRepository;
+import com.urbanmind.urbanmind_auth.service.impl.FeedResponseCacheImpl;
+
+@ExtendWith(MockitoExtension.class)
+class FeedResponseCacheImplTest {
+
+    private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+
+    @Mock
+    private ProblemLikeRepository likeRepository;
+
+    private FeedResponseCacheImpl cache;
+    private final AtomicInteger builds = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        cache = new FeedResponseCacheImpl(mapper, likeRepository, 60_000, 100, 60_000, 100);
+    }
+
+    @Test
+    void anonymousHits_shareOneBuild_andViewersGetTheirLikesPatchedIn() throws Exception {
+        when(likeRepository.findLikedProblemIds(eq(7L), any())).thenReturn(List.of(2L));
+
+        byte[] first = cache.getFeedPage(null, 3, null, null, page(1L, 2L, 3L));
+        byte[] second = cache.getFeedPage(null, 3, null, null, page(1L, 2L, 3L));
+        byte[] viewer = cache.getFeedPage(null, 3, null, 7L, page(1L, 2L, 3L));
+        cache.getFeedPage(null, 3, null, 7L, page(1L, 2L, 3L));
+
+        assertEquals(1, builds.get());
+        assertSame(first, second);
+        assertEquals(List.of(false, false, false), likedFlags(first));
+        assertEquals(List.of(false, true, false), likedFlags(viewer));
+        assertEquals("Pothole \"isLiked\":false", mapper.readTree(viewer).get("items").get(1).get("title").asText());
+        // The viewer's like set answered the second request
+        verify(likeRepository, times(1)).findLikedProblemIds(eq(7L), any());
+    }
+
+    @Test
+    void likeEvents_updateTheOverlayWithoutQuerying() throws Exception {
+        when(likeRepository.findLikedProblemIds(eq(7L), any())).thenReturn(List.of());
+
+        cache.getFeedPage(null, 2, null, 7L, page(1L, 2L));
+        cache.onProblemActivity(new ProblemActivityEvent(1L, 7L, ProblemActivityEvent.Kind.LIKED));
+
+        assertEquals(List.of(true, false), likedFlags(cache.getFeedPage(null, 2, null, 7L, page(1L, 2L))));
+        verify(likeRepository, times(1)).findLikedProblemIds(eq(7L), any());
+    }
+
+    @Test
+    void writes_dropOnlyTheAffectedPages() {
+        String cursor = "c1";
+        cache.getFeedPage(null, 2, null, null, page(5L, 4L));
+        cache.getFeedPage(cursor, 2, null, null, page(3L, 2L));
+        assertEquals(2, builds.get());
+
+        // A comment on a problem only rebuilds the page it is on
+        cache.onProblemActivity(new ProblemActivityEvent(2L, 9L, ProblemActivityEvent.Kind.COMMENTS_CHANGED));
+        cache.getFeedPage(null, 2, null, null, page(5L, 4L));
+        cache.getFeedPage(cursor, 2, null, null, page(3L, 2L));
+        assertEquals(3, builds.get());
+
+        // An unseen problem is new and can only appear on a first page
+        cache.onProblemChanged(new ProblemChangedEvent(6L, null, null, "OPEN", "ROADS", "LOW",
+                null, null, null, null));
+        cache.getFeedPage(null, 2, null, null, page(6L, 5L));
+        cache.getFeedPage(cursor, 2, null, null, page(3L, 2L));
+        assertEquals(4, builds.get());
+    }
+
+    @Test
+    void polledRepeats_ofAChangeAlreadySeen_keepTheCache() {
+        OffsetDateTime v1 = OffsetDateTime.parse("2025-01-01T10:00:00.123456789Z");
+        cache.onProblemChanged(changed(5L, v1, false));
+        cache.getFeedPage(null, 2, null, null, page(5L, 4L));
+
+        // The poll resends the same row (at database precision) every interval
+        cache.onProblemChanged(changed(5L, OffsetDateTime.parse("2025-01-01T10:00:00.123456Z"), true));
+        cache.onProblemChanged(changed(5L, OffsetDateTime.parse("2025-01-01T10:00:00.123456Z"), true));
+        cache.getFeedPage(null, 2, null, null, page(5L, 4L));
+        assertEquals(1, builds.get());
+
+        // A newer version from another node is a real change
+        cache.onProblemChanged(changed(5L, v1.plusSeconds(5), true));
+        cache.getFeedPage(null, 2, null, null, page(5L, 4L));
+        assertEquals(2, builds.get());
+    }
+
+    private static ProblemChangedEvent changed(Long id, OffsetDateTime updatedAt, boolean polled) {
+        return new ProblemChangedEvent(id, null, null, "OPEN", "ROADS", "LOW",
+                null, null, null, null, updatedAt, polled);
+    }
+
+    private Supplier<ProblemFeedResponseDTO> page(Long... ids) {
+        return () -> {
+            builds.incrementAndGet();
+            List<ProblemResponseDTO> items = new ArrayList<>();
+            for (Long id : ids) {
+                ProblemResponseDTO dto = new ProblemResponseDTO();
+                dto.setId(id);
+                // A title that looks like the patched token must survive untouched
+                dto.setTitle("Pothole \"isLiked\":false");
+                dto.setCreatedAt(OffsetDateTime.parse("2025-01-01T10:00:00Z"));
+                dto.setIsLiked(false);
+                items.add(dto);
+            }
+            return new ProblemFeedResponseDTO(items, null, false);
+        };
+    }
+
+    private List<Boolean> likedFlags(byte[] json) throws Exception {
+        List<Boolean> flags = new ArrayList<>();
+        for (JsonNode item : mapper.readTree(json).get("items")) {
+            flags.add(item.get("isLiked").asBoolean());
+        }
+        return flags;
+    }
+}
@@ -0,0 +1,132 @@
+package com.urbanmind.urbanmind_auth.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.urbanmind.urbanmind_auth.exception.ApiException;
+import com.urbanmind.urbanmind_auth.exception.PayloadTooLargeException;
+import com.urbanmind.urbanmind_auth.service.MediaStorageService.StoredMedia;
+import com.urbanmind.urbanmind_auth.service.impl.MediaStorageServiceImpl;
+
+class MediaStorageServiceImplTest {
+
+    private static final byte[] PNG_HEADER = { (byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A };
+
+    @TempDir
+    Path root;
+
+    private MediaStorageServiceImpl storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new MediaStorageServiceImpl(root.toString(), 1024);
+    }
+
+    @Test
+    void storesUnderContentHashWithSniffedType() throws Exception {
+        byte[] png = png(100);
+        // Client claims it is a PDF; the bytes say PNG
+        StoredMedia stored = storage.store(file("photo.pdf", "application/pdf", png),
+                MediaStorageService.PROBLEM_MEDIA_TYPES);
+
+        assertEquals("image/png", stored.getContentType());
+        assertEquals(100, stored.getSizeBytes());
+        assertFalse(stored.isDeduplicated());
+
+        String hash = stored.getSha256();
+        assertEquals(64, hash.length());
+        assertEquals("/uploads/sha256/" + hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + ".png",
+                stored.getUrl());
+
+        Path onDisk = root.resolve(stored.getUrl().substring("/uploads/".length()));
+        assertArrayEquals(png, Files.readAllBytes(onDisk));
+        assertTempEmpty();
+    }
+
+    @Test
+    void identicalUploadsAreStoredOnce() throws Exception {
+        byte[] png = png(200);
+
+        StoredMedia first = storage.store(file("a.png", "image/png", png), MediaStorageService.PROBLEM_MEDIA_TYPES);
+        StoredMedia second = storage.store(file("b.png", "image/png", png), MediaStorageService.PROBLEM_MEDIA_TYPES);
+
+        assertEquals(first.getUrl(), second.getUrl());
+        assertTrue(second.isDeduplicated());
+        try (Stream<Path> files = Files.walk(root.resolve("sha256"))) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+        assertTempEmpty();
+    }
+
+    @Test
+    void rejectsDisguisedFiles() throws Exception {
+        byte[] exe = { 'M', 'Z', 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 };
+
+        assertThrows(ApiException.class,
+                () -> storage.store(file("cat.jpg", "image/jpeg", exe), MediaStorageService.PROBLEM_MEDIA_TYPES));
+        assertTempEmpty();
+    }
+
+    @Test
+    void rejectsTypesTheCallerDoesNotAccept() {
+        byte[] pdf = "%PDF-1.7 hello".getBytes();
+
+        assertThrows(ApiException.class,
+                () -> storage.store(file("doc.pdf", "application/pdf", pdf), MediaStorageService.PROBLEM_MEDIA_TYPES));
+        assertEquals("application/pdf",
+                storage.store(file("doc.pdf", "application/pdf", pdf), MediaStorageService.DOCUMENT_TYPES).getContentType());
+    }
+
+    @Test
+    void classifiesIsoMediaByMajorBrand() {
+        assertEquals("video/mp4", storage.store(file("a.mp4", "video/mp4", ftyp("isom")),
+                MediaStorageService.PROBLEM_MEDIA_TYPES).getContentType());
+        assertEquals("image/heic", storage.store(file("a.mp4", "video/mp4", ftyp("heic")),
+                MediaStorageService.PROBLEM_MEDIA_TYPES).getContentType());
+        assertEquals("image/avif", storage.store(file("a.mp4", "video/mp4", ftyp("avif")),
+                MediaStorageService.PROBLEM_MEDIA_TYPES).getContentType());
+        assertThrows(ApiException.class, () -> storage.store(file("a.mp4", "video/mp4", ftyp("3gp4")),
+                MediaStorageService.PROBLEM_MEDIA_TYPES));
+    }
+
+    @Test
+    void rejectsOversizedUploads() throws Exception {
+        assertThrows(PayloadTooLargeException.class,
+                () -> storage.store(file("big.png", "image/png", png(2048)), MediaStorageService.PROBLEM_MEDIA_TYPES));
+        assertTempEmpty();
+    }
+
+    private static byte[] ftyp(String brand) {
+        byte[] box = new byte[32];
+        box[3] = 32;
+        System.arraycopy(("ftyp" + brand).getBytes(), 0, box, 4, 8);
+        return box;
+    }
+
+    private static byte[] png(int size) {
+        byte[] bytes = Arrays.copyOf(PNG_HEADER, size);
+        for (int i = PNG_HEADER.length; i < size; i++) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+
+    private static MockMultipartFile file(String name, String contentType, byte[] bytes) {
+        return new MockMultipartFile("file", name, contentType, bytes);
+    }
+
+    private void assertTempEmpty() throws Exception {
+        try (Stream<Path> files = Files.list(root.resolve("tmp"))) {
+            assertEquals(0, files.count());
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.urbanmind.urbanmind_auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.urbanmind.urbanmind_auth.entity.Problem;
+import com.urbanmind.urbanmind_auth.repository.CommentRepository;
+import com.urbanmind.urbanmind_auth.repository.ProblemLikeRepository;
+import com.urbanmind.urbanmind_auth.repository.ProblemRepository;
+import com.urbanmind.urbanmind_auth.service.impl.CommentServiceImpl;
+import com.urbanmind.urbanmind_auth.service.impl.ProblemCounterServiceImpl;
+import com.urbanmind.urbanmind_auth.service.impl.ProblemServiceImpl;
+import com.urbanmind.urbanmind_auth.service.impl.ProblemTagServiceImpl;
+import com.urbanmind.urbanmind_auth.service.impl.ProblemTimelineServiceImpl;
+
+/**
+ * Hammers like/unlike/share/comment from many threads and checks that the
+ * counters on the problem row match the rows that were actually written.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:counters;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;INIT=CREATE SCHEMA IF NOT EXISTS urbanmind",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "eureka.client.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ ProblemServiceImpl.class, ProblemTimelineServiceImpl.class, CommentServiceImpl.class,
+        ProblemCounterServiceImpl.class, ProblemTagServiceImpl.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProblemCounterConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int USERS = 200;
+
+    @Autowired
+    private ProblemService problemService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private ProblemCounterService counterService;
+
+    @Autowired
+    private ProblemRepository problemRepository;
+
+    @Autowired
+    private ProblemLikeRepository likeRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long problemId;
+
+    @BeforeEach
+    void setUp() {
+        Problem p = new Problem();
+        p.setTitle("Pothole");
+        p.setStatus("OPEN");
+        p.setCreatedByUserId(1L);
+        p.setCreatedAt(OffsetDateTime.now());
+        problemId = problemRepository.save(p).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        commentRepository.deleteAll();
+        likeRepository.deleteAll();
+        problemRepository.deleteAll();
+    }
+
+    // ---------- LIKES: duplicates are ignored, nothing is lost ----------
+    @Test
+    void concurrentLikes_countEveryDistinctUserOnce() throws Exception {
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (long user = 1; user <= USERS; user++) {
+            long u = user;
+            // every user double-taps the like button
+            tasks.add(() -> { problemService.likeProblem(problemId, u); return null; });
+            tasks.add(() -> { problemService.likeProblem(problemId, u); return null; });
+        }
+        runConcurrently(tasks);
+
+        assertEquals(USERS, likeRepository.count());
+        assertEquals(USERS, upvotes());
+
+        tasks.clear();
+        for (long user = 1; user <= USERS / 2; user++) {
+            long u = user;
+            tasks.add(() -> { problemService.unlikeProblem(problemId, u); return null; });
+            tasks.add(() -> { problemService.unlikeProblem(problemId, u); return null; });
+        }
+        runConcurrently(tasks);
+
+        assertEquals(USERS / 2, likeRepository.count());
+        assertEquals(USERS / 2, upvotes());
+    }
+
+    // ---------- SHARES: flushes racing with writers lose nothing ----------
+    @Test
+    void concurrentShares_areAllCounted() throws Exception {
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            tasks.add(() -> { problemService.shareProblem(problemId); return null; });
+            if (i % 10 == 0) {
+                tasks.add(() -> { counterService.flush(); return null; });
+            }
+        }
+        runConcurrently(tasks);
+
+        assertEquals(USERS, shares());
+    }
+
+    // ---------- WRITE-BEHIND: pending deltas are visible before the flush ----------
+    @Test
+    void bufferedShares_areVisibleBeforeFlush() {
+
+        problemService.shareProblem(problemId);
+        problemService.shareProblem(problemId);
+
+        assertEquals(0, problemRepository.findById(problemId).orElseThrow().getShareCount());
+        assertEquals(2, counterService.pendingShares(problemId));
+
+        counterService.flush();
+
+        assertEquals(2, problemRepository.findById(problemId).orElseThrow().getShareCount());
+        assertEquals(0, counterService.pendingShares(problemId));
+    }
+
+    // ---------- ROLLBACK: only committed increments are counted ----------
+    @Test
+    void rolledBackIncrement_isNeverBuffered() {
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            counterService.addUpvotes(problemId, 1);
+            status.setRollbackOnly();
+        });
+        assertEquals(0, counterService.pendingUpvotes(problemId));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                counterService.addUpvotes(problemId, 1));
+        assertEquals(1, counterService.pendingUpvotes(problemId));
+    }
+
+    // ---------- SHUTDOWN: increments after stop() are written, not dropped ----------
+    @Test
+    void incrementAfterStop_isWrittenImmediately() {
+
+        ProblemCounterServiceImpl impl = (ProblemCounterServiceImpl) counterService;
+        impl.stop();
+        try {
+            counterService.addShares(problemId, 3);
+
+            assertEquals(0, counterService.pendingShares(problemId));
+            assertEquals(3, problemRepository.findById(problemId).orElseThrow().getShareCount());
+        } finally {
+            impl.start();
+        }
+    }
+
+    // ---------- COMMENTS ----------
+    @Test
+    void concurrentComments_matchLiveComments() throws Exception {
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (long user = 1; user <= USERS; user++) {
+            long u = user;
+            tasks.add(() -> { commentService.addComment(problemId, u, "same here"); return null; });
+        }
+        runConcurrently(tasks);
+
+        assertEquals(USERS, comments());
+
+        tasks.clear();
+        commentRepository.findAll().stream()
+                .limit(USERS / 4)
+                .forEach(c -> {
+                    // deleting twice must only decrement once
+                    tasks.add(() -> { commentService.deleteComment(c.getId(), c.getUserId()); return null; });
+                    tasks.add(() -> { commentService.deleteComment(c.getId(), c.getUserId()); return null; });
+                });
+        runConcurrently(tasks);
+
+        assertEquals(USERS - USERS / 4, comments());
+    }
+
+    private int upvotes() {
+        counterService.flush();
+        return problemRepository.findById(problemId).orElseThrow().getUpvoteCount();
+    }
+
+    private int shares() {
+        counterService.flush();
+        return problemRepository.findById(problemId).orElseThrow().getShareCount();
+    }
+
+    private int comments() {
+        return problemRepository.findById(problemId).orElseThrow().getCommentCount();
+    }
+
+    private static void runConcurrently(List<Callable<Void>> tasks) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<Void> f : pool.invokeAll(tasks)) {
+                f.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
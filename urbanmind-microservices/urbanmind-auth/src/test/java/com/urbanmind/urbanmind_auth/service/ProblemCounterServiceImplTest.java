@@ -0,0 +1,83 @@
+package com.urbanmind.urbanmind_auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.urbanmind.urbanmind_auth.service.impl.ProblemCounterServiceImpl;
+
+/**
+ * Flushes against a mocked JdbcTemplate as fast as they can run, so idle
+ * entries are evicted over and over while writers keep adding to them.
+ */
+class ProblemCounterServiceImplTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    // views written by every flush, summed
+    private final LongAdder flushedViews = new LongAdder();
+
+    @Test
+    void writesRacingIdleEviction_areAllFlushed() throws Exception {
+        when(transactionManager.getTransaction(any())).thenAnswer(inv -> new SimpleTransactionStatus());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(inv -> {
+            List<Object[]> args = inv.getArgument(1);
+            // (upvotes, shares, views, id)
+            args.forEach(a -> flushedViews.add((Long) a[2]));
+            return new int[args.size()];
+        });
+
+        ProblemCounterServiceImpl counters = new ProblemCounterServiceImpl(jdbcTemplate, transactionManager);
+        counters.start();
+
+        int writers = 8;
+        int perWriter = 200_000;
+        AtomicBoolean writing = new AtomicBoolean(true);
+        Thread flusher = new Thread(() -> {
+            while (writing.get()) {
+                counters.flush();
+            }
+        });
+        flusher.start();
+
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<?>> done = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                done.add(pool.submit(() -> {
+                    for (int i = 0; i < perWriter; i++) {
+                        // spread thin, so each problem goes idle and is evicted between views
+                        counters.addViews((long) (i % 500), 1);
+                    }
+                }));
+            }
+            for (Future<?> f : done) {
+                f.get();
+            }
+        } finally {
+            pool.shutdown();
+            writing.set(false);
+            flusher.join(10_000);
+        }
+
+        counters.flush();
+        assertEquals((long) writers * perWriter, flushedViews.sum());
+    }
+}
@@ -0,0 +1,120 @@
+package com.urbanmind.urbanmind_auth.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.urbanmind.urbanmind_auth.event.ProblemChangedEvent;
+import com.urbanmind.urbanmind_auth.service.ProblemGeoService.NearbyProblem;
+import com.urbanmind.urbanmind_auth.service.impl.ProblemGeoServiceImpl;
+import com.urbanmind.urbanmind_auth.utils.GeoHash;
+
+class ProblemGeoServiceImplTest {
+
+    // Pune, roughly
+    private static final double LAT = 18.5204;
+    private static final double LNG = 73.8567;
+
+    private ProblemGeoServiceImpl geo;
+
+    @BeforeEach
+    void setUp() {
+        geo = new ProblemGeoServiceImpl();
+    }
+
+    @Test
+    void findNearby_returnsClosestFirstWithinRadius() {
+        put(1L, LAT + 0.02, LNG, "OPEN", "ROADS");      // ~2.2 km north
+        put(2L, LAT, LNG + 0.005, "OPEN", "ROADS");     // ~0.5 km east
+        put(3L, LAT + 0.2, LNG, "OPEN", "ROADS");       // ~22 km, outside 5 km
+        put(4L, LAT - 0.01, LNG - 0.01, "OPEN", "WATER");
+
+        List<NearbyProblem> hits = geo.findNearby(LAT, LNG, 5, null, null, 10);
+
+        assertEquals(List.of(2L, 4L, 1L), ids(hits));
+        assertEquals(0.53, hits.get(0).getDistanceKm(), 0.02);
+    }
+
+    @Test
+    void findNearby_appliesFiltersAndLimit() {
+        put(1L, LAT + 0.001, LNG, "OPEN", "ROADS");
+        put(2L, LAT + 0.002, LNG, "CLOSED", "ROADS");
+        put(3L, LAT + 0.003, LNG, "OPEN", "WATER");
+        put(4L, LAT + 0.004, LNG, "OPEN", "ROADS");
+
+        assertEquals(List.of(1L, 4L), ids(geo.findNearby(LAT, LNG, 5, "OPEN", "ROADS", 10)));
+        assertEquals(List.of(2L), ids(geo.findNearby(LAT, LNG, 5, "CLOSED", null, 10)));
+        assertEquals(List.of(1L, 2L), ids(geo.findNearby(LAT, LNG, 5, null, null, 2)));
+    }
+
+    @Test
+    void changesMoveOrDropEntries() {
+        put(1L, LAT, LNG, "OPEN", "ROADS");
+        put(1L, LAT, LNG, "CLOSED", "ROADS");
+        assertTrue(geo.findNearby(LAT, LNG, 1, "OPEN", null, 10).isEmpty());
+
+        // Moved far away: gone from the old cell
+        put(1L, LAT + 1, LNG, "CLOSED", "ROADS");
+        assertTrue(geo.findNearby(LAT, LNG, 1, null, null, 10).isEmpty());
+        assertEquals(1, geo.size());
+
+        // 0,0 is the "no location" placeholder
+        put(1L, 0, 0, "CLOSED", "ROADS");
+        assertEquals(0, geo.size());
+    }
+
+    @Test
+    void findNearby_crossesTheAntimeridian() {
+        put(1L, 0.0, 179.99, "OPEN", "ROADS");
+        put(2L, 0.0, -179.99, "OPEN", "ROADS");
+
+        assertEquals(2, geo.findNearby(0.0, 180.0, 5, null, null, 10).size());
+    }
+
+    @Test
+    void findNearby_matchesBruteForce() {
+        Random random = new Random(7);
+        List<double[]> points = new ArrayList<>();
+        for (long id = 1; id <= 5_000; id++) {
+            double lat = LAT + (random.nextDouble() - 0.5) * 0.6;
+            double lng = LNG + (random.nextDouble() - 0.5) * 0.6;
+            put(id, lat, lng, id % 7 == 0 ? "OPEN" : "CLOSED", "ROADS");
+            points.add(new double[] { id, lat, lng });
+        }
+
+        List<NearbyProblem> hits = geo.findNearby(LAT, LNG, 8, null, null, 5_000);
+
+        long expected = points.stream()
+                .filter(p -> GeoHash.haversineKm(LAT, LNG, p[1], p[2]) <= 8)
+                .count();
+        assertEquals(expected, hits.size());
+        for (int i = 1; i < hits.size(); i++) {
+            assertTrue(hits.get(i - 1).getDistanceKm() <= hits.get(i).getDistanceKm());
+        }
+
+        // Top-k stops expanding early; it must still find the true nearest
+        List<Long> nearestOpen = points.stream()
+                .filter(p -> (long) p[0] % 7 == 0)
+                .sorted(Comparator.comparingDouble(p -> GeoHash.haversineKm(LAT, LNG, p[1], p[2])))
+                .limit(20)
+                .map(p -> (long) p[0])
+                .toList();
+        assertEquals(nearestOpen, ids(geo.findNearby(LAT, LNG, 30, "OPEN", null, 20)));
+    }
+
+    private void put(Long id, double lat, double lng, String status, String category) {
+        geo.onProblemChanged(new ProblemChangedEvent(id, BigDecimal.valueOf(lat), BigDecimal.valueOf(lng),
+                status, category, "LOW", null, null, null, null));
+    }
+
+    private static List<Long> ids(List<NearbyProblem> hits) {
+        return hits.stream().map(NearbyProblem::getProblemId).toList();
+    }
+}
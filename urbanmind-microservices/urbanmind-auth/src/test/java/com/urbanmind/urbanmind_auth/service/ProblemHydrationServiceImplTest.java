@@ -0,0 +1,147 @@
+package com.urbanmind.urbanmind_auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.urbanmind.urbanmind_auth.dto.response.ProblemResponseDTO;
+import com.urbanmind.urbanmind_auth.dto.response.UserSummary;
+import com.urbanmind.urbanmind_auth.entity.Problem;
+import com.urbanmind.urbanmind_auth.entity.ProblemMedia;
+import com.urbanmind.urbanmind_auth.repository.ProblemLikeRepository;
+import com.urbanmind.urbanmind_auth.repository.ProblemMediaRepository;
+import com.urbanmind.urbanmind_auth.service.impl.ProblemHydrationServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class ProblemHydrationServiceImplTest {
+
+    @Mock
+    private UserSummaryService userSummaryService;
+
+    @Mock
+    private ProblemLikeRepository likeRepository;
+
+    @Mock
+    private ProblemMediaRepository mediaRepository;
+
+    @Mock
+    private ProblemCounterService counterService;
+
+    @Mock
+    private ThumbnailService thumbnailService;
+
+    @Mock
+    private ProblemTagService tagService;
+
+    @InjectMocks
+    private ProblemHydrationServiceImpl service;
+
+    // ---------- QUERY COUNT IS CONSTANT PER PAGE ----------
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 50})
+    void toResponses_usesOneQueryPerKind(int pageSize) {
+
+        List<Problem> page = new ArrayList<>();
+        Map<Long, UserSummary> users = new HashMap<>();
+        for (long i = 1; i <= pageSize; i++) {
+            page.add(problem(i, 100 + i, 200 + i));
+            users.put(100 + i, user(100 + i, "Author " + i));
+            users.put(200 + i, user(200 + i, "Assignee " + i));
+        }
+
+        when(userSummaryService.getSummaries(any())).thenReturn(users);
+        when(likeRepository.findLikedProblemIds(eq(7L), anyCollection())).thenReturn(List.of());
+        when(mediaRepository.findFirstMediaByProblemIds(anyCollection())).thenReturn(List.of());
+
+        List<ProblemResponseDTO> result = service.toResponses(page, 7L);
+
+        assertEquals(pageSize, result.size());
+        verify(userSummaryService, times(1)).getSummaries(any());
+        verify(likeRepository, times(1)).findLikedProblemIds(eq(7L), anyCollection());
+        verify(mediaRepository, times(1)).findFirstMediaByProblemIds(anyCollection());
+        verify(tagService, times(1)).getTagNames(anyCollection());
+        verifyNoMoreInteractions(userSummaryService, likeRepository, mediaRepository, tagService);
+    }
+
+    // ---------- ANONYMOUS VIEWER SKIPS LIKE LOOKUP ----------
+    @Test
+    void toResponses_withoutViewer_skipsLikeQuery() {
+
+        when(userSummaryService.getSummaries(any())).thenReturn(Map.of(10L, user(10L, "Asha")));
+        when(mediaRepository.findFirstMediaByProblemIds(anyCollection())).thenReturn(List.of());
+
+        List<ProblemResponseDTO> result = service.toResponses(List.of(problem(1L, 10L, null)), null);
+
+        assertFalse(result.get(0).getIsLiked());
+        verifyNoMoreInteractions(likeRepository);
+    }
+
+    // ---------- FIELDS ARE ASSEMBLED FROM THE BATCHES ----------
+    @Test
+    void toResponses_assemblesLikesCoverAndAssignee() {
+
+        Problem liked = problem(1L, 10L, 20L);
+        Problem plain = problem(2L, 10L, null);
+
+        ProblemMedia cover = new ProblemMedia();
+        cover.setProblemId(1L);
+        cover.setMediaUrl("/uploads/cover.png");
+
+        when(userSummaryService.getSummaries(any()))
+                .thenReturn(Map.of(10L, user(10L, "Asha"), 20L, user(20L, "Ravi")));
+        when(likeRepository.findLikedProblemIds(eq(7L), anyCollection())).thenReturn(List.of(1L));
+        when(mediaRepository.findFirstMediaByProblemIds(anyCollection())).thenReturn(List.of(cover));
+        when(thumbnailService.coverUrl(cover)).thenReturn("/uploads/cover.png");
+        when(tagService.getTagNames(anyCollection())).thenReturn(Map.of(1L, List.of("pothole", "fc-road")));
+
+        List<ProblemResponseDTO> result = service.toResponses(List.of(liked, plain), 7L);
+
+        assertTrue(result.get(0).getIsLiked());
+        assertEquals("/uploads/cover.png", result.get(0).getCoverImageUrl());
+        assertEquals("Ravi", result.get(0).getAssignedToUserName());
+        assertEquals("Asha", result.get(0).getAuthorName());
+        assertEquals(List.of("pothole", "fc-road"), result.get(0).getTags());
+
+        assertFalse(result.get(1).getIsLiked());
+        assertNull(result.get(1).getCoverImageUrl());
+        assertNull(result.get(1).getAssignedToUserName());
+        assertEquals(List.of(), result.get(1).getTags());
+    }
+
+    private static Problem problem(Long id, Long authorId, Long assigneeId) {
+        Problem p = new Problem();
+        p.setId(id);
+        p.setTitle("Problem " + id);
+        p.setStatus("OPEN");
+        p.setCreatedByUserId(authorId);
+        p.setAssignedToUserId(assigneeId);
+        p.setCreatedAt(OffsetDateTime.now());
+        return p;
+    }
+
+    private static UserSummary user(Long id, String fullName) {
+        return new UserSummary(id, fullName, "user" + id, "user" + id);
+    }
+}
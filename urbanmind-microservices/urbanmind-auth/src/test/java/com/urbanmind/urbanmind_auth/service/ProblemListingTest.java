@@ -0,0 +1,156 @@
+package com.urbanmind.urbanmind_auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.urbanmind.urbanmind_auth.dto.request.ProblemFilterDTO;
+import com.urbanmind.urbanmind_auth.entity.Problem;
+import com.urbanmind.urbanmind_auth.exception.ApiException;
+import com.urbanmind.urbanmind_auth.repository.ProblemRepository;
+import com.urbanmind.urbanmind_auth.repository.ProblemTagRepository;
+import com.urbanmind.urbanmind_auth.repository.TagRepository;
+import com.urbanmind.urbanmind_auth.service.impl.ProblemCounterServiceImpl;
+import com.urbanmind.urbanmind_auth.service.impl.ProblemServiceImpl;
+import com.urbanmind.urbanmind_auth.service.impl.ProblemTagServiceImpl;
+import com.urbanmind.urbanmind_auth.service.impl.ProblemTimelineServiceImpl;
+
+/**
+ * Runs the Specification-built listing against a real (H2) database, so the
+ * generated criteria queries, the CASE-based severity order and the count
+ * query are all exercised.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:listing;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;INIT=CREATE SCHEMA IF NOT EXISTS urbanmind",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "eureka.client.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ ProblemServiceImpl.class, ProblemTimelineServiceImpl.class, ProblemCounterServiceImpl.class,
+        ProblemTagServiceImpl.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProblemListingTest {
+
+    private static final OffsetDateTime NOW = OffsetDateTime.parse("2026-01-10T12:00:00Z");
+
+    @Autowired
+    private ProblemService problemService;
+
+    @Autowired
+    private ProblemTagService tagService;
+
+    @Autowired
+    private ProblemRepository problemRepository;
+
+    @Autowired
+    private ProblemTagRepository problemTagRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    private Long pothole;
+    private Long leak;
+    private Long garbage;
+    private Long light;
+
+    @BeforeEach
+    void setUp() {
+        pothole = save("OPEN", "ROADS", "high", "Pune", true, 5, NOW.minusDays(1));
+        leak = save("OPEN", "WATER", "CRITICAL", "pune", false, 1, NOW.minusDays(3));
+        garbage = save("CLOSED", "SANITATION", "Low", "Mumbai", false, 9, NOW.minusDays(2));
+        light = save("OPEN", "ROADS", "Medium", "Pune", false, 0, NOW);
+        tagService.replaceTags(pothole, List.of("pothole"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        problemTagRepository.deleteAll();
+        tagRepository.deleteAll();
+        problemRepository.deleteAll();
+    }
+
+    @Test
+    void combinesFilters_newestFirst() {
+        ProblemFilterDTO f = new ProblemFilterDTO();
+        f.setStatus("OPEN");
+        f.setCity("PUNE");
+        assertEquals(List.of(light, pothole, leak), ids(problemService.listProblems(f, 0, 10)));
+
+        f.setCategory("ROADS");
+        f.setCreatedTo(NOW);
+        assertEquals(List.of(pothole), ids(problemService.listProblems(f, 0, 10)));
+
+        ProblemFilterDTO donations = new ProblemFilterDTO();
+        donations.setDonationEnabled(true);
+        donations.setTag("#Pothole");
+        assertEquals(List.of(pothole), ids(problemService.listProblems(donations, 0, 10)));
+
+        ProblemFilterDTO unknownTag = new ProblemFilterDTO();
+        unknownTag.setTag("nothing");
+        assertTrue(problemService.listProblems(unknownTag, 0, 10).isEmpty());
+    }
+
+    @Test
+    void sortsByUpvotesAndSeverityRank() {
+        ProblemFilterDTO f = new ProblemFilterDTO();
+        f.setSort("upvotes");
+        assertEquals(List.of(garbage, pothole, leak, light), ids(problemService.listProblems(f, 0, 10)));
+
+        f.setSort("severity");
+        assertEquals(List.of(leak, pothole, light, garbage), ids(problemService.listProblems(f, 0, 10)));
+
+        f.setSort("loudest");
+        assertThrows(ApiException.class, () -> problemService.listProblems(f, 0, 10));
+    }
+
+    @Test
+    void pagesCarryTotals() {
+        Page<Problem> first = problemService.listProblems(new ProblemFilterDTO(), 0, 3);
+        assertEquals(4, first.getTotalElements());
+        assertEquals(2, first.getTotalPages());
+        assertTrue(first.hasNext());
+
+        Page<Problem> second = problemService.listProblems(new ProblemFilterDTO(), 1, 3);
+        assertEquals(List.of(leak), ids(second));
+        assertFalse(second.hasNext());
+    }
+
+    private Long save(String status, String category, String severity, String city,
+                      boolean donation, int upvotes, OffsetDateTime createdAt) {
+        Problem p = new Problem();
+        p.setTitle(category);
+        p.setStatus(status);
+        p.setCategory(category);
+        p.setSeverity(severity);
+        p.setCity(city);
+        p.setIsDonationEnabled(donation);
+        p.setUpvoteCount(upvotes);
+        p.setCreatedByUserId(1L);
+        p.setCreatedAt(createdAt);
+        return problemRepository.save(p).getId();
+    }
+
+    private static List<Long> ids(Page<Problem> page) {
+        return page.getContent().stream().map(Problem::getId).toList();
+    }
+}
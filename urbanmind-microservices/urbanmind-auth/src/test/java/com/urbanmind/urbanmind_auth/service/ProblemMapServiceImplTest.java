@@ -0,0 +1,101 @@
+package com.urbanmind.urbanmind_auth.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.urbanmind.urbanmind_auth.dto.response.MapClusterDTO;
+import com.urbanmind.urbanmind_auth.event.ProblemChangedEvent;
+import com.urbanmind.urbanmind_auth.service.impl.ProblemMapServiceImpl;
+
+class ProblemMapServiceImplTest {
+
+    private ProblemMapServiceImpl map;
+
+    @BeforeEach
+    void setUp() {
+        map = new ProblemMapServiceImpl();
+    }
+
+    @Test
+    void precisionGrowsWithZoom() {
+        assertEquals(1, map.precisionForZoom(0));
+        assertEquals(2, map.precisionForZoom(3));
+        assertEquals(5, map.precisionForZoom(10));
+        assertEquals(6, map.precisionForZoom(12));
+        assertEquals(6, map.precisionForZoom(20));
+    }
+
+    @Test
+    void countsAreBrokenDownByStatusAndSeverity() {
+        // Two in Pune, one in Mumbai
+        put(1L, 18.52, 73.85, "OPEN", "HIGH");
+        put(2L, 18.53, 73.86, "CLOSED", "HIGH");
+        put(3L, 19.07, 72.87, "OPEN", "LOW");
+
+        List<MapClusterDTO> country = map.getClusters(6, 68, 36, 98, 3);
+        assertEquals(3, country.stream().mapToInt(MapClusterDTO::getCount).sum());
+
+        List<MapClusterDTO> city = map.getClusters(18.4, 73.7, 18.6, 74.0, 9);
+        assertEquals(1, city.size());
+        MapClusterDTO pune = city.get(0);
+        assertEquals(2, pune.getCount());
+        assertEquals(Map.of("OPEN", 1, "CLOSED", 1), pune.getByStatus());
+        assertEquals(Map.of("HIGH", 2), pune.getBySeverity());
+        assertEquals(18.525, pune.getLatitude(), 1e-9);
+        assertEquals(4, pune.getGeohash().length());
+    }
+
+    @Test
+    void updatesMoveProblemsBetweenBuckets() {
+        put(1L, 18.52, 73.85, "OPEN", "HIGH");
+        put(1L, 18.52, 73.85, "CLOSED", "HIGH");
+
+        MapClusterDTO cell = map.getClusters(18.4, 73.7, 18.6, 74.0, 9).get(0);
+        assertEquals(1, cell.getCount());
+        assertEquals(Map.of("CLOSED", 1), cell.getByStatus());
+
+        // Moved to Mumbai: Pune's cell disappears at every level
+        put(1L, 19.07, 72.87, "CLOSED", "HIGH");
+        assertTrue(map.getClusters(18.4, 73.7, 18.6, 74.0, 12).isEmpty());
+        assertEquals(1, map.getClusters(18.9, 72.7, 19.2, 73.0, 12).size());
+
+        // Lost its location
+        put(1L, 0, 0, "CLOSED", "HIGH");
+        assertTrue(map.getClusters(-90, -180, 90, 180, 0).isEmpty());
+    }
+
+    @Test
+    void smallAndLargeBoxesAgree() {
+        for (long id = 1; id <= 200; id++) {
+            put(id, 18 + (id % 20) * 0.05, 73 + (id / 20) * 0.05, "OPEN", "LOW");
+        }
+
+        // Tiny box is looked up cell by cell, the world box walks the level
+        List<MapClusterDTO> world = map.getClusters(-90, -180, 90, 180, 8);
+        List<MapClusterDTO> local = map.getClusters(17.9, 72.9, 19.1, 73.6, 8);
+        assertEquals(200, world.stream().mapToInt(MapClusterDTO::getCount).sum());
+        assertEquals(world.stream().map(MapClusterDTO::getGeohash).toList(),
+                local.stream().map(MapClusterDTO::getGeohash).toList());
+    }
+
+    @Test
+    void boxMayCrossTheAntimeridian() {
+        put(1L, -17.7, 178.0, "OPEN", "LOW");   // Fiji
+        put(2L, -14.3, -170.7, "OPEN", "LOW");  // Samoa
+        put(3L, 18.52, 73.85, "OPEN", "LOW");
+
+        List<MapClusterDTO> pacific = map.getClusters(-30, 170, 0, -160, 4);
+        assertEquals(2, pacific.stream().mapToInt(MapClusterDTO::getCount).sum());
+    }
+
+    private void put(Long id, double lat, double lng, String status, String severity) {
+        map.onProblemChanged(new ProblemChangedEvent(id, BigDecimal.valueOf(lat), BigDecimal.valueOf(lng),
+                status, "ROADS", severity, null, null, null, null));
+    }
+}
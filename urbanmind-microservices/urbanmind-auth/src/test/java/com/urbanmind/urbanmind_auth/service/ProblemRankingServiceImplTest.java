@@ -0,0 +1,100 @@
+package com.urbanmind.urbanmind_auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.urbanmind.urbanmind_auth.repository.ProblemRepository;
+import com.urbanmind.urbanmind_auth.repository.ProblemRepository.HotRow;
+import com.urbanmind.urbanmind_auth.service.impl.ProblemRankingServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class ProblemRankingServiceImplTest {
+
+    @Mock
+    private ProblemRepository problemRepository;
+
+    @Mock
+    private ProblemCounterService counterService;
+
+    private ProblemRankingServiceImpl ranking;
+
+    @BeforeEach
+    void setUp() {
+        ranking = new ProblemRankingServiceImpl(problemRepository, counterService, 14);
+        lenient().when(counterService.pendingUpvotes(anyLong())).thenReturn(0L);
+        lenient().when(counterService.pendingShares(anyLong())).thenReturn(0L);
+    }
+
+    @Test
+    void engagementSeverityAndAgeAllCount() {
+        OffsetDateTime now = OffsetDateTime.now();
+        when(problemRepository.findHotCandidates(any())).thenReturn(List.of(
+                row(1L, now.minusHours(1), 10, 0, 0, "low"),
+                row(2L, now.minusHours(30), 10, 0, 0, "low"),    // same points, older
+                row(3L, now.minusHours(1), 2, 3, 1, "low"),      // 6 interactions beat 10 likes
+                row(4L, now.minusHours(1), 0, 0, 0, "CRITICAL"),
+                row(5L, now.minusHours(1), 0, 0, 0, "low")));
+
+        ranking.refresh();
+
+        assertEquals(List.of(3L, 1L, 4L, 5L, 2L), ranking.getHot(0, 10));
+        assertEquals(List.of(1L, 4L), ranking.getHot(1, 2));
+        assertTrue(ranking.getHot(10, 5).isEmpty());
+    }
+
+    @Test
+    void bufferedLikesCountBeforeTheyAreFlushed() {
+        OffsetDateTime now = OffsetDateTime.now();
+        when(problemRepository.findHotCandidates(any())).thenReturn(List.of(
+                row(1L, now.minusHours(1), 5, 0, 0, null),
+                row(2L, now.minusHours(1), 0, 0, 0, null)));
+        when(counterService.pendingUpvotes(2L)).thenReturn(20L);
+
+        ranking.refresh();
+
+        assertEquals(List.of(2L, 1L), ranking.getHot(0, 10));
+    }
+
+    @Test
+    void keepsOnlyTheBestThousand() {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<HotRow> rows = new ArrayList<>();
+        for (long id = 1; id <= 1500; id++) {
+            rows.add(row(id, now.minusHours(1), (int) id, 0, 0, null));
+        }
+        when(problemRepository.findHotCandidates(any())).thenReturn(rows);
+
+        ranking.refresh();
+
+        List<Long> all = ranking.getHot(0, 5000);
+        assertEquals(1000, all.size());
+        assertEquals(1500L, all.get(0));
+        assertEquals(501L, all.get(999));
+    }
+
+    private static HotRow row(Long id, OffsetDateTime createdAt, int upvotes, int comments, int shares,
+                              String severity) {
+        return new HotRow() {
+            public Long getId() { return id; }
+            public OffsetDateTime getCreatedAt() { return createdAt; }
+            public Integer getUpvoteCount() { return upvotes; }
+            public Integer getCommentCount() { return comments; }
+            public Integer getShareCount() { return shares; }
+            public String getSeverity() { return severity; }
+        };
+    }
+}
@@ -0,0 +1,87 @@
+package com.urbanmind.urbanmind_auth.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.urbanmind.urbanmind_auth.event.ProblemChangedEvent;
+import com.urbanmind.urbanmind_auth.service.ProblemSearchService.SearchHit;
+import com.urbanmind.urbanmind_auth.service.impl.ProblemSearchServiceImpl;
+
+class ProblemSearchServiceImplTest {
+
+    private ProblemSearchServiceImpl search;
+
+    @BeforeEach
+    void setUp() {
+        search = new ProblemSearchServiceImpl();
+    }
+
+    @Test
+    void everyWordMustMatch_titleOutranksDescription() {
+        // Same words, swapped between title and description
+        put(1L, "OPEN", "Streetlight broken", "Pothole near the school", null, "Pune");
+        put(2L, "OPEN", "Pothole near the school", "Streetlight broken", null, "Pune");
+        put(3L, "OPEN", "Pothole near station", null, null, "Mumbai");
+
+        assertEquals(List.of(2L, 1L), ids(search.search("Pune pothole ", null, null, null, 10)));
+        assertEquals(3, search.search("pothole ", null, null, null, 10).size());
+        assertTrue(search.search("pothole delhi ", null, null, null, 10).isEmpty());
+    }
+
+    @Test
+    void lastWordMatchesAsPrefixWhileTyping() {
+        put(1L, "OPEN", "Garbage dump", null, null, "Pune");
+        put(2L, "OPEN", "Garden fence broken", null, null, "Pune");
+        put(3L, "OPEN", "Water leak", null, null, "Pune");
+
+        assertEquals(2, search.search("gar", null, null, null, 10).size());
+        assertEquals(List.of(1L), ids(search.search("garb", null, null, null, 10)));
+        // A trailing space means the word is finished
+        assertTrue(search.search("gar ", null, null, null, 10).isEmpty());
+    }
+
+    @Test
+    void filtersAndLimitApply() {
+        put(1L, "OPEN", "Pothole", null, null, null);
+        put(2L, "CLOSED", "Pothole", null, null, null);
+        put(3L, "OPEN", "Pothole pothole", null, null, null);
+
+        assertEquals(List.of(2L), ids(search.search("pothole", "CLOSED", null, null, 10)));
+        assertEquals(1, search.search("pothole", null, null, null, 1).size());
+    }
+
+    @Test
+    void updatesReplaceTheOldText() {
+        put(1L, "OPEN", "Broken bench", null, null, null);
+        put(1L, "OPEN", "Fallen tree", null, null, null);
+
+        assertTrue(search.search("bench ", null, null, null, 10).isEmpty());
+        assertEquals(List.of(1L), ids(search.search("tree ", null, null, null, 10)));
+
+        // Status change only
+        put(1L, "CLOSED", "Fallen tree", null, null, null);
+        assertEquals(List.of(1L), ids(search.search("tree ", "CLOSED", null, null, 10)));
+        assertEquals(1, search.size());
+    }
+
+    @Test
+    void keepsCombiningMarksInsideWords() {
+        put(1L, "OPEN", "सड़क पर गड्ढा", null, null, "पुणे");
+
+        assertEquals(List.of(1L), ids(search.search("गड्ढा ", null, null, null, 10)));
+        assertEquals(List.of(1L), ids(search.search("पुणे", null, null, null, 10)));
+    }
+
+    private void put(Long id, String status, String title, String description, String tags, String city) {
+        search.onProblemChanged(new ProblemChangedEvent(id, null, null, status, "ROADS", "LOW",
+                title, description, tags, city));
+    }
+
+    private static List<Long> ids(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::getProblemId).toList();
+    }
+}
@@ -0,0 +1,142 @@
+package com.urbanmind.urbanmind_auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.urbanmind.urbanmind_auth.dto.request.ProblemRequestDTO;
+import com.urbanmind.urbanmind_auth.dto.response.TagCountDTO;
+import com.urbanmind.urbanmind_auth.entity.Problem;
+import com.urbanmind.urbanmind_auth.repository.ProblemRepository;
+import com.urbanmind.urbanmind_auth.repository.ProblemTagRepository;
+import com.urbanmind.urbanmind_auth.repository.TagRepository;
+import com.urbanmind.urbanmind_auth.service.impl.ProblemCounterServiceImpl;
+import com.urbanmind.urbanmind_auth.service.impl.ProblemServiceImpl;
+import com.urbanmind.urbanmind_auth.service.impl.ProblemTagServiceImpl;
+import com.urbanmind.urbanmind_auth.service.impl.ProblemTimelineServiceImpl;
+
+/**
+ * Tags written through ProblemService land in problem_tags, and the
+ * maintained facet counts always match the join rows.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:tags;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;INIT=CREATE SCHEMA IF NOT EXISTS urbanmind",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "eureka.client.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ ProblemServiceImpl.class, ProblemTimelineServiceImpl.class, ProblemCounterServiceImpl.class,
+        ProblemTagServiceImpl.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProblemTagServiceImplTest {
+
+    @Autowired
+    private ProblemService problemService;
+
+    @Autowired
+    private ProblemTagService tagService;
+
+    @Autowired
+    private ProblemRepository problemRepository;
+
+    @Autowired
+    private ProblemTagRepository problemTagRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @AfterEach
+    void tearDown() {
+        problemTagRepository.deleteAll();
+        tagRepository.deleteAll();
+        problemRepository.deleteAll();
+    }
+
+    @Test
+    void normalize_canonicalisesAndDedupes() {
+        assertEquals(List.of("pot-hole", "pothole", "road"),
+                tagService.normalize(" #Pot  Hole , pothole,,ROAD, road "));
+        assertEquals(List.of(), tagService.normalize(" , #"));
+        assertEquals(ProblemTagServiceImpl.MAX_TAGS_PER_PROBLEM,
+                tagService.normalize("a,b,c,d,e,f,g,h,i,j,k,l").size());
+    }
+
+    @Test
+    void createAndUpdate_moveFacetCounts() {
+        Problem a = create("Pothole, Road");
+        Problem b = create("pothole,#water");
+        create(null);
+
+        assertEquals("pothole,road", problemRepository.findById(a.getId()).orElseThrow().getTags());
+        assertEquals(List.of("pothole:2", "road:1", "water:1"), facets());
+
+        ProblemRequestDTO patch = new ProblemRequestDTO();
+        patch.setTags("water, streetlight");
+        problemService.updateProblem(a.getId(), patch);
+
+        // pothole:1 and streetlight:1 tie; ties sort by name
+        assertEquals(List.of("water:2", "pothole:1", "streetlight:1"), facets());
+        assertEquals(List.of("water", "streetlight"),
+                tagService.getTagNames(List.of(a.getId())).get(a.getId()));
+
+        assertEquals(List.of(b.getId()), ids(problemService.getFeedByTag("#Pothole", null, 10)));
+        assertTrue(problemService.getFeedByTag("unknown", null, 10).isEmpty());
+    }
+
+    @Test
+    void concurrentTagging_countsEveryProblemOnce() throws Exception {
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            tasks.add(() -> { create("flood, monsoon"); return null; });
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            for (Future<Void> f : pool.invokeAll(tasks)) {
+                f.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(List.of("flood:50", "monsoon:50"), facets());
+        assertEquals(100, problemTagRepository.count());
+    }
+
+    private Problem create(String tags) {
+        ProblemRequestDTO dto = new ProblemRequestDTO();
+        dto.setTitle("Problem");
+        dto.setTags(tags);
+        return problemService.createProblem(dto, 1L);
+    }
+
+    private List<String> facets() {
+        return tagService.getTopTags(10).stream()
+                .map((TagCountDTO t) -> t.getName() + ":" + t.getCount())
+                .toList();
+    }
+
+    private static List<Long> ids(List<Problem> problems) {
+        return problems.stream().map(Problem::getId).toList();
+    }
+}
@@ -0,0 +1,66 @@
+package com.urbanmind.urbanmind_auth.service;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.urbanmind.urbanmind_auth.service.impl.ProblemViewServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class ProblemViewServiceImplTest {
+
+    @Mock
+    private ProblemCounterService counterService;
+
+    private ProblemViewServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ProblemViewServiceImpl(counterService, 10_000);
+    }
+
+    @Test
+    void repeatViewsInsideWindow_countOnce() {
+        for (int i = 0; i < 5; i++) {
+            service.recordView(1L, "u:7");
+        }
+
+        verify(counterService, times(1)).addViews(1L, 1);
+    }
+
+    @Test
+    void distinctViewersAndProblems_areCountedSeparately() {
+        service.recordView(1L, "u:7");
+        service.recordView(1L, "u:8");
+        service.recordView(2L, "u:7");
+
+        verify(counterService, times(2)).addViews(1L, 1);
+        verify(counterService, times(1)).addViews(2L, 1);
+    }
+
+    @Test
+    void viewSurvivesOneRotation_andCountsAgainAfterTwo() {
+        service.recordView(1L, "u:7");
+
+        service.rotate();
+        service.recordView(1L, "u:7");
+        verify(counterService, times(1)).addViews(1L, 1);
+
+        service.rotate();
+        service.recordView(1L, "u:7");
+        verify(counterService, times(2)).addViews(1L, 1);
+    }
+
+    @Test
+    void missingViewer_isIgnored() {
+        service.recordView(1L, null);
+
+        verify(counterService, never()).addViews(1L, 1);
+    }
+}
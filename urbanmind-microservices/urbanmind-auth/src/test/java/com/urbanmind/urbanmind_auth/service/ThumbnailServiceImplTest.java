@@ -0,0 +1,97 @@
+package com.urbanmind.urbanmind_auth.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.urbanmind.urbanmind_auth.entity.ProblemMedia;
+import com.urbanmind.urbanmind_auth.repository.ProblemMediaRepository;
+import com.urbanmind.urbanmind_auth.service.MediaStorageService.StoredMedia;
+import com.urbanmind.urbanmind_auth.service.impl.MediaStorageServiceImpl;
+import com.urbanmind.urbanmind_auth.service.impl.ThumbnailServiceImpl;
+
+class ThumbnailServiceImplTest {
+
+    @TempDir
+    Path root;
+
+    private MediaStorageServiceImpl storage;
+    private ProblemMediaRepository mediaRepository;
+    private ThumbnailServiceImpl thumbnails;
+
+    @BeforeEach
+    void setUp() {
+        storage = new MediaStorageServiceImpl(root.toString(), 10 * 1024 * 1024);
+        mediaRepository = mock(ProblemMediaRepository.class);
+        thumbnails = new ThumbnailServiceImpl(storage, mediaRepository, new int[] {480, 160, 960}, 480, 1, 10);
+    }
+
+    @Test
+    void generate_writesEveryWidthAndRecordsSmallest() throws Exception {
+        StoredMedia stored = upload(2400, 1200);
+
+        thumbnails.generate(5L, stored.getUrl());
+
+        for (int width : new int[] {160, 480, 960}) {
+            BufferedImage rendition = ImageIO.read(storage.resolve(storage.renditionUrl(stored.getSha256(), width)).toFile());
+            assertEquals(width, rendition.getWidth());
+            assertEquals(width / 2, rendition.getHeight());
+        }
+        verify(mediaRepository).setThumbnailUrl(5L, storage.renditionUrl(stored.getSha256(), 160));
+    }
+
+    @Test
+    void generate_neverUpscalesSmallImages() throws Exception {
+        StoredMedia stored = upload(300, 200);
+
+        thumbnails.generate(6L, stored.getUrl());
+
+        BufferedImage largest = ImageIO.read(storage.resolve(storage.renditionUrl(stored.getSha256(), 960)).toFile());
+        assertEquals(300, largest.getWidth());
+        assertEquals(200, largest.getHeight());
+    }
+
+    @Test
+    void coverUrl_picksSmallestRenditionThatFits() {
+        String hash = "ab".repeat(32);
+        ProblemMedia media = new ProblemMedia();
+        media.setMediaUrl("/uploads/sha256/ab/ab/" + hash + ".png");
+
+        // Not generated yet: original
+        assertEquals(media.getMediaUrl(), thumbnails.coverUrl(media));
+
+        media.setThumbnailUrl(storage.renditionUrl(hash, 160));
+        assertEquals(storage.renditionUrl(hash, 480), thumbnails.coverUrl(media));
+
+        // Legacy uploads have no hash to derive renditions from
+        ProblemMedia legacy = new ProblemMedia();
+        legacy.setMediaUrl("/uploads/1234_photo.png");
+        assertEquals("/uploads/1234_photo.png", thumbnails.coverUrl(legacy));
+    }
+
+    private StoredMedia upload(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.ORANGE);
+        g.fillRect(0, 0, width / 2, height);
+        g.dispose();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return storage.store(new MockMultipartFile("file", "photo.png", "image/png", out.toByteArray()),
+                MediaStorageService.PROBLEM_MEDIA_TYPES);
+    }
+}
@@ -0,0 +1,96 @@
+package com.urbanmind.urbanmind_auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.urbanmind.urbanmind_auth.dto.response.UserSummary;
+import com.urbanmind.urbanmind_auth.entity.User;
+import com.urbanmind.urbanmind_auth.repository.UserRepository;
+import com.urbanmind.urbanmind_auth.service.impl.UserSummaryServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class UserSummaryServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserSummaryServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new UserSummaryServiceImpl(userRepository, 60_000, 2);
+    }
+
+    @Test
+    void repeatLookups_areServedFromCache() {
+        when(userRepository.findAllById(any())).thenReturn(List.of(user(1L, "Asha", null)));
+
+        service.getSummaries(Set.of(1L));
+        Map<Long, UserSummary> second = service.getSummaries(Set.of(1L));
+
+        assertEquals("Asha", second.get(1L).getFullName());
+        verify(userRepository, times(1)).findAllById(any());
+        assertEquals(1L, service.stats().get("hits"));
+        assertEquals(1L, service.stats().get("misses"));
+    }
+
+    @Test
+    void evict_forcesReload() {
+        when(userRepository.findAllById(any()))
+                .thenReturn(List.of(user(1L, "Asha", null)))
+                .thenReturn(List.of(user(1L, "Asha K", null)));
+
+        service.getSummaries(Set.of(1L));
+        service.evict(1L);
+
+        assertEquals("Asha K", service.getSummaries(Set.of(1L)).get(1L).getFullName());
+    }
+
+    @Test
+    void sizeBound_evictsLeastRecentlyUsed() {
+        when(userRepository.findAllById(any()))
+                .thenReturn(List.of(user(1L, "A", null)))
+                .thenReturn(List.of(user(2L, "B", null)))
+                .thenReturn(List.of(user(3L, "C", null)));
+
+        service.getSummaries(Set.of(1L));
+        service.getSummaries(Set.of(2L));
+        service.getSummaries(Set.of(3L));
+
+        assertEquals(2, service.stats().get("size"));
+        assertEquals(1L, service.stats().get("evictions"));
+    }
+
+    @Test
+    void displayUsername_fallsBackToEmailPrefix() {
+        when(userRepository.findAllById(any())).thenReturn(List.of(user(1L, "Asha", "")));
+
+        UserSummary s = service.getSummaries(Set.of(1L)).get(1L);
+
+        assertEquals("user1", s.getDisplayUsername());
+        assertFalse(s.getEmailPrefix().contains("@"));
+    }
+
+    private static User user(Long id, String fullName, String username) {
+        User u = new User();
+        u.setId(id);
+        u.setFullName(fullName);
+        u.setUsername(username);
+        u.setEmail("user" + id + "@urbanmind.test");
+        return u;
+    }
+}
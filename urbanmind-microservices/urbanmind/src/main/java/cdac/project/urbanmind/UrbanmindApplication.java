@@ -3,7 +3,9 @@ package cdac.project.urbanmind;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.scheduling.annotation.EnableScheduling;
 @EnableDiscoveryClient
+@EnableScheduling
 @SpringBootApplication
 public class UrbanmindApplication {
 
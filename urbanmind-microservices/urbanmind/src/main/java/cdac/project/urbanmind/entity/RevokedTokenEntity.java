@@ -17,6 +17,9 @@ public class RevokedTokenEntity {
 
     private LocalDateTime revokedAt;
 
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
     // Getters and Setters
 
     public Long getId() {
@@ -42,4 +45,12 @@ public class RevokedTokenEntity {
     public void setRevokedAt(LocalDateTime revokedAt) {
         this.revokedAt = revokedAt;
     }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
 }
\ No newline at end of file
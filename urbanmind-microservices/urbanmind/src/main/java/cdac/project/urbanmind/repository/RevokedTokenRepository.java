@@ -1,6 +1,8 @@
 package cdac.project.urbanmind.repository;
 
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -12,4 +14,8 @@ import cdac.project.urbanmind.entity.RevokedTokenEntity;
 public interface RevokedTokenRepository extends JpaRepository<RevokedTokenEntity, Long> {
     Optional<RevokedTokenEntity> findByToken(String token);
     boolean existsByToken(String token);
+
+    // Used by RevokedTokenCache: startup load, then incremental refresh
+    List<RevokedTokenEntity> findByExpiresAtAfter(LocalDateTime now);
+    List<RevokedTokenEntity> findByRevokedAtAfter(LocalDateTime since);
 }
\ No newline at end of file
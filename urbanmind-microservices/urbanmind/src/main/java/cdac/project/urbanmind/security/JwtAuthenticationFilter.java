@@ -104,13 +104,13 @@ import jakarta.servlet.http.HttpServletResponse;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
-    private final cdac.project.urbanmind.repository.RevokedTokenRepository revokedTokenRepository;
+    private final RevokedTokenCache revokedTokenCache;
 
     public JwtAuthenticationFilter(
             JwtTokenProvider tokenProvider,
-            cdac.project.urbanmind.repository.RevokedTokenRepository revokedTokenRepository) {
+            RevokedTokenCache revokedTokenCache) {
         this.tokenProvider = tokenProvider;
-        this.revokedTokenRepository = revokedTokenRepository;
+        this.revokedTokenCache = revokedTokenCache;
     }
 
     @Override
@@ -126,8 +126,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
 
-            // 2. BLACKLIST CHECK: Reject if token is in database
-            if (revokedTokenRepository.existsByToken(token)) {
+            // 2. BLACKLIST CHECK: in-memory, refreshed from revoked_tokens
+            if (revokedTokenCache.isRevoked(token)) {
                 // Return 401 Unauthorized immediately
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 response.getWriter().write("Token is revoked/blacklisted");
@@ -142,12 +142,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 String role = tokenProvider.getPrimaryRole(token);
                 Long userId = tokenProvider.getUserId(token); // Add this method to JwtTokenProvider if missing
 
-                // 2. BLACKLIST CHECK
-                if (revokedTokenRepository.existsByToken(token)) {
-                    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                    return;
-                }
-
                 List<SimpleGrantedAuthority> authorities =
                         List.of(new SimpleGrantedAuthority("ROLE_" + role));
 